@@ -0,0 +1,75 @@
+package com.elevator;
+
+import com.elevator.model.Elevator;
+import com.elevator.model.Request;
+import com.elevator.simulation.ElevatorSimulation;
+import com.elevator.simulation.SimulationReport;
+import com.elevator.simulation.TrafficProfile;
+import com.elevator.strategy.DispatchStrategy;
+import com.elevator.strategy.EtaDispatchStrategy;
+import com.elevator.strategy.FCFSStrategy;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * ElevatorDispatchBenchmark - dispatch strategies on standard traffic, via ElevatorSimulation.
+ *
+ * Profiles: one hour of up-peak (morning), one hour of down-peak (evening), a full office day.
+ * Strategies:
+ * - FCFS:        every call to the first car (the old default)
+ * - Nearest:     closest car, ignoring direction and load
+ * - ETA:         EtaDispatchStrategy (estimated time to pick up + load penalty)
+ *
+ * Reports average / p95 waiting time (call to boarding) and average journey time (call to arrival).
+ *
+ * Usage: java com.elevator.ElevatorDispatchBenchmark [cars] [floors] [peakPassengersPerHour]
+ */
+public class ElevatorDispatchBenchmark {
+
+    public static void main(String[] args) {
+        int cars = args.length > 0 ? Integer.parseInt(args[0]) : 6;
+        int floors = args.length > 1 ? Integer.parseInt(args[1]) : 25;
+        int peak = args.length > 2 ? Integer.parseInt(args[2]) : 700;
+
+        Map<String, Supplier<DispatchStrategy>> strategies = new LinkedHashMap<>();
+        strategies.put("FCFS", FCFSStrategy::new);
+        strategies.put("Nearest", ElevatorDispatchBenchmark::nearest);
+        strategies.put("ETA", EtaDispatchStrategy::new);
+
+        Map<String, TrafficProfile> profiles = new LinkedHashMap<>();
+        profiles.put("Up-peak " + peak + "/h, 1 h", TrafficProfile.upPeak(peak));
+        profiles.put("Down-peak " + peak + "/h, 1 h", TrafficProfile.downPeak(peak));
+        profiles.put("Office day " + peak * 8 + ", 24 h", TrafficProfile.officeDay(peak * 8));
+
+        System.out.printf("=== %d cars, %d floors ===%n", cars, floors);
+        for (Map.Entry<String, TrafficProfile> profile : profiles.entrySet()) {
+            Duration duration = profile.getKey().endsWith("24 h") ? Duration.ofHours(24) : Duration.ofHours(1);
+            System.out.printf("%n--- %s ---%n", profile.getKey());
+            System.out.printf("%-8s %10s %10s %10s %12s %10s%n",
+                "", "avg wait", "p95 wait", "max wait", "avg journey", "delivered");
+            for (Map.Entry<String, Supplier<DispatchStrategy>> strategy : strategies.entrySet()) {
+                SimulationReport report = new ElevatorSimulation.Builder()
+                    .elevators(cars).floors(floors)
+                    .strategy(strategy.getValue().get())
+                    .traffic(profile.getValue())
+                    .duration(duration)
+                    .build()
+                    .run();
+                System.out.printf("%-8s %9.1fs %9.1fs %9.1fs %11.1fs %5d/%-5d%n", strategy.getKey(),
+                    report.getAverageWaitSeconds(), report.getWaitSecondsAtPercentile(95),
+                    report.getWaitSecondsAtPercentile(100), report.getAverageJourneySeconds(),
+                    report.getDelivered(), report.getPassengers());
+            }
+        }
+    }
+
+    private static DispatchStrategy nearest() {
+        return (List<Elevator> elevators, Request request) -> elevators.stream()
+            .min(Comparator.comparingInt(e -> Math.abs(e.getCurrentFloor() - request.getSourceFloor())))
+            .orElseThrow();
+    }
+}
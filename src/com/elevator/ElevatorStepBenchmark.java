@@ -0,0 +1,54 @@
+package com.elevator;
+
+import com.elevator.model.Elevator;
+import com.elevator.model.Request;
+import java.util.Random;
+
+/**
+ * ElevatorStepBenchmark - cost of one floor step for a car with a long request queue.
+ *
+ * A car gets N requests spread over the building and is stepped (Elevator.move) until
+ * it has served them all, refilled with a new request for every one delivered so
+ * the queue stays at N. Reports nanoseconds per step: this is the time each step
+ * holds the car's monitor, which dispatchers and hall-call threads wait on.
+ *
+ * Usage: java com.elevator.ElevatorStepBenchmark [floors] [steps]
+ */
+public class ElevatorStepBenchmark {
+
+    public static void main(String[] args) {
+        int floors = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int steps = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+
+        System.out.printf("=== %d floors, %,d steps per run ===%n", floors, steps);
+        for (int queued : new int[] { 10, 100, 1_000, 5_000 }) {
+            run(floors, queued, steps / 4);  // warm-up
+            double nanosPerStep = run(floors, queued, steps);
+            System.out.printf("queue %,6d: %,10.0f ns/step%n", queued, nanosPerStep);
+        }
+    }
+
+    private static double run(int floors, int queued, int steps) {
+        Random random = new Random(11);
+        Elevator car = new Elevator(1);
+        car.setVerbose(false);
+        for (int i = 0; i < queued; i++) {
+            car.addRequest(randomRequest(random, floors));
+        }
+        long begin = System.nanoTime();
+        for (int step = 0; step < steps; step++) {
+            car.move();
+            int missing = queued - car.getLoad();
+            for (int i = 0; i < missing; i++) {
+                car.addRequest(randomRequest(random, floors));
+            }
+        }
+        return (System.nanoTime() - begin) / (double) steps;
+    }
+
+    private static Request randomRequest(Random random, int floors) {
+        int source = random.nextInt(floors);
+        int destination = random.nextInt(floors - 1);
+        return new Request(source, destination >= source ? destination + 1 : destination);
+    }
+}
@@ -0,0 +1,116 @@
+package com.elevator;
+
+import com.elevator.model.Elevator;
+import com.elevator.model.Request;
+import com.elevator.strategy.DispatchStrategy;
+import com.elevator.strategy.EtaDispatchStrategy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * ElevatorSubmitBenchmark - latency of a hall call while the cars are busy moving.
+ *
+ * One thread per car steps it (Elevator.move) back to back, as a loaded car does; P hall-call
+ * threads submit requests at the same time and time every call. Two paths:
+ * - addRequest: straight to one car
+ * - dispatch:   what ElevatorController.requestElevator does - the default EtaDispatchStrategy
+ *               picks one of the cars, then addRequest
+ * Reports the latency percentiles and the submission rate of each.
+ *
+ * Usage: java com.elevator.ElevatorSubmitBenchmark [producers] [requestsPerProducer] [floors] [cars]
+ */
+public class ElevatorSubmitBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int producers = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int perProducer = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        int floors = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+        int cars = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+
+        System.out.printf("=== addRequest: %d hall-call threads x %,d requests, 1 car stepping, %d floors ===%n",
+            producers, perProducer, floors);
+        measure(producers, perProducer, floors, 1, false);
+        System.out.printf("=== dispatch (ETA): %d hall-call threads x %,d requests, %d cars stepping, %d floors ===%n",
+            producers, perProducer, cars, floors);
+        measure(producers, perProducer, floors, cars, true);
+    }
+
+    private static void measure(int producers, int perProducer, int floors, int cars, boolean dispatch)
+            throws InterruptedException {
+        for (int round = 0; round < 3; round++) {  // first round warms up
+            long[] latencies = new long[producers * perProducer];
+            long begin = System.nanoTime();
+            run(producers, perProducer, floors, cars, dispatch, latencies);
+            long elapsed = System.nanoTime() - begin;
+            if (round > 0) {
+                Arrays.sort(latencies);
+                System.out.printf("p50 %,6d ns  p99 %,9d ns  p99.9 %,11d ns  max %,11d ns  %,10.0f req/s%n",
+                    percentile(latencies, 0.50), percentile(latencies, 0.99),
+                    percentile(latencies, 0.999), latencies[latencies.length - 1],
+                    latencies.length / (elapsed / 1e9));
+            }
+        }
+    }
+
+    private static void run(int producers, int perProducer, int floors, int cars, boolean dispatch,
+                            long[] latencies) throws InterruptedException {
+        List<Elevator> elevators = new ArrayList<>();
+        for (int c = 0; c < cars; c++) {
+            Elevator car = new Elevator(c + 1);
+            car.setVerbose(false);
+            elevators.add(car);
+        }
+        DispatchStrategy strategy = new EtaDispatchStrategy();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch submitted = new CountDownLatch(producers);
+
+        List<Thread> drivers = new ArrayList<>();
+        for (Elevator car : elevators) {
+            Thread driver = new Thread(() -> {
+                while (submitted.getCount() > 0 || car.hasRequests()) {
+                    car.move();
+                }
+            });
+            driver.start();
+            drivers.add(driver);
+        }
+
+        for (int p = 0; p < producers; p++) {
+            int offset = p * perProducer;
+            Random random = new Random(p);
+            new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    Request request = randomRequest(random, floors);
+                    long t0 = System.nanoTime();
+                    Elevator car = dispatch ? strategy.selectElevator(elevators, request) : elevators.get(0);
+                    car.addRequest(request);
+                    latencies[offset + i] = System.nanoTime() - t0;
+                }
+                submitted.countDown();
+            }).start();
+        }
+        start.countDown();
+        submitted.await();
+        for (Thread driver : drivers) {
+            driver.join();
+        }
+    }
+
+    private static Request randomRequest(Random random, int floors) {
+        int source = random.nextInt(floors);
+        int destination = random.nextInt(floors - 1);
+        return new Request(source, destination >= source ? destination + 1 : destination);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))];
+    }
+}
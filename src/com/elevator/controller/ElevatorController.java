@@ -3,7 +3,7 @@ package com.elevator.controller;
 import com.elevator.model.Elevator;
 import com.elevator.model.Request;
 import com.elevator.strategy.DispatchStrategy;
-import com.elevator.strategy.FCFSStrategy;
+import com.elevator.strategy.EtaDispatchStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -20,7 +20,7 @@ public class ElevatorController {
             elevators.add(e);
             new Thread(e).start(); // Start the Active Object thread
         }
-        this.strategy = new FCFSStrategy(); // Default Strategy
+        this.strategy = new EtaDispatchStrategy(); // Default Strategy: least estimated time to pick up
     }
 
     public static synchronized ElevatorController getInstance(int numElevators) {
@@ -35,6 +35,10 @@ public class ElevatorController {
         instance = null;
     }
 
+    public void setStrategy(DispatchStrategy strategy) {
+        this.strategy = strategy;
+    }
+
     public void requestElevator(int source, int destination) {
         Request req = new Request(source, destination);
         Elevator selected = strategy.selectElevator(elevators, req);
@@ -3,79 +3,219 @@ package com.elevator.model;
 import com.elevator.state.ElevatorState;
 import com.elevator.state.IdleState;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
 
+/**
+ * Elevator car - runs the LOOK state machine (IdleState / MovingUpState / MovingDownState).
+ *
+ * Two ways to drive it, one step (= one floor) at a time via move():
+ * - Real time: run() as an Active Object thread, sleeping between floors (ElevatorController)
+ * - Simulated time: ElevatorSimulation schedules steps on a virtual clock, no threads
+ *
+ * An optional ElevatorListener sees doors, pickups and dropoffs (wait-time statistics);
+ * verbose=false silences the per-floor console log for long simulations.
+ *
+ * REQUEST INDEX (instead of scanning one list of requests on every floor):
+ * - Per floor: waiting UP, waiting DOWN, on board getting off here
+ * - targetsAbove / targetsBelow: requests whose next target (pickup floor while waiting,
+ *   destination once on board) is above / below the current floor; updated on add,
+ *   pickup, dropoff and on every floor change
+ * - stopFloors: floors with at least one target (for dispatchers)
+ * -> shouldStopAt / hasDestinationsAbove / hasDestinationsBelow are O(1), openDoors only
+ *    touches the passengers at this floor, and each step holds the monitor for O(1) work.
+ *
+ * REQUEST INBOX (hall calls never wait for a moving car):
+ * - addRequest does not take the car's monitor: it pushes onto a lock-free RequestInbox
+ * - The car moves new requests into the index at the start of each step (and whenever
+ *   someone reads its load, stops or pending requests - they hold the monitor anyway)
+ * - An idle run() thread parks (LockSupport.park); addRequest unparks it only if it is parked
+ *
+ * SNAPSHOT (dispatchers never wait for a moving car either):
+ * - After each step, and whenever new requests are indexed, the car publishes an immutable
+ *   Snapshot (floor, direction, load, stop floors) through a volatile field
+ * - getSnapshot() + getQueuedCount() (requests still in the inbox) read it without the monitor
+ *
+ * Floors are numbered from 0 (ground floor) upwards.
+ */
 public class Elevator implements Runnable {
     private int id;
     private int currentFloor;
     private Direction currentDirection;
     private ElevatorState state;
-    private List<Request> pendingRequests;
+    private FloorStops[] floors;
+    private final BitSet stopFloors;
+    private int requestCount;
+    private int targetsAbove;
+    private int targetsBelow;
+    private final RequestInbox inbox = new RequestInbox();
+    private volatile Snapshot snapshot;
+    private boolean stopsChanged;
+    private final AtomicBoolean parked = new AtomicBoolean();
+    private volatile Thread runner;
+    private ElevatorListener listener;
+    private volatile boolean verbose = true;
 
     public Elevator(int id) {
         this.id = id;
         this.currentFloor = 0; // Ground Floor
         this.currentDirection = Direction.IDLE;
         this.state = new IdleState();
-        this.pendingRequests = new ArrayList<>();
+        this.floors = new FloorStops[16];
+        this.stopFloors = new BitSet();
+        this.snapshot = new Snapshot(currentFloor, currentDirection, 0, new BitSet());
     }
 
+    /**
+     * Active Object loop: step while there are requests, park while idle.
+     * Interrupting the thread stops the car (park returns at once on an interrupted thread).
+     */
     @Override
     public void run() {
-        while (true) {
-            synchronized (this) {
-                while (pendingRequests.isEmpty()) {
-                    try {
-                        System.out.println("Elevator " + id + " waiting for requests...");
-                        currentDirection = Direction.IDLE;
-                        wait();
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
-                    }
+        runner = Thread.currentThread();
+        while (!Thread.currentThread().isInterrupted()) {
+            if (!hasRequests()) {
+                log("Elevator " + id + " waiting for requests...");
+                setCurrentDirection(Direction.IDLE);
+                // Announce the park first, then look once more: a request offered after
+                // that look sees 'parked' and unparks us (an early unpark is not lost)
+                parked.set(true);
+                if (!hasRequests()) {
+                    LockSupport.park(this);
                 }
+                parked.set(false);
+                continue;
             }
-            
+
             move();
-            
-            try { Thread.sleep(500); } catch (InterruptedException e) {}
+
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
         }
+        log("Elevator " + id + " stopped.");
     }
 
-    public synchronized void addRequest(Request request) {
-        pendingRequests.add(request);
-        System.out.println("Elevator " + id + " received request: " + request);
-        notifyAll();
+    /**
+     * Queue a request for this car. Lock-free: safe from any thread, never waits for move().
+     */
+    public void addRequest(Request request) {
+        if (request.getSourceFloor() < 0 || request.getDestinationFloor() < 0) {
+            throw new IllegalArgumentException("Floors start at 0: " + request);
+        }
+        inbox.offer(request);
+        if (verbose) {
+            log("Elevator " + id + " received request: " + request);
+        }
+        if (parked.get() && parked.compareAndSet(true, false)) {
+            LockSupport.unpark(runner);
+        }
     }
 
     public synchronized void move() {
+        drainInbox();
         state.move(this);
+        publish();
+    }
+
+    // Caller holds the monitor, which makes it the inbox's single consumer
+    private boolean drainInbox() {
+        Request request = inbox.poll();
+        if (request == null) {
+            return false;
+        }
+        do {
+            index(request);
+        } while ((request = inbox.poll()) != null);
+        return true;
+    }
+
+    // Outside a step: publish what was just indexed
+    private void drainAndPublish() {
+        if (drainInbox()) {
+            publish();
+        }
+    }
+
+    // Caller holds the monitor; the stop set is copied only when it changed
+    private void publish() {
+        BitSet stops = snapshot.stops;
+        if (stopsChanged) {
+            stops = (BitSet) stopFloors.clone();
+            stopsChanged = false;
+        }
+        snapshot = new Snapshot(currentFloor, currentDirection, requestCount, stops);
+    }
+
+    private void index(Request request) {
+        FloorStops stops = floor(request.getSourceFloor());
+        if (request.isPickedUp()) {
+            floor(request.getDestinationFloor()).dropoffs.add(request);
+            addTarget(request.getDestinationFloor());
+        } else {
+            stops.waiting(request.getDirection()).add(request);
+            addTarget(request.getSourceFloor());
+        }
+        requestCount++;
     }
 
     public synchronized void openDoors() {
-        System.out.println("Elevator " + id + " *** DOORS OPEN at floor " + currentFloor + " ***");
-        
+        log("Elevator " + id + " *** DOORS OPEN at floor " + currentFloor + " ***");
+        if (listener != null) {
+            listener.onDoorsOpen(this, currentFloor);
+        }
+        FloorStops here = floor(currentFloor);
+
         // Pick up passengers waiting at this floor (going in our direction)
-        for (Request r : pendingRequests) {
-            if (!r.isPickedUp() && r.getSourceFloor() == currentFloor) {
-                // In LOOK algorithm, only pick up if going same direction OR we're idle
-                if (currentDirection == Direction.IDLE || r.getDirection() == currentDirection) {
-                    r.setPickedUp(true);
-                    System.out.println("  → Picked up passenger: " + r);
+        // In LOOK algorithm, only pick up if going same direction OR we're idle
+        if (currentDirection != Direction.DOWN) {
+            pickUp(here.waitingUp);
+        }
+        if (currentDirection != Direction.UP) {
+            pickUp(here.waitingDown);
+        }
+
+        // Drop off passengers whose destination is this floor
+        if (!here.dropoffs.isEmpty()) {
+            for (Request r : here.dropoffs) {
+                if (verbose) {
+                    log("  → Dropped off passenger: " + r);
+                }
+                if (listener != null) {
+                    listener.onDropoff(this, r);
                 }
             }
+            removeTargets(currentFloor, here.dropoffs.size());
+            requestCount -= here.dropoffs.size();
+            here.dropoffs.clear();
         }
-        
-        // Drop off passengers whose destination is this floor
-        List<Request> toRemove = new ArrayList<>();
-        for (Request r : pendingRequests) {
-            if (r.isPickedUp() && r.getDestinationFloor() == currentFloor) {
-                System.out.println("  → Dropped off passenger: " + r);
-                toRemove.add(r);
+
+        log("Elevator " + id + " *** DOORS CLOSE ***");
+    }
+
+    private void pickUp(List<Request> waiting) {
+        if (waiting.isEmpty()) {
+            return;
+        }
+        for (Request r : waiting) {
+            r.setPickedUp(true);
+            if (verbose) {
+                log("  → Picked up passenger: " + r);
+            }
+            if (listener != null) {
+                listener.onPickup(this, r);
             }
+            // Next target moves from here to the destination
+            floor(r.getDestinationFloor()).dropoffs.add(r);
+            addTarget(r.getDestinationFloor());
         }
-        pendingRequests.removeAll(toRemove);
-        
-        System.out.println("Elevator " + id + " *** DOORS CLOSE ***");
+        removeTargets(currentFloor, waiting.size());
+        waiting.clear();
     }
 
     /**
@@ -85,58 +225,209 @@ public class Elevator implements Runnable {
      * 2. Someone on board wants to get off here (dropoff)
      */
     public synchronized boolean shouldStopAt(int floor) {
-        for (Request r : pendingRequests) {
-            // Dropoff: passenger on board, destination is this floor
-            if (r.isPickedUp() && r.getDestinationFloor() == floor) {
-                return true;
-            }
-            // Pickup: passenger waiting, source is this floor, going same direction
-            if (!r.isPickedUp() && r.getSourceFloor() == floor) {
-                if (currentDirection == Direction.IDLE || r.getDirection() == currentDirection) {
-                    return true;
-                }
-            }
+        if (floor < 0 || floor >= floors.length || floors[floor] == null) {
+            return false;
+        }
+        FloorStops stops = floors[floor];
+        if (!stops.dropoffs.isEmpty()) {
+            return true;
         }
-        return false;
+        return (currentDirection != Direction.DOWN && !stops.waitingUp.isEmpty())
+            || (currentDirection != Direction.UP && !stops.waitingDown.isEmpty());
     }
 
     /**
      * Check if there are any destinations above current floor
      */
     public synchronized boolean hasDestinationsAbove() {
-        for (Request r : pendingRequests) {
-            if (r.isPickedUp() && r.getDestinationFloor() > currentFloor) {
-                return true;
-            }
-            if (!r.isPickedUp() && r.getSourceFloor() > currentFloor) {
-                return true;
-            }
-        }
-        return false;
+        return targetsAbove > 0;
     }
 
     /**
      * Check if there are any destinations below current floor
      */
     public synchronized boolean hasDestinationsBelow() {
-        for (Request r : pendingRequests) {
-            if (r.isPickedUp() && r.getDestinationFloor() < currentFloor) {
-                return true;
-            }
-            if (!r.isPickedUp() && r.getSourceFloor() < currentFloor) {
-                return true;
-            }
+        return targetsBelow > 0;
+    }
+
+    // ============ INDEX MAINTENANCE ============
+
+    private FloorStops floor(int floor) {
+        if (floor >= floors.length) {
+            floors = Arrays.copyOf(floors, Math.max(floors.length * 2, floor + 1));
+        }
+        FloorStops stops = floors[floor];
+        if (stops == null) {
+            stops = new FloorStops();
+            floors[floor] = stops;
         }
-        return false;
+        return stops;
     }
 
+    private void addTarget(int floor) {
+        if (floor > currentFloor) {
+            targetsAbove++;
+        } else if (floor < currentFloor) {
+            targetsBelow++;
+        }
+        if (floors[floor].targets++ == 0) {
+            stopFloors.set(floor);
+            stopsChanged = true;
+        }
+    }
+
+    private void removeTargets(int floor, int count) {
+        if (floor > currentFloor) {
+            targetsAbove -= count;
+        } else if (floor < currentFloor) {
+            targetsBelow -= count;
+        }
+        FloorStops stops = floors[floor];
+        stops.targets -= count;
+        if (stops.targets == 0) {
+            stopFloors.clear(floor);
+            stopsChanged = true;
+        }
+    }
+
+    private int targetsAt(int floor) {
+        return floor >= 0 && floor < floors.length && floors[floor] != null ? floors[floor].targets : 0;
+    }
+
+    /**
+     * Requests for one floor.
+     */
+    private static class FloorStops {
+        final List<Request> waitingUp = new ArrayList<>();
+        final List<Request> waitingDown = new ArrayList<>();
+        final List<Request> dropoffs = new ArrayList<>();
+        int targets;  // requests whose next target is this floor
+
+        List<Request> waiting(Direction direction) {
+            return direction == Direction.UP ? waitingUp : waitingDown;
+        }
+    }
+
+    /**
+     * Console trace of the car (doors, moves, requests), unless verbose is off.
+     */
+    public void log(String message) {
+        if (verbose) {
+            System.out.println(message);
+        }
+    }
+
+    public void setVerbose(boolean verbose) { this.verbose = verbose; }
+    public synchronized void setListener(ElevatorListener listener) { this.listener = listener; }
+
     // Getters and Setters
     public int getId() { return id; }
     public synchronized int getCurrentFloor() { return currentFloor; }
-    public synchronized void setCurrentFloor(int floor) { this.currentFloor = floor; }
     public synchronized Direction getCurrentDirection() { return currentDirection; }
     public synchronized void setCurrentDirection(Direction dir) { this.currentDirection = dir; }
     public synchronized void setState(ElevatorState state) { this.state = state; }
-    public synchronized List<Request> getPendingRequests() { return pendingRequests; }
-    public synchronized boolean hasRequests() { return !pendingRequests.isEmpty(); }
+    public synchronized boolean hasRequests() {
+        drainAndPublish();
+        return requestCount > 0;
+    }
+
+    /**
+     * Move the car; the above/below counters shift by the targets on the floors passed.
+     */
+    public synchronized void setCurrentFloor(int floor) {
+        while (currentFloor < floor) {
+            targetsBelow += targetsAt(currentFloor);
+            currentFloor++;
+            targetsAbove -= targetsAt(currentFloor);
+        }
+        while (currentFloor > floor) {
+            targetsAbove += targetsAt(currentFloor);
+            currentFloor--;
+            targetsBelow -= targetsAt(currentFloor);
+        }
+    }
+
+    /**
+     * Number of requests assigned and not yet delivered (waiting + on board).
+     */
+    public synchronized int getLoad() {
+        drainAndPublish();
+        return requestCount;
+    }
+
+    /**
+     * Floors where the car will stop for its current requests (copy).
+     */
+    public synchronized BitSet getStopFloors() {
+        drainAndPublish();
+        return (BitSet) stopFloors.clone();
+    }
+
+    /**
+     * The car as of its last step (or last indexed request) - lock-free, never waits for move().
+     * Requests still in the inbox are not in it: see getQueuedCount().
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Requests handed to addRequest that the car has not indexed yet - lock-free.
+     */
+    public int getQueuedCount() {
+        return inbox.size();
+    }
+
+    /**
+     * All requests not yet delivered (copy, built from the per-floor index).
+     */
+    public synchronized List<Request> getPendingRequests() {
+        drainAndPublish();
+        List<Request> pending = new ArrayList<>(requestCount);
+        for (FloorStops stops : floors) {
+            if (stops != null) {
+                pending.addAll(stops.waitingUp);
+                pending.addAll(stops.waitingDown);
+                pending.addAll(stops.dropoffs);
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Immutable view of the car published by the car itself (see getSnapshot).
+     */
+    public static final class Snapshot {
+        private final int floor;
+        private final Direction direction;
+        private final int load;
+        private final BitSet stops;  // never modified once published
+
+        Snapshot(int floor, Direction direction, int load, BitSet stops) {
+            this.floor = floor;
+            this.direction = direction;
+            this.load = load;
+            this.stops = stops;
+        }
+
+        public int getFloor() { return floor; }
+        public Direction getDirection() { return direction; }
+        public int getLoad() { return load; }
+        public boolean hasStops() { return !stops.isEmpty(); }
+        public int getLowestStop() { return stops.nextSetBit(0); }
+        public int getHighestStop() { return stops.length() - 1; }
+
+        /**
+         * Stops strictly between two floors (either order).
+         */
+        public int countStopsBetween(int from, int to) {
+            int low = Math.min(from, to);
+            int high = Math.max(from, to);
+            int count = 0;
+            for (int f = stops.nextSetBit(low + 1); f >= 0 && f < high; f = stops.nextSetBit(f + 1)) {
+                count++;
+            }
+            return count;
+        }
+    }
 }
@@ -0,0 +1,11 @@
+package com.elevator.model;
+
+/**
+ * Observer of one car's stops - used by the simulation to time passengers.
+ * Called on the thread driving the car, while it holds the car's monitor: keep it short.
+ */
+public interface ElevatorListener {
+    default void onDoorsOpen(Elevator elevator, int floor) {}
+    default void onPickup(Elevator elevator, Request request) {}
+    default void onDropoff(Elevator elevator, Request request) {}
+}
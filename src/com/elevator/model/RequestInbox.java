@@ -0,0 +1,65 @@
+package com.elevator.model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * RequestInbox - lock-free multi-producer / single-consumer queue of new requests
+ *
+ * - offer (any thread): swap itself in as the tail (one atomic getAndSet), then link
+ *   the old tail to it -> never blocks, never retries
+ * - poll (one consumer at a time - Elevator calls it holding its own monitor): follow
+ *   head.next; the node read becomes the new (empty) head
+ * - FIFO per producer; a request whose link is still being written is simply picked
+ *   up by the next poll
+ * - size: a counter beside the list (for dispatchers), never used to decide what to poll
+ */
+class RequestInbox {
+    private final AtomicReference<Node> tail;
+    private final AtomicInteger size = new AtomicInteger();
+    private Node head;  // consumer side only
+
+    RequestInbox() {
+        Node stub = new Node(null);
+        this.head = stub;
+        this.tail = new AtomicReference<>(stub);
+    }
+
+    void offer(Request request) {
+        Node node = new Node(request);
+        Node previous = tail.getAndSet(node);
+        previous.next = node;
+        size.incrementAndGet();
+    }
+
+    /**
+     * @return the oldest request, or null if none is (fully) queued
+     */
+    Request poll() {
+        Node next = head.next;
+        if (next == null) {
+            return null;
+        }
+        Request request = next.request;
+        next.request = null;  // the new head is a stub: do not keep the request alive
+        head = next;
+        size.decrementAndGet();
+        return request;
+    }
+
+    /**
+     * Requests offered and not yet polled (may briefly lag an offer in progress).
+     */
+    int size() {
+        return Math.max(size.get(), 0);
+    }
+
+    private static class Node {
+        Request request;
+        volatile Node next;
+
+        Node(Request request) {
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.elevator.simulation;
+
+import com.elevator.model.Elevator;
+import com.elevator.model.ElevatorListener;
+import com.elevator.model.Request;
+import com.elevator.strategy.DispatchStrategy;
+import com.elevator.strategy.EtaDispatchStrategy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * ElevatorSimulation - drives a bank of cars through a day of traffic on a virtual clock.
+ *
+ * Same cars, same state machine (IdleState / MovingUpState / MovingDownState), same
+ * DispatchStrategy as ElevatorController - but instead of one sleeping thread per car,
+ * every car step and every passenger arrival is an event on one EventScheduler:
+ * - arrival:  TrafficProfile picks the trip, the strategy picks the car, the car is woken
+ * - car step: Elevator.move() (one floor), next step after the floor travel time
+ *             (+ door dwell if the doors opened); an empty car stops scheduling itself
+ *
+ * Hundreds of cars and a full day run in seconds on the calling thread, and the
+ * same seed always gives the same run.
+ *
+ * Example usage:
+ *   SimulationReport report = new ElevatorSimulation.Builder()
+ *       .elevators(8).floors(40)
+ *       .traffic(TrafficProfile.officeDay(30_000))
+ *       .duration(Duration.ofHours(24))
+ *       .build()
+ *       .run();
+ */
+public class ElevatorSimulation {
+    public static final Duration DEFAULT_FLOOR_TRAVEL = Duration.ofMillis(1500);
+    public static final Duration DEFAULT_DOOR_DWELL = Duration.ofSeconds(4);
+    // After arrivals stop, cars get this long to deliver everyone still inside/waiting
+    private static final long DRAIN_MILLIS = Duration.ofHours(2).toMillis();
+
+    private final int elevatorCount;
+    private final int floors;
+    private final DispatchStrategy strategy;
+    private final TrafficProfile traffic;
+    private final long durationMillis;
+    private final long floorTravelMillis;
+    private final long doorDwellMillis;
+    private final long seed;
+    private final List<long[]> scripted;  // {time, source, destination}
+
+    private ElevatorSimulation(Builder builder) {
+        this.elevatorCount = builder.elevators;
+        this.floors = builder.floors;
+        this.strategy = builder.strategy;
+        this.traffic = builder.traffic;
+        this.durationMillis = builder.duration.toMillis();
+        this.floorTravelMillis = builder.floorTravel.toMillis();
+        this.doorDwellMillis = builder.doorDwell.toMillis();
+        this.seed = builder.seed;
+        this.scripted = new ArrayList<>(builder.scripted);
+    }
+
+    public SimulationReport run() {
+        return new Run().execute();
+    }
+
+    /**
+     * State of one run (a simulation can be run again with the same settings).
+     */
+    private class Run implements ElevatorListener {
+        final EventScheduler scheduler = new EventScheduler();
+        final Random random = new Random(seed);
+        final List<Elevator> cars = new ArrayList<>();
+        final boolean[] stepping = new boolean[elevatorCount];
+        final boolean[] doorsOpened = new boolean[elevatorCount];
+        final Map<Request, Long> arrivedAt = new IdentityHashMap<>();
+        final SampleBuffer waits = new SampleBuffer();
+        final SampleBuffer journeys = new SampleBuffer();
+        long stops;
+        long passengers;
+
+        SimulationReport execute() {
+            for (int i = 0; i < elevatorCount; i++) {
+                Elevator car = new Elevator(i + 1);
+                car.setVerbose(false);
+                car.setListener(this);
+                cars.add(car);
+            }
+            for (long[] request : scripted) {
+                scheduler.scheduleAt(request[0], () -> arrive((int) request[1], (int) request[2]));
+            }
+            scheduleNextArrival();
+
+            long wallStart = System.nanoTime();
+            scheduler.runUntil(durationMillis + DRAIN_MILLIS);
+            long wallNanos = System.nanoTime() - wallStart;
+
+            return new SimulationReport(elevatorCount, floors, passengers, journeys.size(),
+                waits.sorted(), journeys.sorted(), stops, scheduler.getProcessedEvents(),
+                durationMillis, wallNanos);
+        }
+
+        void scheduleNextArrival() {
+            long next = traffic.nextArrival(scheduler.now(), random);
+            if (next < durationMillis) {
+                scheduler.scheduleAt(next, this::arrive);
+            }
+        }
+
+        void arrive() {
+            int[] trip = traffic.trip(scheduler.now(), floors, random);
+            arrive(trip[0], trip[1]);
+            scheduleNextArrival();
+        }
+
+        void arrive(int source, int destination) {
+            Request request = new Request(source, destination);
+            arrivedAt.put(request, scheduler.now());
+            passengers++;
+            Elevator car = strategy.selectElevator(cars, request);
+            car.addRequest(request);
+            wake(car);
+        }
+
+        void wake(Elevator car) {
+            int index = car.getId() - 1;
+            if (!stepping[index]) {
+                stepping[index] = true;
+                scheduler.schedule(0, () -> step(car));
+            }
+        }
+
+        void step(Elevator car) {
+            int index = car.getId() - 1;
+            doorsOpened[index] = false;
+            car.move();
+            if (!car.hasRequests()) {
+                stepping[index] = false;  // Idle until the next request wakes it
+                return;
+            }
+            long delay = floorTravelMillis + (doorsOpened[index] ? doorDwellMillis : 0);
+            scheduler.schedule(delay, () -> step(car));
+        }
+
+        // ---- ElevatorListener: timing passengers ----
+
+        @Override
+        public void onDoorsOpen(Elevator elevator, int floor) {
+            doorsOpened[elevator.getId() - 1] = true;
+            stops++;
+        }
+
+        @Override
+        public void onPickup(Elevator elevator, Request request) {
+            waits.add(scheduler.now() - arrivedAt.get(request));
+        }
+
+        @Override
+        public void onDropoff(Elevator elevator, Request request) {
+            journeys.add(scheduler.now() - arrivedAt.remove(request));
+        }
+    }
+
+    /**
+     * Growable array of long samples, sorted once at the end.
+     */
+    private static class SampleBuffer {
+        private long[] samples = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(samples, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+
+    /**
+     * Builder for fluent ElevatorSimulation creation.
+     */
+    public static class Builder {
+        private int elevators = 4;
+        private int floors = 20;
+        private DispatchStrategy strategy = new EtaDispatchStrategy();
+        private TrafficProfile traffic = TrafficProfile.officeDay(10_000);
+        private Duration duration = Duration.ofHours(24);
+        private Duration floorTravel = DEFAULT_FLOOR_TRAVEL;
+        private Duration doorDwell = DEFAULT_DOOR_DWELL;
+        private long seed = 42;
+        private final List<long[]> scripted = new ArrayList<>();
+
+        public Builder elevators(int count) {
+            if (count < 1) {
+                throw new IllegalArgumentException("Need at least one elevator");
+            }
+            this.elevators = count;
+            return this;
+        }
+
+        /**
+         * Floors 0 (lobby) .. floors-1.
+         */
+        public Builder floors(int count) {
+            if (count < 2) {
+                throw new IllegalArgumentException("Need at least two floors");
+            }
+            this.floors = count;
+            return this;
+        }
+
+        public Builder strategy(DispatchStrategy strategy) {
+            this.strategy = strategy;
+            return this;
+        }
+
+        public Builder traffic(TrafficProfile traffic) {
+            this.traffic = traffic;
+            return this;
+        }
+
+        /**
+         * Simulated time during which passengers arrive (default 24 hours).
+         */
+        public Builder duration(Duration duration) {
+            this.duration = duration;
+            return this;
+        }
+
+        public Builder floorTravel(Duration floorTravel) {
+            this.floorTravel = floorTravel;
+            return this;
+        }
+
+        public Builder doorDwell(Duration doorDwell) {
+            this.doorDwell = doorDwell;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * A fixed hall call at 'at' after the start, on top of the random traffic.
+         */
+        public Builder request(Duration at, int source, int destination) {
+            scripted.add(new long[] { at.toMillis(), source, destination });
+            return this;
+        }
+
+        public ElevatorSimulation build() {
+            return new ElevatorSimulation(this);
+        }
+    }
+}
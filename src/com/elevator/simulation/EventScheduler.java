@@ -0,0 +1,81 @@
+package com.elevator.simulation;
+
+import java.util.PriorityQueue;
+
+/**
+ * Discrete-event core: a virtual clock plus a priority queue of timestamped actions.
+ *
+ * run() repeatedly takes the earliest event, advances the clock to its time and runs it;
+ * actions schedule follow-up events. Nothing sleeps, so simulated hours pass as fast
+ * as the actions execute. Events at the same time run in the order they were scheduled.
+ *
+ * Single-threaded by design: actions run on the caller of run().
+ */
+public class EventScheduler {
+    private final PriorityQueue<Event> queue = new PriorityQueue<>();
+    private long now;
+    private long sequence;
+    private long processed;
+
+    /**
+     * Current simulated time in milliseconds (starts at 0).
+     */
+    public long now() {
+        return now;
+    }
+
+    public void schedule(long delayMillis, Runnable action) {
+        scheduleAt(now + Math.max(0, delayMillis), action);
+    }
+
+    public void scheduleAt(long timeMillis, Runnable action) {
+        queue.add(new Event(Math.max(timeMillis, now), sequence++, action));
+    }
+
+    /**
+     * Run events up to and including 'untilMillis' (or until none are left).
+     * @return false if events remain after 'untilMillis'
+     */
+    public boolean runUntil(long untilMillis) {
+        Event event;
+        while ((event = queue.peek()) != null && event.time <= untilMillis) {
+            queue.poll();
+            now = event.time;
+            event.action.run();
+            processed++;
+        }
+        if (queue.isEmpty()) {
+            return true;
+        }
+        now = Math.max(now, untilMillis);
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    public long getProcessedEvents() {
+        return processed;
+    }
+
+    private static class Event implements Comparable<Event> {
+        final long time;
+        final long sequence;
+        final Runnable action;
+
+        Event(long time, long sequence, Runnable action) {
+            this.time = time;
+            this.sequence = sequence;
+            this.action = action;
+        }
+
+        @Override
+        public int compareTo(Event other) {
+            if (time != other.time) {
+                return Long.compare(time, other.time);
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.elevator.simulation;
+
+/**
+ * Outcome of one ElevatorSimulation run. Times are simulated milliseconds.
+ */
+public class SimulationReport {
+    private final int elevators;
+    private final int floors;
+    private final long passengers;
+    private final long delivered;
+    private final long[] sortedWaits;
+    private final long[] sortedJourneys;
+    private final long stops;
+    private final long events;
+    private final long simulatedMillis;
+    private final long wallNanos;
+
+    SimulationReport(int elevators, int floors, long passengers, long delivered, long[] sortedWaits,
+                     long[] sortedJourneys, long stops, long events, long simulatedMillis, long wallNanos) {
+        this.elevators = elevators;
+        this.floors = floors;
+        this.passengers = passengers;
+        this.delivered = delivered;
+        this.sortedWaits = sortedWaits;
+        this.sortedJourneys = sortedJourneys;
+        this.stops = stops;
+        this.events = events;
+        this.simulatedMillis = simulatedMillis;
+        this.wallNanos = wallNanos;
+    }
+
+    public long getPassengers() { return passengers; }
+    public long getDelivered() { return delivered; }
+    public long getStops() { return stops; }
+    public long getEvents() { return events; }
+    public long getWallNanos() { return wallNanos; }
+
+    /**
+     * Hall call to boarding.
+     */
+    public double getAverageWaitSeconds() {
+        return average(sortedWaits);
+    }
+
+    public double getWaitSecondsAtPercentile(double percentile) {
+        return percentile(sortedWaits, percentile);
+    }
+
+    /**
+     * Hall call to arrival at the destination (wait + ride).
+     */
+    public double getAverageJourneySeconds() {
+        return average(sortedJourneys);
+    }
+
+    public double getJourneySecondsAtPercentile(double percentile) {
+        return percentile(sortedJourneys, percentile);
+    }
+
+    /**
+     * Simulated time per wall-clock time.
+     */
+    public double getSpeedup() {
+        return wallNanos == 0 ? 0 : simulatedMillis * 1e6 / wallNanos;
+    }
+
+    private static double average(long[] sorted) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        long sum = 0;
+        for (long value : sorted) {
+            sum += value;
+        }
+        return sum / 1000.0 / sorted.length;
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d cars / %d floors: %,d passengers (%,d delivered), %,d stops%n"
+            + "  wait    s  avg %.1f  p50 %.1f  p95 %.1f  max %.1f%n"
+            + "  journey s  avg %.1f  p50 %.1f  p95 %.1f%n"
+            + "  %,d events, %.1f h simulated in %.0f ms (%,.0fx real time)",
+            elevators, floors, passengers, delivered, stops,
+            getAverageWaitSeconds(), getWaitSecondsAtPercentile(50), getWaitSecondsAtPercentile(95),
+            getWaitSecondsAtPercentile(100),
+            getAverageJourneySeconds(), getJourneySecondsAtPercentile(50), getJourneySecondsAtPercentile(95),
+            events, simulatedMillis / 3_600_000.0, wallNanos / 1e6, getSpeedup());
+    }
+}
@@ -0,0 +1,132 @@
+package com.elevator.simulation;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * TrafficProfile - when passengers arrive and where they travel, hour by hour.
+ *
+ * For each hour of the day (repeating after 24 h):
+ * - arrival rate in passengers/hour (Poisson arrivals)
+ * - incoming share: lobby (floor 0) -> upper floor
+ * - outgoing share: upper floor -> lobby
+ * - the rest is interfloor: upper floor -> another upper floor
+ *
+ * Standard profiles:
+ *   TrafficProfile.upPeak(1200)        // morning rush, all day long
+ *   TrafficProfile.downPeak(1200)      // evening rush
+ *   TrafficProfile.officeDay(20_000)   // a working day: up-peak, lunch, down-peak, quiet night
+ */
+public class TrafficProfile {
+    private static final long HOUR = 3_600_000L;
+
+    private final double[] ratePerHour;
+    private final double[] incomingShare;
+    private final double[] outgoingShare;
+
+    public TrafficProfile(double[] ratePerHour, double[] incomingShare, double[] outgoingShare) {
+        if (ratePerHour.length != 24 || incomingShare.length != 24 || outgoingShare.length != 24) {
+            throw new IllegalArgumentException("Need one value per hour of the day (24)");
+        }
+        for (int h = 0; h < 24; h++) {
+            if (ratePerHour[h] < 0 || incomingShare[h] + outgoingShare[h] > 1.0 + 1e-9) {
+                throw new IllegalArgumentException("Invalid traffic at hour " + h);
+            }
+        }
+        this.ratePerHour = ratePerHour.clone();
+        this.incomingShare = incomingShare.clone();
+        this.outgoingShare = outgoingShare.clone();
+    }
+
+    // ============ STANDARD PROFILES ============
+
+    public static TrafficProfile upPeak(double passengersPerHour) {
+        return constant(passengersPerHour, 0.85, 0.05);
+    }
+
+    public static TrafficProfile downPeak(double passengersPerHour) {
+        return constant(passengersPerHour, 0.05, 0.85);
+    }
+
+    public static TrafficProfile interfloor(double passengersPerHour) {
+        return constant(passengersPerHour, 0.1, 0.1);
+    }
+
+    /**
+     * Office tower: morning up-peak, lunch two-way peak, evening down-peak.
+     */
+    public static TrafficProfile officeDay(double passengersPerDay) {
+        double[] weight = { 0.1, 0.1, 0.1, 0.1, 0.1, 0.2, 0.5, 2, 10, 8, 3, 3,
+                            7, 7, 3, 3, 4, 9, 8, 2, 1, 0.5, 0.3, 0.2 };
+        double[] incoming = { .3, .3, .3, .3, .3, .6, .8, .85, .85, .8, .5, .4,
+                              .45, .5, .4, .3, .2, .1, .1, .2, .3, .3, .3, .3 };
+        double[] outgoing = { .5, .5, .5, .5, .5, .2, .1, .05, .05, .1, .2, .4,
+                              .45, .3, .3, .4, .6, .85, .85, .7, .6, .6, .6, .5 };
+        double total = Arrays.stream(weight).sum();
+        double[] rate = new double[24];
+        for (int h = 0; h < 24; h++) {
+            rate[h] = passengersPerDay * weight[h] / total;
+        }
+        return new TrafficProfile(rate, incoming, outgoing);
+    }
+
+    private static TrafficProfile constant(double passengersPerHour, double incoming, double outgoing) {
+        double[] rate = new double[24];
+        double[] in = new double[24];
+        double[] out = new double[24];
+        Arrays.fill(rate, passengersPerHour);
+        Arrays.fill(in, incoming);
+        Arrays.fill(out, outgoing);
+        return new TrafficProfile(rate, in, out);
+    }
+
+    // ============ SAMPLING ============
+
+    /**
+     * Time of the next arrival after 'now' (ms), or Long.MAX_VALUE if nobody ever arrives.
+     * Piecewise-constant Poisson process: rates are exact within each hour.
+     */
+    public long nextArrival(long now, Random random) {
+        long time = now;
+        for (int emptyHours = 0; emptyHours < 24; ) {
+            int hour = (int) ((time / HOUR) % 24);
+            long hourEnd = (time / HOUR + 1) * HOUR;
+            double rate = ratePerHour[hour];
+            if (rate > 0) {
+                double gap = -Math.log(1 - random.nextDouble()) / rate * HOUR;
+                if (time + gap < hourEnd) {
+                    return time + Math.max(1, (long) gap);
+                }
+                emptyHours = 0;
+            } else {
+                emptyHours++;
+            }
+            time = hourEnd;  // Memoryless: restart at the hour boundary with the new rate
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * {source, destination} of a passenger arriving at 'time' in a building with 'floors' floors.
+     */
+    public int[] trip(long time, int floors, Random random) {
+        int hour = (int) ((time / HOUR) % 24);
+        double kind = random.nextDouble();
+        if (floors < 3 || kind < incomingShare[hour]) {
+            return new int[] { 0, 1 + random.nextInt(floors - 1) };
+        }
+        if (kind < incomingShare[hour] + outgoingShare[hour]) {
+            return new int[] { 1 + random.nextInt(floors - 1), 0 };
+        }
+        int source = 1 + random.nextInt(floors - 1);
+        int destination = 1 + random.nextInt(floors - 2);
+        if (destination >= source) {
+            destination++;
+        }
+        return new int[] { source, destination };
+    }
+
+    public double getRatePerHour(int hour) {
+        return ratePerHour[hour];
+    }
+}
@@ -19,11 +19,11 @@ public class IdleState implements ElevatorState {
         // Decide direction based on pending requests
         // LOOK algorithm: continue in same direction if possible
         if (elevator.hasDestinationsAbove()) {
-            System.out.println("Elevator " + elevator.getId() + " starting UP from floor " + elevator.getCurrentFloor());
+            elevator.log("Elevator " + elevator.getId() + " starting UP from floor " + elevator.getCurrentFloor());
             elevator.setCurrentDirection(Direction.UP);
             elevator.setState(new MovingUpState());
         } else if (elevator.hasDestinationsBelow()) {
-            System.out.println("Elevator " + elevator.getId() + " starting DOWN from floor " + elevator.getCurrentFloor());
+            elevator.log("Elevator " + elevator.getId() + " starting DOWN from floor " + elevator.getCurrentFloor());
             elevator.setCurrentDirection(Direction.DOWN);
             elevator.setState(new MovingDownState());
         } else {
@@ -34,6 +34,6 @@ public class IdleState implements ElevatorState {
 
     @Override
     public void stop(Elevator elevator) {
-        System.out.println("Elevator " + elevator.getId() + " is already stopped.");
+        elevator.log("Elevator " + elevator.getId() + " is already stopped.");
     }
 }
@@ -9,7 +9,7 @@ public class MovingUpState implements ElevatorState {
         int current = elevator.getCurrentFloor();
         int next = current + 1;
         
-        System.out.println("Elevator " + elevator.getId() + " moving UP: floor " + current + " → " + next);
+        elevator.log("Elevator " + elevator.getId() + " moving UP: floor " + current + " → " + next);
         elevator.setCurrentFloor(next);
         
         // Check if we need to stop at this floor
@@ -23,12 +23,18 @@ public class MovingUpState implements ElevatorState {
             return;
         } else if (elevator.hasDestinationsBelow()) {
             // Reverse direction
-            System.out.println("Elevator " + elevator.getId() + " reversing direction at floor " + next);
+            elevator.log("Elevator " + elevator.getId() + " reversing direction at floor " + next);
             elevator.setCurrentDirection(Direction.DOWN);
             elevator.setState(new MovingDownState());
-        } else if (!elevator.hasRequests()) {
-            // All done
-            System.out.println("Elevator " + elevator.getId() + " all requests served, going idle at floor " + next);
+            // Passengers here who want to go DOWN board now, not on the next pass
+            if (elevator.shouldStopAt(next)) {
+                elevator.openDoors();
+            }
+        } else {
+            // Nothing above or below: go idle here (IdleState serves calls left at this floor)
+            if (!elevator.hasRequests()) {
+                elevator.log("Elevator " + elevator.getId() + " all requests served, going idle at floor " + next);
+            }
             elevator.setCurrentDirection(Direction.IDLE);
             elevator.setState(new IdleState());
         }
@@ -0,0 +1,104 @@
+package com.elevator.strategy;
+
+import com.elevator.model.Direction;
+import com.elevator.model.Elevator;
+import com.elevator.model.Request;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Cost-based dispatch: send each hall call to the car that can pick it up soonest.
+ *
+ * ETA MODEL (per car, from its current floor, direction and pending requests):
+ * 1. Route: where LOOK will take the car before it reaches the caller
+ *    - idle car:                           straight to the caller
+ *    - caller ahead, same direction:       straight on
+ *    - otherwise:                          run to the last stop in the current direction,
+ *                                          turn, and (if needed) turn once more
+ * 2. Time = floors travelled x floor time + stops made on the way x door time
+ *    (stops = the car's published stop floors on the route)
+ *
+ * Reads only Elevator.getSnapshot() and getQueuedCount(), never the car's monitor, so a
+ * hall call is dispatched without waiting for any car's move(). Requests still in a car's
+ * inbox count towards its load; their stops join the route once the car indexes them.
+ *
+ * cost = ETA + load x loadPenalty, so a car that is only slightly faster does not
+ * collect every call while its passengers' rides keep getting longer.
+ * Ties go to the car listed first.
+ */
+public class EtaDispatchStrategy implements DispatchStrategy {
+    public static final Duration DEFAULT_FLOOR_TRAVEL = Duration.ofMillis(1500);
+    public static final Duration DEFAULT_DOOR_DWELL = Duration.ofSeconds(4);
+    public static final Duration DEFAULT_LOAD_PENALTY = Duration.ofSeconds(2);
+
+    private final double floorSeconds;
+    private final double stopSeconds;
+    private final double loadPenaltySeconds;
+
+    public EtaDispatchStrategy() {
+        this(DEFAULT_FLOOR_TRAVEL, DEFAULT_DOOR_DWELL, DEFAULT_LOAD_PENALTY);
+    }
+
+    public EtaDispatchStrategy(Duration floorTravel, Duration doorDwell, Duration loadPenalty) {
+        this.floorSeconds = floorTravel.toMillis() / 1000.0;
+        this.stopSeconds = doorDwell.toMillis() / 1000.0;
+        this.loadPenaltySeconds = loadPenalty.toMillis() / 1000.0;
+    }
+
+    @Override
+    public Elevator selectElevator(List<Elevator> elevators, Request request) {
+        Elevator best = null;
+        double bestCost = Double.MAX_VALUE;
+        for (Elevator elevator : elevators) {
+            double cost = cost(elevator, request);
+            if (cost < bestCost) {
+                best = elevator;
+                bestCost = cost;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Estimated seconds until 'elevator' picks up 'request', plus its load penalty.
+     */
+    public double cost(Elevator elevator, Request request) {
+        Elevator.Snapshot car = elevator.getSnapshot();  // One consistent view, lock-free
+        int load = car.getLoad() + elevator.getQueuedCount();
+        return eta(car, request) + load * loadPenaltySeconds;
+    }
+
+    private double eta(Elevator.Snapshot car, Request request) {
+        int floor = car.getFloor();
+        Direction direction = car.getDirection();
+        int source = request.getSourceFloor();
+        Direction wanted = request.getDirection();
+        if (direction == Direction.IDLE || !car.hasStops()) {
+            return Math.abs(source - floor) * floorSeconds;
+        }
+        int lowest = Math.min(floor, car.getLowestStop());
+        int highest = Math.max(floor, car.getHighestStop());
+        boolean up = direction == Direction.UP;
+        boolean ahead = up ? source >= floor : source <= floor;
+        if (ahead && wanted == direction) {
+            return travel(floor, source, car);  // On the way
+        }
+        // Run out the current direction, then turn
+        int turn = up ? Math.max(highest, source) : Math.min(lowest, source);
+        double time = travel(floor, turn, car);
+        if (wanted != direction || ahead) {
+            // Caller is picked up on the way back (or is beyond the last stop: picked up at the turn)
+            return time + travel(turn, source, car) + (turn == source ? 0 : stopSeconds);
+        }
+        // Caller behind us wanting our current direction: back past them, then turn again
+        int secondTurn = up ? Math.min(lowest, source) : Math.max(highest, source);
+        return time + stopSeconds + travel(turn, secondTurn, car) + travel(secondTurn, source, car);
+    }
+
+    /**
+     * Time to go from 'from' to 'to', stopping at every pending stop strictly in between.
+     */
+    private double travel(int from, int to, Elevator.Snapshot car) {
+        return Math.abs(to - from) * floorSeconds + car.countStopsBetween(from, to) * stopSeconds;
+    }
+}
@@ -0,0 +1,96 @@
+package com.elevator_v2;
+
+import com.elevator_v2.controller.ElevatorController;
+import com.elevator_v2.model.Direction;
+import com.elevator_v2.model.Elevator;
+import com.elevator_v2.model.Passenger;
+
+/**
+ * Regression tests for destination dispatch away from the lobby: every keypad
+ * passenger must eventually be delivered, whichever way the car turns at their floor.
+ */
+public class DestinationDispatchTest {
+    static int passed = 0, failed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== DESTINATION DISPATCH TESTS ===\n");
+
+        testReversalAtPickupFloor();
+        testBothDirectionsAtOneFloor();
+
+        System.out.println("\n=== RESULTS ===");
+        System.out.println("Passed: " + passed);
+        System.out.println("Failed: " + failed);
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * The car stops at 5 for an UP passenger with nothing else ahead, so it reverses
+     * in the same step (a 4->2 rider is aboard). The passenger must still board, and
+     * the car must take them up before going down.
+     */
+    static void testReversalAtPickupFloor() {
+        System.out.println("TEST 1: Car reverses in the step it stops for a keypad passenger");
+        ElevatorController controller = quietController(1);
+        Elevator car = controller.getElevators().get(0);
+        controller.selectFloor(car.getId(), 4);
+        stepUntilIdle(controller, car);
+        assertTrue(car.getCurrentFloor() == 4, "Setup: car should wait at floor 4");
+
+        Passenger down = controller.requestDestination(4, 2);
+        controller.step();
+        Passenger up = controller.requestDestination(5, 8);
+        for (int i = 0; i < 200; i++) {
+            controller.step();
+        }
+        if (assertTrue(down.isDelivered(), "4->2 rider not delivered")
+                && assertTrue(up.getBoardedTick() >= 0, "5->8 passenger never boarded (car " + car.getDirection()
+                    + " at " + car.getCurrentFloor() + ", requests " + car.getRequests() + ")")
+                && assertTrue(up.isDelivered(), "5->8 passenger not delivered")) {
+            passed++;
+            System.out.println("  ✓ Both passengers delivered\n");
+        }
+    }
+
+    /**
+     * One passenger up and one down from the same middle floor, car arriving from below.
+     */
+    static void testBothDirectionsAtOneFloor() {
+        System.out.println("TEST 2: Passengers both ways at one floor");
+        ElevatorController controller = quietController(1);
+        Passenger up = controller.requestDestination(5, 9);
+        Passenger down = controller.requestDestination(5, 1);
+        for (int i = 0; i < 200; i++) {
+            controller.step();
+        }
+        if (assertTrue(up.isDelivered(), "5->9 passenger not delivered")
+                && assertTrue(down.isDelivered(), "5->1 passenger not delivered")) {
+            passed++;
+            System.out.println("  ✓ Both passengers delivered\n");
+        }
+    }
+
+    // ============ HELPERS ============
+
+    static ElevatorController quietController(int cars) {
+        ElevatorController controller = new ElevatorController(cars, 10, 12, 0);
+        controller.setVerbose(false);
+        return controller;
+    }
+
+    static void stepUntilIdle(ElevatorController controller, Elevator car) {
+        for (int i = 0; i < 100 && (car.hasRequests() || car.getDirection() != Direction.IDLE); i++) {
+            controller.step();
+        }
+    }
+
+    static boolean assertTrue(boolean condition, String message) {
+        if (!condition) {
+            failed++;
+            System.out.println("  ✗ FAILED: " + message + "\n");
+        }
+        return condition;
+    }
+}
@@ -0,0 +1,78 @@
+package com.elevator_v2;
+
+import com.elevator_v2.controller.ElevatorController;
+import com.elevator_v2.model.Direction;
+import com.elevator_v2.model.Elevator;
+import com.elevator_v2.model.ElevatorFleet;
+import com.elevator_v2.strategy.DirectionAwareStrategy;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * DispatchScoringBenchmark - DirectionAwareStrategy over List<Elevator> vs ElevatorFleet arrays.
+ *
+ * A bank of cars is run through random traffic so floors and directions are mixed, then
+ * the same stream of hall calls is scored both ways. Reports nanoseconds per call and
+ * checks that both ways pick the same car every time.
+ *
+ * Usage: java com.elevator_v2.DispatchScoringBenchmark [maxFloor] [calls]
+ */
+public class DispatchScoringBenchmark {
+
+    public static void main(String[] args) {
+        int maxFloor = args.length > 0 ? Integer.parseInt(args[0]) : 60;
+        int calls = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+
+        System.out.printf("=== floors 0-%d, %,d hall calls ===%n", maxFloor, calls);
+        for (int cars : new int[] { 8, 64, 256 }) {
+            ElevatorController controller = new ElevatorController(cars, maxFloor, Elevator.DEFAULT_CAPACITY, 2);
+            controller.setVerbose(false);
+            Random random = new Random(cars);
+            for (int tick = 0; tick < 500; tick++) {
+                for (int i = 0; i < cars / 4 + 1; i++) {
+                    int floor = 1 + random.nextInt(maxFloor - 1);
+                    controller.requestElevator(floor, random.nextBoolean() ? Direction.UP : Direction.DOWN);
+                }
+                controller.step();
+            }
+
+            int[] floors = new int[calls];
+            Direction[] directions = new Direction[calls];
+            for (int i = 0; i < calls; i++) {
+                floors[i] = random.nextInt(maxFloor + 1);
+                directions[i] = random.nextBoolean() ? Direction.UP : Direction.DOWN;
+            }
+            List<Elevator> elevators = controller.getElevators();
+            ElevatorFleet fleet = controller.getFleet();
+            DirectionAwareStrategy strategy = new DirectionAwareStrategy();
+
+            double objectNanos = 0;
+            double arrayNanos = 0;
+            long mismatches = 0;
+            for (int run = 0; run < 3; run++) {  // first run warms up
+                long checksum = 0;
+                long begin = System.nanoTime();
+                for (int i = 0; i < calls; i++) {
+                    checksum += strategy.selectElevator(elevators, floors[i], directions[i]).getId();
+                }
+                long middle = System.nanoTime();
+                for (int i = 0; i < calls; i++) {
+                    checksum -= strategy.selectElevator(fleet, elevators, floors[i], directions[i]).getId();
+                }
+                long end = System.nanoTime();
+                objectNanos = (middle - begin) / (double) calls;
+                arrayNanos = (end - middle) / (double) calls;
+                mismatches += checksum != 0 ? 1 : 0;
+            }
+            for (int i = 0; i < calls; i += 97) {
+                if (strategy.selectElevator(elevators, floors[i], directions[i])
+                        != strategy.selectElevator(fleet, elevators, floors[i], directions[i])) {
+                    mismatches++;
+                }
+            }
+            System.out.printf("%3d cars: objects %6.1f ns/call  arrays %6.1f ns/call  (%.1fx)  %s%n",
+                cars, objectNanos, arrayNanos, objectNanos / arrayNanos,
+                mismatches == 0 ? "same choices" : mismatches + " MISMATCHES");
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.elevator_v2;
 
 import com.elevator_v2.controller.ElevatorController;
 import com.elevator_v2.model.Direction;
+import com.elevator_v2.model.Passenger;
 
 /**
  * Demo showing the hybrid elevator system
@@ -11,6 +12,7 @@ import com.elevator_v2.model.Direction;
  * - SCAN Algorithm (HelloInterview) for efficient movement
  * - step() simulation (HelloInterview) for testability
  * - Request types (HelloInterview) for realistic hall/car calls
+ * - Destination dispatch: lobby keypad, controller groups passengers by destination
  */
 public class ElevatorDemo {
     public static void main(String[] args) {
@@ -38,6 +40,18 @@ public class ElevatorDemo {
             }
         }
         
+        // Scenario: Destination dispatch - passengers key in their floor in the lobby
+        System.out.println("\n--- Destination Dispatch ---");
+        ElevatorController lobby = new ElevatorController(2);
+        for (int destination : new int[] { 7, 3, 7, 4 }) {
+            Passenger passenger = lobby.requestDestination(0, destination);
+            System.out.println("  > Keypad: floor " + destination + " → take Elevator " + passenger.getElevatorId());
+        }
+        for (int i = 0; i < 10; i++) {
+            System.out.println("\n[Tick " + (i + 1) + "]");
+            lobby.step();
+        }
+
         System.out.println("\n=== Demo Complete ===");
     }
 }
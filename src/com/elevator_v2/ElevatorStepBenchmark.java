@@ -0,0 +1,54 @@
+package com.elevator_v2;
+
+import com.elevator_v2.model.Elevator;
+import com.elevator_v2.model.RequestType;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * ElevatorStepBenchmark - cost of Elevator.step (SCAN) in time and allocation.
+ *
+ * Each round loads a fresh car with random requests (pickups and destinations) and
+ * steps it until it has served them all; only the steps are measured.
+ * Reports nanoseconds and bytes allocated per step (HotSpot's per-thread allocation counter).
+ *
+ * Usage: java com.elevator_v2.ElevatorStepBenchmark [maxFloor] [rounds]
+ */
+public class ElevatorStepBenchmark {
+
+    public static void main(String[] args) {
+        int maxFloor = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        System.out.printf("=== floors 0-%d, %,d rounds ===%n", maxFloor, rounds);
+        for (int requests : new int[] { 5, 20 }) {
+            for (int run = 0; run < 3; run++) {  // first run warms up
+                Random random = new Random(3);
+                long steps = 0;
+                long nanos = 0;
+                long bytes = 0;
+                for (int round = 0; round < rounds; round++) {
+                    Elevator car = new Elevator(1, Elevator.DEFAULT_CAPACITY, maxFloor);
+                    car.setVerbose(false);
+                    for (int i = 0; i < requests; i++) {
+                        car.addRequest(random.nextInt(maxFloor + 1), RequestType.values()[random.nextInt(3)]);
+                    }
+                    long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+                    long begin = System.nanoTime();
+                    while (car.hasRequests()) {
+                        car.step();
+                        steps++;
+                    }
+                    nanos += System.nanoTime() - begin;
+                    bytes += threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+                }
+                if (run > 0) {
+                    System.out.printf("%2d requests: %5.0f ns/step  %6.1f bytes/step%n",
+                        requests, nanos / (double) steps, bytes / (double) steps);
+                }
+            }
+        }
+    }
+}
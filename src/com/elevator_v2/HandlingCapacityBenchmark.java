@@ -0,0 +1,35 @@
+package com.elevator_v2;
+
+import com.elevator_v2.simulation.UpPeakSimulation;
+import com.elevator_v2.simulation.UpPeakSimulation.Mode;
+
+/**
+ * HandlingCapacityBenchmark - collective control vs destination dispatch in the up-peak
+ *
+ * Same cars, same random lobby traffic, both modes. For rising offered traffic prints
+ * passengers delivered per 5 minutes, average wait (arrival to boarding), average journey
+ * (arrival to destination), how many measured passengers never got a car and how long
+ * those have been waiting. n/a: no measured passenger got that far.
+ * The last row offers far more than the cars can carry: its delivered rate is the
+ * group's handling capacity.
+ *
+ * Usage: java com.elevator_v2.HandlingCapacityBenchmark [cars] [capacity] [doorDwellTicks] [maxFloor]
+ */
+public class HandlingCapacityBenchmark {
+
+    public static void main(String[] args) {
+        int cars = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int capacity = args.length > 1 ? Integer.parseInt(args[1]) : 12;
+        int dwell = args.length > 2 ? Integer.parseInt(args[2]) : 6;
+        int maxFloor = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+        System.out.printf("=== Up-peak, %d cars x %d people, floors 0-%d, %.1f s/floor, doors %.1f s per stop ===%n",
+            cars, capacity, maxFloor, UpPeakSimulation.SECONDS_PER_TICK, (dwell + 1) * UpPeakSimulation.SECONDS_PER_TICK);
+        UpPeakSimulation simulation = new UpPeakSimulation(cars, maxFloor, capacity, dwell, 7);
+        for (double offered : new double[] { 40, 80, 120, 160, 200, 1_000 }) {
+            for (Mode mode : Mode.values()) {
+                System.out.println(simulation.run(mode, offered, 10, 60));
+            }
+        }
+    }
+}
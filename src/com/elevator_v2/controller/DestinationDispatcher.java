@@ -0,0 +1,193 @@
+package com.elevator_v2.controller;
+
+import com.elevator_v2.model.Direction;
+import com.elevator_v2.model.Elevator;
+import com.elevator_v2.model.Passenger;
+import com.elevator_v2.model.RequestType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * DestinationDispatcher - destination dispatch (group control) for keypad floors
+ *
+ * Passengers enter their destination before boarding, so every trip is known when it is
+ * assigned and trips can be grouped. A new passenger goes to the car where they cost least:
+ *   ticks until the car can be at their floor
+ * + for each NEW stop they add (pickup floor, destination floor): one door cycle,
+ *   times everyone already assigned to the car (they all sit through it)
+ * + floors from their destination to the car's nearest planned destination
+ * + a large penalty if the car's passengers (riding + assigned) already fill it
+ * -> passengers for the same or nearby floors share a car, so each trip makes fewer stops.
+ *
+ * Boarding: when the assigned car has its doors open at the passenger's floor, heading
+ * their way (or idle), they get in and their destination is registered - no car buttons.
+ * "Heading their way" is Elevator.isBoardingFor: the heading the car stopped with counts,
+ * even if it reversed in the same step because nothing was left ahead.
+ * If the car is full they are taken off it and reassigned.
+ */
+class DestinationDispatcher {
+    private static final int FULL_PENALTY = 1000;
+
+    private final List<Elevator> elevators;
+    private final int stopTicks;
+    private final Map<Elevator, CarPlan> plans = new HashMap<>();
+    private final List<Passenger> unassigned = new ArrayList<>();
+
+    DestinationDispatcher(List<Elevator> elevators, int maxFloor, int stopTicks) {
+        this.elevators = elevators;
+        this.stopTicks = stopTicks;
+        for (Elevator elevator : elevators) {
+            plans.put(elevator, new CarPlan(maxFloor));
+        }
+    }
+
+    /**
+     * Send a new passenger to a car; null if every car is full at their floor right now
+     * (they are retried on the next step).
+     */
+    Elevator assign(Passenger passenger) {
+        Elevator best = null;
+        int bestCost = Integer.MAX_VALUE;
+        for (Elevator elevator : elevators) {
+            if (elevator.isFull() && elevator.isDoorsOpen() && elevator.getCurrentFloor() == passenger.getSource()) {
+                continue;  // Full car in front of them: wait for it to leave
+            }
+            int cost = cost(elevator, plans.get(elevator), passenger);
+            if (cost < bestCost) {
+                best = elevator;
+                bestCost = cost;
+            }
+        }
+        if (best == null) {
+            unassigned.add(passenger);
+            return null;
+        }
+        plans.get(best).addWaiting(passenger);
+        passenger.assignTo(best.getId());
+        RequestType pickup = passenger.getDirection() == Direction.UP ? RequestType.PICKUP_UP : RequestType.PICKUP_DOWN;
+        best.addRequest(passenger.getSource(), pickup);
+        return best;
+    }
+
+    private int cost(Elevator elevator, CarPlan plan, Passenger passenger) {
+        int occupancy = elevator.getLoad() + plan.waitingCount;
+        int newStops = (plan.hasPickupAt(passenger.getSource()) ? 0 : 1)
+            + (plan.destinations[passenger.getDestination()] > 0 ? 0 : 1);
+        int cost = pickupTicks(elevator, passenger.getSource(), passenger.getDirection())
+            + newStops * stopTicks * (1 + occupancy)
+            + plan.distanceToNearestDestination(passenger.getDestination());
+        if (occupancy >= elevator.getCapacity()) {
+            cost += FULL_PENALTY;
+        }
+        return cost;
+    }
+
+    /**
+     * Floors the car travels before it can pick up at 'floor' heading 'wanted' (SCAN route).
+     */
+    private int pickupTicks(Elevator elevator, int floor, Direction wanted) {
+        int current = elevator.getCurrentFloor();
+        Direction direction = elevator.getDirection();
+        if (direction == Direction.IDLE) {
+            return Math.abs(floor - current);
+        }
+        boolean ahead = direction == Direction.UP ? floor >= current : floor <= current;
+        if (ahead && direction == wanted) {
+            return Math.abs(floor - current);
+        }
+        // Run out the current direction, then come back
+        int turn = direction == Direction.UP
+            ? Math.max(floor, elevator.getHighestRequestFloor())
+            : (elevator.hasRequests() ? Math.min(floor, elevator.getLowestRequestFloor()) : floor);
+        return Math.abs(turn - current) + Math.abs(turn - floor);
+    }
+
+    /**
+     * Doors are open: the car's passengers waiting here board, if it is going their way.
+     */
+    void board(Elevator elevator, long tick) {
+        CarPlan plan = plans.get(elevator);
+        List<Passenger> waiting = plan.waiting.get(elevator.getCurrentFloor());
+        if (waiting == null || waiting.isEmpty()) {
+            return;
+        }
+        Iterator<Passenger> it = waiting.iterator();
+        while (it.hasNext()) {
+            Passenger passenger = it.next();
+            if (!elevator.isBoardingFor(passenger.getDirection())) {
+                continue;  // Stopped here the other way: their pickup call is still set, it comes back
+            }
+            it.remove();
+            plan.waitingCount--;
+            if (elevator.board(passenger, tick)) {
+                plan.riding.add(passenger);
+            } else {
+                plan.destinations[passenger.getDestination()]--;
+                passenger.assignTo(-1);
+                unassigned.add(passenger);
+            }
+        }
+    }
+
+    void alighted(Elevator elevator, Passenger passenger) {
+        CarPlan plan = plans.get(elevator);
+        if (plan.riding.remove(passenger)) {
+            plan.destinations[passenger.getDestination()]--;
+        }
+    }
+
+    /**
+     * Passengers who could not get a car yet (or were left by a full one): try again.
+     */
+    void retry() {
+        if (unassigned.isEmpty()) {
+            return;
+        }
+        List<Passenger> retrying = new ArrayList<>(unassigned);
+        unassigned.clear();
+        for (Passenger passenger : retrying) {
+            assign(passenger);
+        }
+    }
+
+    /**
+     * Assigned trips of one car.
+     */
+    private static class CarPlan {
+        final Map<Integer, List<Passenger>> waiting = new HashMap<>();  // pickup floor -> passengers
+        final Set<Passenger> riding = new HashSet<>();
+        final int[] destinations;  // passengers (waiting or riding) per destination floor
+        int waitingCount;
+
+        CarPlan(int maxFloor) {
+            this.destinations = new int[maxFloor + 1];
+        }
+
+        void addWaiting(Passenger passenger) {
+            waiting.computeIfAbsent(passenger.getSource(), f -> new ArrayList<>()).add(passenger);
+            destinations[passenger.getDestination()]++;
+            waitingCount++;
+        }
+
+        boolean hasPickupAt(int floor) {
+            List<Passenger> here = waiting.get(floor);
+            return here != null && !here.isEmpty();
+        }
+
+        int distanceToNearestDestination(int floor) {
+            for (int d = 0; d < destinations.length; d++) {
+                if ((floor - d >= 0 && destinations[floor - d] > 0)
+                        || (floor + d < destinations.length && destinations[floor + d] > 0)) {
+                    return d;
+                }
+            }
+            return 0;  // No plan yet: any floor is as good as another
+        }
+    }
+}
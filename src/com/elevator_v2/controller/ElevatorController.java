@@ -2,6 +2,8 @@ package com.elevator_v2.controller;
 
 import com.elevator_v2.model.Direction;
 import com.elevator_v2.model.Elevator;
+import com.elevator_v2.model.ElevatorFleet;
+import com.elevator_v2.model.Passenger;
 import com.elevator_v2.model.RequestType;
 import com.elevator_v2.strategy.DirectionAwareStrategy;
 import com.elevator_v2.strategy.DispatchStrategy;
@@ -13,25 +15,47 @@ import java.util.List;
  * ElevatorController - Manages multiple elevators
  * Uses Strategy pattern for dispatch (your code)
  * Uses step() simulation model (HelloInterview)
+ *
+ * Two ways to call a car, usable side by side:
+ * - Collective control: requestElevator (UP/DOWN hall buttons) + selectFloor (car buttons)
+ * - Destination dispatch: requestDestination (keypad) - the controller picks the car,
+ *   groups passengers with nearby destinations, boards them and registers their floors
  */
 public class ElevatorController {
     private final List<Elevator> elevators;
+    private final ElevatorFleet fleet;  // same cars as struct-of-arrays, for the strategy
     private final DispatchStrategy strategy;
-    private static final int MAX_FLOOR = 10;
+    private final DestinationDispatcher destinationDispatcher;
+    private final int maxFloor;
+    private long tick;
 
     public ElevatorController(int numElevators) {
+        this(numElevators, Elevator.DEFAULT_MAX_FLOOR, Elevator.DEFAULT_CAPACITY, 0);
+    }
+
+    /**
+     * @param maxFloor       top floor; the building has floors 0..maxFloor
+     * @param doorDwellTicks extra ticks a car's doors stay open after each stop
+     */
+    public ElevatorController(int numElevators, int maxFloor, int capacity, int doorDwellTicks) {
+        this.maxFloor = maxFloor;
         this.elevators = new ArrayList<>();
+        this.fleet = new ElevatorFleet(numElevators);
         for (int i = 0; i < numElevators; i++) {
-            elevators.add(new Elevator(i + 1));
+            Elevator elevator = new Elevator(i + 1, capacity, maxFloor);
+            elevator.setDoorDwellTicks(doorDwellTicks);
+            elevators.add(elevator);
+            fleet.add(elevator);
         }
         this.strategy = new DirectionAwareStrategy();  // Can swap strategies!
+        this.destinationDispatcher = new DestinationDispatcher(elevators, maxFloor, doorDwellTicks + 1);
     }
 
     /**
      * Hall call - User presses UP/DOWN button outside elevator
      */
     public void requestElevator(int floor, Direction direction) {
-        if (floor < 0 || floor > MAX_FLOOR) {
+        if (floor < 0 || floor > maxFloor) {
             System.out.println("Invalid floor: " + floor);
             return;
         }
@@ -41,13 +65,32 @@ public class ElevatorController {
         }
 
         // Select best elevator
-        Elevator selected = strategy.selectElevator(elevators, floor, direction);
+        Elevator selected = strategy.selectElevator(fleet, elevators, floor, direction);
         
         // Convert direction to RequestType
         RequestType type = (direction == Direction.UP) ? RequestType.PICKUP_UP : RequestType.PICKUP_DOWN;
         selected.addRequest(floor, type);
     }
 
+    /**
+     * Destination call - User enters the target floor on the keypad at 'floor'
+     * @return the passenger (their assigned car: getElevatorId, -1 until one has room),
+     *         or null for an invalid call
+     */
+    public Passenger requestDestination(int floor, int destination) {
+        if (floor < 0 || floor > maxFloor || destination < 0 || destination > maxFloor) {
+            System.out.println("Invalid floor: " + floor + " → " + destination);
+            return null;
+        }
+        if (floor == destination) {
+            System.out.println("Already at floor " + floor);
+            return null;
+        }
+        Passenger passenger = new Passenger(floor, destination, tick);
+        destinationDispatcher.assign(passenger);
+        return passenger;
+    }
+
     /**
      * Car call - User inside elevator presses destination floor
      */
@@ -66,15 +109,42 @@ public class ElevatorController {
     }
 
     /**
-     * Simulation step - moves all elevators one tick
+     * Simulation step - moves all elevators one tick, then passengers at open doors
+     * get out, and destination-dispatch passengers get into their assigned car
      */
     public void step() {
+        tick++;
         for (Elevator elevator : elevators) {
             elevator.step();
+            if (elevator.isDoorsOpen()) {
+                for (Passenger passenger : elevator.alight(tick)) {
+                    destinationDispatcher.alighted(elevator, passenger);
+                }
+                destinationDispatcher.board(elevator, tick);
+            }
+        }
+        destinationDispatcher.retry();
+    }
+
+    public int getMaxFloor() {
+        return maxFloor;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public void setVerbose(boolean verbose) {
+        for (Elevator elevator : elevators) {
+            elevator.setVerbose(verbose);
         }
     }
 
     public List<Elevator> getElevators() {
         return elevators;
     }
+
+    public ElevatorFleet getFleet() {
+        return fleet;
+    }
 }
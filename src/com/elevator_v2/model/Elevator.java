@@ -1,6 +1,10 @@
 package com.elevator_v2.model;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -8,36 +12,86 @@ import java.util.Set;
  * - Continues in one direction until no more stops
  * - Then reverses
  * - Uses step() for deterministic simulation (no threading)
+ *
+ * Requests are three floor bitsets - waiting UP, waiting DOWN, destinations - plus their
+ * union: stop checks are single bit tests, "anything above/below" is one masked word scan
+ * (nextSetBit / previousSetBit), and a step allocates nothing.
+ *
+ * Doors: a stop opens them for the stop tick plus doorDwellTicks more (default 0);
+ * they stay open while the car is idle at the floor. Passengers board and alight
+ * only while they are open (board / alight, called by whoever runs the simulation).
  */
 public class Elevator {
     private final int id;
     private int currentFloor;
     private Direction direction;
-    private final Set<Request> requests;
+    private final BitSet pickupUp;
+    private final BitSet pickupDown;
+    private final BitSet destinations;
+    private final BitSet stops;  // union of the three
+    private final int maxFloor;
+    private final int capacity;
+    private final List<Passenger> riders;
+    private int doorDwellTicks;
+    private int doorTicksLeft;
+    private boolean doorsOpen;
+    private Direction openedFor = Direction.IDLE;  // heading the car stopped with (before any reversal)
+    private boolean verbose = true;
+    private ElevatorFleet fleet;  // optional struct-of-arrays mirror for dispatch
+    private int slot;
     private static final int MIN_FLOOR = 0;
-    private static final int MAX_FLOOR = 10;
+    public static final int DEFAULT_MAX_FLOOR = 10;
+    public static final int DEFAULT_CAPACITY = 12;
 
     public Elevator(int id) {
+        this(id, DEFAULT_CAPACITY);
+    }
+
+    public Elevator(int id, int capacity) {
+        this(id, capacity, DEFAULT_MAX_FLOOR);
+    }
+
+    /**
+     * @param maxFloor top floor; the car serves floors 0..maxFloor
+     */
+    public Elevator(int id, int capacity, int maxFloor) {
+        if (maxFloor < 1) {
+            throw new IllegalArgumentException("Need at least two floors: " + maxFloor);
+        }
         this.id = id;
         this.currentFloor = 0;
         this.direction = Direction.IDLE;
-        this.requests = new HashSet<>();
+        this.pickupUp = new BitSet(maxFloor + 1);
+        this.pickupDown = new BitSet(maxFloor + 1);
+        this.destinations = new BitSet(maxFloor + 1);
+        this.stops = new BitSet(maxFloor + 1);
+        this.maxFloor = maxFloor;
+        this.capacity = capacity;
+        this.riders = new ArrayList<>();
     }
 
     /**
      * Add a stop request to this elevator
      */
     public boolean addRequest(int floor, RequestType type) {
-        if (floor < MIN_FLOOR || floor > MAX_FLOOR) {
+        if (floor < MIN_FLOOR || floor > maxFloor) {
             return false;
         }
-        if (floor == currentFloor) {
-            System.out.println("Elevator " + id + ": Already at floor " + floor);
+        if (floor == currentFloor && (direction == Direction.IDLE || (doorsOpen && !isFull() && type == pickupType()))) {
+            // Idle here, or doors open for this direction: (re)open and hold them one more tick
+            log("Elevator " + id + ": Already at floor " + floor);
+            if (!doorsOpen) {
+                openedFor = direction;  // IDLE: opened for whoever is here
+            }
+            doorsOpen = true;
+            doorTicksLeft = Math.max(doorTicksLeft, 1);
             return true;
         }
-        Request request = new Request(floor, type);
-        requests.add(request);
-        System.out.println("Elevator " + id + ": Added " + request);
+        requestsOf(type).set(floor);
+        stops.set(floor);
+        if (verbose) {
+            log("Elevator " + id + ": Added " + new Request(floor, type));
+        }
         return true;
     }
 
@@ -46,16 +100,31 @@ public class Elevator {
      * This is the core logic from HelloInterview
      */
     public void step() {
+        scan();
+        publish();
+    }
+
+    private void scan() {
+        // Doors held open after a stop
+        if (doorTicksLeft > 0) {
+            doorTicksLeft--;
+            return;
+        }
+
         // Case 1: No requests - go idle
-        if (requests.isEmpty()) {
+        if (stops.isEmpty()) {
             direction = Direction.IDLE;
             return;
         }
 
         // Case 2: IDLE with requests - pick direction to nearest
         if (direction == Direction.IDLE) {
-            Request nearest = findNearestRequest();
-            direction = (nearest.getFloor() > currentFloor) ? Direction.UP : Direction.DOWN;
+            direction = (findNearestRequest() > currentFloor) ? Direction.UP : Direction.DOWN;
+        }
+
+        // Nothing further ahead but a call here for the other direction: turn around and take it
+        if (!hasRequestsInDirection(direction) && requestsOf(oppositePickupType()).get(currentFloor)) {
+            direction = reverse(direction);
         }
 
         // Case 3: Check if we should stop at current floor
@@ -63,7 +132,7 @@ public class Elevator {
             stopAtCurrentFloor();
             
             // After stopping, check if we should reverse or go idle
-            if (requests.isEmpty()) {
+            if (stops.isEmpty()) {
                 direction = Direction.IDLE;
                 return;
             }
@@ -82,49 +151,67 @@ public class Elevator {
         move();
     }
 
-    private Request findNearestRequest() {
-        Request nearest = null;
-        int minDistance = Integer.MAX_VALUE;
-        for (Request req : requests) {
-            int distance = Math.abs(req.getFloor() - currentFloor);
-            if (distance < minDistance) {
-                minDistance = distance;
-                nearest = req;
-            }
+    /**
+     * Floor of the nearest request (ties: the one below).
+     */
+    private int findNearestRequest() {
+        int below = stops.previousSetBit(currentFloor);
+        int above = stops.nextSetBit(currentFloor);
+        if (below < 0) {
+            return above;
         }
-        return nearest;
+        if (above < 0) {
+            return below;
+        }
+        return (above - currentFloor < currentFloor - below) ? above : below;
     }
 
     private boolean shouldStopAtCurrentFloor() {
         // Stop for pickups matching our direction + all destinations
-        RequestType pickupType = (direction == Direction.UP) ? RequestType.PICKUP_UP : RequestType.PICKUP_DOWN;
-        return requests.contains(new Request(currentFloor, pickupType)) ||
-               requests.contains(new Request(currentFloor, RequestType.DESTINATION));
+        return requestsOf(pickupType()).get(currentFloor) || destinations.get(currentFloor);
     }
 
     private void stopAtCurrentFloor() {
-        System.out.println("Elevator " + id + ": STOPPED at floor " + currentFloor);
-        
+        if (verbose) {
+            log("Elevator " + id + ": STOPPED at floor " + currentFloor);
+        }
+        doorsOpen = true;
+        doorTicksLeft = doorDwellTicks;
+        openedFor = direction;  // scan() may reverse right after this stop
+
         // Remove matching requests
-        RequestType pickupType = (direction == Direction.UP) ? RequestType.PICKUP_UP : RequestType.PICKUP_DOWN;
-        requests.remove(new Request(currentFloor, pickupType));
-        requests.remove(new Request(currentFloor, RequestType.DESTINATION));
+        requestsOf(pickupType()).clear(currentFloor);
+        destinations.clear(currentFloor);
+        if (!requestsOf(oppositePickupType()).get(currentFloor)) {
+            stops.clear(currentFloor);
+        }
     }
 
+    /**
+     * Any request strictly ahead - including calls for the other direction, which
+     * the car has to travel to before it can turn and take them.
+     */
     private boolean hasRequestsInDirection(Direction dir) {
-        for (Request req : requests) {
-            if (dir == Direction.UP && req.getFloor() > currentFloor) {
-                if (req.getType() == RequestType.PICKUP_UP || req.getType() == RequestType.DESTINATION) {
-                    return true;
-                }
-            }
-            if (dir == Direction.DOWN && req.getFloor() < currentFloor) {
-                if (req.getType() == RequestType.PICKUP_DOWN || req.getType() == RequestType.DESTINATION) {
-                    return true;
-                }
-            }
+        if (dir == Direction.UP) {
+            return stops.nextSetBit(currentFloor + 1) >= 0;
         }
-        return false;
+        return dir == Direction.DOWN && currentFloor > 0 && stops.previousSetBit(currentFloor - 1) >= 0;
+    }
+
+    private BitSet requestsOf(RequestType type) {
+        switch (type) {
+            case PICKUP_UP:   return pickupUp;
+            case PICKUP_DOWN: return pickupDown;
+            default:          return destinations;
+        }
+    }
+
+    private RequestType pickupType() {
+        return (direction == Direction.UP) ? RequestType.PICKUP_UP : RequestType.PICKUP_DOWN;
+    }
+
+    private RequestType oppositePickupType() {
+        return (direction == Direction.UP) ? RequestType.PICKUP_DOWN : RequestType.PICKUP_UP;
     }
 
     private Direction reverse(Direction dir) {
@@ -132,12 +219,78 @@ public class Elevator {
     }
 
     private void move() {
+        doorsOpen = false;
         if (direction == Direction.UP) {
             currentFloor++;
-            System.out.println("Elevator " + id + ": Moving UP to " + currentFloor);
+            if (verbose) {
+                log("Elevator " + id + ": Moving UP to " + currentFloor);
+            }
         } else if (direction == Direction.DOWN) {
             currentFloor--;
-            System.out.println("Elevator " + id + ": Moving DOWN to " + currentFloor);
+            if (verbose) {
+                log("Elevator " + id + ": Moving DOWN to " + currentFloor);
+            }
+        }
+    }
+
+    // ============ PASSENGERS ============
+
+    /**
+     * Passenger steps in (doors must be open, car not full) and their destination is registered.
+     * The caller checks isBoardingFor(passenger's direction) first.
+     */
+    public boolean board(Passenger passenger, long tick) {
+        if (!doorsOpen || isFull()) {
+            return false;
+        }
+        riders.add(passenger);
+        passenger.board(id, tick);
+        addRequest(passenger.getDestination(), RequestType.DESTINATION);
+        Direction riding = passenger.getDestination() > currentFloor ? Direction.UP : Direction.DOWN;
+        if (openedFor == riding && direction != riding) {
+            direction = riding;  // Reversed only because nothing was ahead: carry on the way we came
+        }
+        publish();
+        return true;
+    }
+
+    /**
+     * Riders whose destination is the current floor step out (doors must be open).
+     */
+    public List<Passenger> alight(long tick) {
+        List<Passenger> leaving = new ArrayList<>();
+        if (!doorsOpen) {
+            return leaving;
+        }
+        Iterator<Passenger> it = riders.iterator();
+        while (it.hasNext()) {
+            Passenger passenger = it.next();
+            if (passenger.getDestination() == currentFloor) {
+                it.remove();
+                passenger.deliver(tick);
+                leaving.add(passenger);
+            }
+        }
+        publish();
+        return leaving;
+    }
+
+    void attach(ElevatorFleet fleet, int slot) {
+        this.fleet = fleet;
+        this.slot = slot;
+        publish();
+    }
+
+    // Floor, direction and load changed (or may have): mirror them into the fleet
+    private void publish() {
+        if (fleet != null) {
+            fleet.update(slot, currentFloor, direction, riders.size());
+        }
+    }
+
+    private void log(String message) {
+        if (verbose) {
+            System.out.println(message);
         }
     }
 
@@ -145,13 +298,56 @@ public class Elevator {
     public int getId() { return id; }
     public int getCurrentFloor() { return currentFloor; }
     public Direction getDirection() { return direction; }
-    public Set<Request> getRequests() { return requests; }
+    public int getMaxFloor() { return maxFloor; }
+    public boolean hasRequests() { return !stops.isEmpty(); }
+    public boolean hasRequest(int floor, RequestType type) { return floor >= 0 && requestsOf(type).get(floor); }
+
+    /**
+     * Highest / lowest floor with any request, -1 if none.
+     */
+    public int getHighestRequestFloor() { return stops.length() - 1; }
+    public int getLowestRequestFloor() { return stops.nextSetBit(0); }
+
+    /**
+     * All pending requests (a copy, built from the bitsets).
+     */
+    public Set<Request> getRequests() {
+        Set<Request> requests = new HashSet<>();
+        for (RequestType type : RequestType.values()) {
+            BitSet floors = requestsOf(type);
+            for (int floor = floors.nextSetBit(0); floor >= 0; floor = floors.nextSetBit(floor + 1)) {
+                requests.add(new Request(floor, type));
+            }
+        }
+        return requests;
+    }
+    public int getLoad() { return riders.size(); }
+    public int getCapacity() { return capacity; }
+    public boolean isFull() { return riders.size() >= capacity; }
+    public boolean isDoorsOpen() { return doorsOpen; }
+
+    /**
+     * Heading the car had when its doors opened here. After the last request ahead is
+     * served, scan() reverses (or goes idle) in the same step, so getDirection() can
+     * already point the other way while the people this stop was for are still boarding.
+     */
+    public Direction getOpenedFor() { return openedFor; }
+
+    /**
+     * Would a passenger heading 'wanted' get in here now? Yes if the car is idle, or if
+     * either the heading it stopped with or the heading it leaves with is theirs.
+     */
+    public boolean isBoardingFor(Direction wanted) {
+        return direction == Direction.IDLE || openedFor == Direction.IDLE
+            || direction == wanted || openedFor == wanted;
+    }
+
+    public void setDoorDwellTicks(int ticks) { this.doorDwellTicks = ticks; }
+    public void setVerbose(boolean verbose) { this.verbose = verbose; }
     
     public boolean hasRequestsAtOrBeyond(int floor, Direction dir) {
-        for (Request req : requests) {
-            if (dir == Direction.UP && req.getFloor() >= floor) return true;
-            if (dir == Direction.DOWN && req.getFloor() <= floor) return true;
-        }
+        if (dir == Direction.UP) return stops.nextSetBit(Math.max(floor, 0)) >= 0;
+        if (dir == Direction.DOWN) return floor >= 0 && stops.previousSetBit(floor) >= 0;
         return false;
     }
 }
@@ -0,0 +1,61 @@
+package com.elevator_v2.model;
+
+import java.util.Arrays;
+
+/**
+ * ElevatorFleet - the cars' dispatch state as struct-of-arrays
+ *
+ * One slot per car: current floor, direction (+1 up, -1 down, 0 idle), load, capacity.
+ * Each Elevator added here writes its changes through to its slot as they happen,
+ * so a dispatcher can score every car in one pass over plain int arrays instead
+ * of calling getters on each Elevator object.
+ *
+ * The arrays are returned as is: read them, never write them.
+ */
+public class ElevatorFleet {
+    private int size;
+    private int[] floors;
+    private int[] directions;
+    private int[] loads;
+    private int[] capacities;
+
+    public ElevatorFleet(int expectedSize) {
+        int length = Math.max(expectedSize, 1);
+        this.floors = new int[length];
+        this.directions = new int[length];
+        this.loads = new int[length];
+        this.capacities = new int[length];
+    }
+
+    /**
+     * @return the car's slot (cars are numbered in the order they are added)
+     */
+    public int add(Elevator elevator) {
+        if (size == floors.length) {
+            floors = Arrays.copyOf(floors, size * 2);
+            directions = Arrays.copyOf(directions, size * 2);
+            loads = Arrays.copyOf(loads, size * 2);
+            capacities = Arrays.copyOf(capacities, size * 2);
+        }
+        int slot = size++;
+        capacities[slot] = elevator.getCapacity();
+        elevator.attach(this, slot);
+        return slot;
+    }
+
+    public int size() { return size; }
+    public int[] floors() { return floors; }
+    public int[] directions() { return directions; }
+    public int[] loads() { return loads; }
+    public int[] capacities() { return capacities; }
+
+    static int encode(Direction direction) {
+        return direction == Direction.UP ? 1 : direction == Direction.DOWN ? -1 : 0;
+    }
+
+    void update(int slot, int floor, Direction direction, int load) {
+        floors[slot] = floor;
+        directions[slot] = encode(direction);
+        loads[slot] = load;
+    }
+}
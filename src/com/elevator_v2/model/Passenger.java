@@ -0,0 +1,52 @@
+package com.elevator_v2.model;
+
+/**
+ * Passenger - one trip from source to destination floor
+ * - Collective control: presses the hall button, boards, presses the destination
+ * - Destination dispatch: enters the destination at the keypad, told which car to take
+ *
+ * Times are simulation ticks (ElevatorController.step); -1 = not yet.
+ */
+public class Passenger {
+    private final int source;
+    private final int destination;
+    private final long arrivedTick;
+    private int elevatorId = -1;
+    private long boardedTick = -1;
+    private long deliveredTick = -1;
+
+    public Passenger(int source, int destination, long arrivedTick) {
+        this.source = source;
+        this.destination = destination;
+        this.arrivedTick = arrivedTick;
+    }
+
+    public int getSource() { return source; }
+    public int getDestination() { return destination; }
+    public Direction getDirection() { return destination > source ? Direction.UP : Direction.DOWN; }
+    public long getArrivedTick() { return arrivedTick; }
+
+    /**
+     * Car this passenger was sent to (destination dispatch) or rides in; -1 if none yet.
+     */
+    public int getElevatorId() { return elevatorId; }
+    public void assignTo(int elevatorId) { this.elevatorId = elevatorId; }
+
+    public long getBoardedTick() { return boardedTick; }
+    public long getDeliveredTick() { return deliveredTick; }
+    public boolean isDelivered() { return deliveredTick >= 0; }
+
+    void board(int elevatorId, long tick) {
+        this.elevatorId = elevatorId;
+        this.boardedTick = tick;
+    }
+
+    void deliver(long tick) {
+        this.deliveredTick = tick;
+    }
+
+    @Override
+    public String toString() {
+        return "Passenger{" + source + "→" + destination + (elevatorId > 0 ? ", car " + elevatorId : "") + "}";
+    }
+}
@@ -0,0 +1,208 @@
+package com.elevator_v2.simulation;
+
+import com.elevator_v2.controller.ElevatorController;
+import com.elevator_v2.model.Direction;
+import com.elevator_v2.model.Elevator;
+import com.elevator_v2.model.Passenger;
+import com.elevator_v2.model.RequestType;
+import com.elevator_v2.strategy.DirectionAwareStrategy;
+import com.elevator_v2.strategy.DispatchStrategy;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * UpPeakSimulation - morning up-peak: everyone arrives at the lobby (floor 0) and rides up
+ *
+ * Arrivals are random (Poisson) at a given rate, destinations uniform over the upper floors.
+ * One tick = one floor of travel = 1.5 s; each stop holds the doors for doorDwellTicks more.
+ * Two modes on the same traffic (same seed):
+ * - COLLECTIVE:  hall button UP + car buttons, cars picked by DirectionAwareStrategy;
+ *                whoever is waiting boards the first car that opens going up, and the
+ *                lobby call goes to as many cars as the queue needs
+ * - DESTINATION: keypad in the lobby, ElevatorController.requestDestination groups trips
+ *
+ * Handling capacity = passengers delivered per 5 minutes, measured after a warm-up.
+ * Offer more than the cars can move and it is the group's maximum (the usual HC5 figure).
+ */
+public class UpPeakSimulation {
+    public static final double SECONDS_PER_TICK = 1.5;
+
+    public enum Mode { COLLECTIVE, DESTINATION }
+
+    private final int cars;
+    private final int maxFloor;
+    private final int capacity;
+    private final int doorDwellTicks;
+    private final long seed;
+    private final DispatchStrategy lobbyDispatch = new DirectionAwareStrategy();
+
+    public UpPeakSimulation(int cars, int maxFloor, int capacity, int doorDwellTicks, long seed) {
+        this.cars = cars;
+        this.maxFloor = maxFloor;
+        this.capacity = capacity;
+        this.doorDwellTicks = doorDwellTicks;
+        this.seed = seed;
+    }
+
+    /**
+     * @param passengersPer5Min offered traffic
+     * @param warmupMinutes     not measured (cars and queues settle)
+     * @param minutes           measured
+     */
+    public Result run(Mode mode, double passengersPer5Min, int warmupMinutes, int minutes) {
+        ElevatorController controller = new ElevatorController(cars, maxFloor, capacity, doorDwellTicks);
+        controller.setVerbose(false);
+        Random random = new Random(seed);
+        double arrivalsPerTick = passengersPer5Min * SECONDS_PER_TICK / 300.0;
+        long measureFrom = ticks(warmupMinutes);
+        long end = measureFrom + ticks(minutes);
+
+        List<Passenger> passengers = new ArrayList<>();
+        Deque<Passenger> lobby = new ArrayDeque<>();  // COLLECTIVE: waiting at the hall button
+        while (controller.getTick() < end) {
+            for (int n = poisson(arrivalsPerTick, random); n > 0; n--) {
+                int destination = 1 + random.nextInt(maxFloor);
+                Passenger passenger;
+                if (mode == Mode.DESTINATION) {
+                    passenger = controller.requestDestination(0, destination);
+                } else {
+                    passenger = new Passenger(0, destination, controller.getTick());
+                    lobby.add(passenger);
+                }
+                passengers.add(passenger);
+            }
+
+            controller.step();
+
+            if (mode == Mode.COLLECTIVE) {
+                boardAndCall(controller, lobby);
+            }
+        }
+        return new Result(mode, passengersPer5Min, passengers, measureFrom, end);
+    }
+
+    /**
+     * Collective control at the lobby: board any car with open doors that is going up (or idle),
+     * then make sure the cars open here or already called here have room for the whole queue.
+     * While they do not, one more car (the best by DirectionAwareStrategy among those not yet
+     * called) gets the lobby call - a long queue brings several cars, not one at a time.
+     */
+    private void boardAndCall(ElevatorController controller, Deque<Passenger> lobby) {
+        List<Elevator> uncalled = new ArrayList<>();
+        int room = 0;  // places in cars open at the lobby or on their way to it
+        for (Elevator elevator : controller.getElevators()) {
+            boolean openHere = elevator.isDoorsOpen() && elevator.getCurrentFloor() == 0;
+            if (openHere && elevator.isBoardingFor(Direction.UP)) {
+                while (!lobby.isEmpty() && elevator.board(lobby.peek(), controller.getTick())) {
+                    lobby.poll();
+                }
+                room += elevator.getCapacity() - elevator.getLoad();
+            } else if (elevator.hasRequest(0, RequestType.PICKUP_UP)) {
+                room += elevator.getCapacity();  // Everyone rides up from the lobby: it arrives empty
+            } else if (!openHere) {
+                uncalled.add(elevator);
+            }
+        }
+        while (lobby.size() > room && !uncalled.isEmpty()) {
+            Elevator next = lobbyDispatch.selectElevator(uncalled, 0, Direction.UP);
+            next.addRequest(0, RequestType.PICKUP_UP);
+            uncalled.remove(next);
+            room += next.getCapacity();
+        }
+    }
+
+    private static long ticks(int minutes) {
+        return Math.round(minutes * 60 / SECONDS_PER_TICK);
+    }
+
+    private static int poisson(double mean, Random random) {
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Outcome of one run: deliveries made in the measured window; waits and journeys
+     * of the passengers who arrived in it. An average with nobody to average over is NaN
+     * (printed n/a) - e.g. no measured passenger boarded at all. The average age of the
+     * passengers still waiting at the end shows how far behind the group fell.
+     */
+    public static class Result {
+        private final Mode mode;
+        private final double offeredPer5Min;
+        private final double deliveredPer5Min;
+        private final double averageWaitSeconds;
+        private final double averageJourneySeconds;
+        private final int stillWaiting;
+        private final double averageWaitingAgeSeconds;
+
+        Result(Mode mode, double offeredPer5Min, List<Passenger> passengers, long from, long to) {
+            this.mode = mode;
+            this.offeredPer5Min = offeredPer5Min;
+            long waitTicks = 0;
+            long journeyTicks = 0;
+            int boarded = 0;
+            int delivered = 0;
+            int journeyed = 0;
+            int waiting = 0;
+            long waitingTicks = 0;
+            for (Passenger passenger : passengers) {
+                if (passenger.getDeliveredTick() >= from) {
+                    delivered++;
+                }
+                if (passenger.getArrivedTick() < from) {
+                    continue;
+                }
+                if (passenger.getBoardedTick() >= 0) {
+                    boarded++;
+                    waitTicks += passenger.getBoardedTick() - passenger.getArrivedTick();
+                } else {
+                    waiting++;
+                    waitingTicks += to - passenger.getArrivedTick();
+                }
+                if (passenger.isDelivered()) {
+                    journeyed++;
+                    journeyTicks += passenger.getDeliveredTick() - passenger.getArrivedTick();
+                }
+            }
+            double windowMinutes = (to - from) * SECONDS_PER_TICK / 60.0;
+            this.deliveredPer5Min = delivered * 5 / windowMinutes;
+            this.averageWaitSeconds = average(waitTicks, boarded);
+            this.averageJourneySeconds = average(journeyTicks, journeyed);
+            this.stillWaiting = waiting;
+            this.averageWaitingAgeSeconds = average(waitingTicks, waiting);
+        }
+
+        public Mode getMode() { return mode; }
+        public double getOfferedPer5Min() { return offeredPer5Min; }
+        public double getDeliveredPer5Min() { return deliveredPer5Min; }
+        public double getAverageWaitSeconds() { return averageWaitSeconds; }
+        public double getAverageJourneySeconds() { return averageJourneySeconds; }
+        public int getStillWaiting() { return stillWaiting; }
+        public double getAverageWaitingAgeSeconds() { return averageWaitingAgeSeconds; }
+
+        private static double average(long ticks, int count) {
+            return count == 0 ? Double.NaN : ticks * SECONDS_PER_TICK / count;
+        }
+
+        private static String seconds(double value) {
+            return Double.isNaN(value) ? "   n/a" : String.format("%6.1fs", value);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-12s offered %5.0f/5min  delivered %6.1f/5min  wait %s  journey %s  left waiting %5d (waiting %s)",
+                mode, offeredPer5Min, deliveredPer5Min, seconds(averageWaitSeconds), seconds(averageJourneySeconds),
+                stillWaiting, seconds(averageWaitingAgeSeconds));
+        }
+    }
+}
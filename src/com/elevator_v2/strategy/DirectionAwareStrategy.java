@@ -2,6 +2,7 @@ package com.elevator_v2.strategy;
 
 import com.elevator_v2.model.Direction;
 import com.elevator_v2.model.Elevator;
+import com.elevator_v2.model.ElevatorFleet;
 import java.util.List;
 
 /**
@@ -11,8 +12,19 @@ import java.util.List;
  * 1. IDLE elevators (prefer nearest)
  * 2. Elevators going in same direction that haven't passed the floor
  * 3. Fallback: any elevator (nearest)
+ * 4. Full elevators last
+ *
+ * Score = distance + penalty (0 / WRONG_WAY_PENALTY / FULL_PENALTY); lowest wins, ties go
+ * to the first car. Two implementations of the same score:
+ * - List<Elevator>: getters on each car
+ * - ElevatorFleet:  branch-free passes over the fleet's int arrays (score all, min, first
+ *                   index of the min) - loop shapes the JIT can unroll and vectorize
  */
 public class DirectionAwareStrategy implements DispatchStrategy {
+    private static final int WRONG_WAY_PENALTY = 1000;
+    private static final int FULL_PENALTY = 2000;
+
+    private int[] scores = new int[16];  // scratch for the array pass (one strategy per controller)
     
     @Override
     public Elevator selectElevator(List<Elevator> elevators, int floor, Direction requestDirection) {
@@ -29,11 +41,57 @@ public class DirectionAwareStrategy implements DispatchStrategy {
         
         return best;
     }
-    
+
+    @Override
+    public Elevator selectElevator(ElevatorFleet fleet, List<Elevator> elevators, int floor, Direction requestDirection) {
+        int n = fleet.size();
+        if (n == 0) {
+            return null;
+        }
+        int[] floors = fleet.floors();
+        int[] directions = fleet.directions();
+        int[] loads = fleet.loads();
+        int[] capacities = fleet.capacities();
+        if (scores.length < n) {
+            scores = new int[Math.max(n, scores.length * 2)];
+        }
+        int[] scores = this.scores;
+        int wanted = requestDirection == Direction.UP ? 1 : -1;
+
+        // 1. Score every car. The conditions are 0/1 ints made from sign bits, not branches:
+        //    mixed car states would mispredict half of them, and straight-line code vectorizes
+        for (int i = 0; i < n; i++) {
+            int offset = floors[i] - floor;
+            int direction = directions[i];
+            int moving = direction & 1;                                         // +1/-1 -> 1, idle -> 0
+            int otherWay = ((direction ^ wanted) | -(direction ^ wanted)) >>> 31;  // direction != wanted
+            int passed = -(offset * direction) >>> 31;                         // already beyond the floor
+            int wrongWay = moving & (otherWay | passed);
+            int full = (capacities[i] - loads[i] - 1) >>> 31;                   // load >= capacity
+            scores[i] = Math.abs(offset) + full * FULL_PENALTY + (1 - full) * wrongWay * WRONG_WAY_PENALTY;
+        }
+        // 2. Lowest score (a plain min reduction)
+        int best = Integer.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            best = Math.min(best, scores[i]);
+        }
+        // 3. First car with it
+        int chosen = 0;
+        while (scores[chosen] != best) {
+            chosen++;
+        }
+        return elevators.get(chosen);
+    }
+
     private int calculateScore(Elevator elevator, int floor, Direction requestDirection) {
         int distance = Math.abs(elevator.getCurrentFloor() - floor);
         Direction elevatorDir = elevator.getDirection();
         
+        // Full car - only if every car is full
+        if (elevator.isFull()) {
+            return distance + FULL_PENALTY;
+        }
+
         // IDLE elevator - great candidate
         if (elevatorDir == Direction.IDLE) {
             return distance;  // Lower is better
@@ -50,6 +108,6 @@ public class DirectionAwareStrategy implements DispatchStrategy {
         }
         
         // Elevator going opposite direction or already passed - add penalty
-        return distance + 1000;  // Large penalty
+        return distance + WRONG_WAY_PENALTY;  // Large penalty
     }
 }
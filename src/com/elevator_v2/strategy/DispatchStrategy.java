@@ -2,6 +2,7 @@ package com.elevator_v2.strategy;
 
 import com.elevator_v2.model.Direction;
 import com.elevator_v2.model.Elevator;
+import com.elevator_v2.model.ElevatorFleet;
 import java.util.List;
 
 /**
@@ -9,4 +10,12 @@ import java.util.List;
  */
 public interface DispatchStrategy {
     Elevator selectElevator(List<Elevator> elevators, int floor, Direction requestDirection);
+
+    /**
+     * Same choice, with the cars' state also available as arrays (fleet slot i = elevators.get(i)).
+     * Strategies that can score from the arrays override this; the default walks the list.
+     */
+    default Elevator selectElevator(ElevatorFleet fleet, List<Elevator> elevators, int floor, Direction requestDirection) {
+        return selectElevator(elevators, floor, requestDirection);
+    }
 }
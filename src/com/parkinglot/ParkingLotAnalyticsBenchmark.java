@@ -0,0 +1,192 @@
+package com.parkinglot;
+
+import com.parkinglot.analytics.DwellHistogram;
+import com.parkinglot.analytics.OccupancyWindow;
+import com.parkinglot.analytics.ParkingAnalytics;
+import com.parkinglot.enums.VehicleType;
+import com.parkinglot.model.*;
+import com.parkinglot.service.ParkingLot;
+import com.parkinglot.simulation.Distribution;
+import com.parkinglot.simulation.GateSimulator;
+import com.parkinglot.simulation.SimulationReport;
+import com.parkinglot.strategy.NearestFirstStrategy;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * ParkingLotAnalyticsBenchmark - cost of the analytics stage at the gates, and its accuracy.
+ *
+ * 1. Gate throughput: the same flat-out GateSimulator run without and with analytics attached
+ * 2. Accuracy: a simulated week of tickets (realistic entry/exit times) is fed from several
+ *    gate threads; totals, dwell percentiles and the final occupancy are compared with
+ *    exact values computed from the raw tickets
+ *
+ * Usage: java com.parkinglot.ParkingLotAnalyticsBenchmark [gates] [arrivalsPerGate] [weekTickets]
+ */
+public class ParkingLotAnalyticsBenchmark {
+    private static final long HOUR = 3_600_000L;
+
+    public static void main(String[] args) throws Exception {
+        int gates = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int arrivalsPerGate = args.length > 1 ? Integer.parseInt(args[1]) : 50_000;
+        int weekTickets = args.length > 2 ? Integer.parseInt(args[2]) : 1_000_000;
+
+        System.out.printf("=== %d gates x %,d arrivals, %,d tickets over one week ===%n",
+            gates, arrivalsPerGate, weekTickets);
+
+        // ---- 1. Gate throughput ----
+        for (int round = 0; round < 2; round++) {  // first round warms up
+            SimulationReport plain = simulate(gates, arrivalsPerGate, null);
+            ParkingAnalytics analytics = new ParkingAnalytics.Builder().build();
+            analytics.start();
+            SimulationReport tracked = simulate(gates, arrivalsPerGate, analytics);
+            analytics.flush(Duration.ofSeconds(10));
+            analytics.close();
+            if (round == 1) {
+                System.out.printf("Gates without analytics: %,10.0f tickets/sec  p99 entry %,d ns%n",
+                    plain.getTicketsPerSecond(), plain.getEntryLatencyNanos(99));
+                System.out.printf("Gates with analytics:    %,10.0f tickets/sec  p99 entry %,d ns"
+                    + "  (%,d events applied, %,d dropped)%n",
+                    tracked.getTicketsPerSecond(), tracked.getEntryLatencyNanos(99),
+                    analytics.getAppliedEvents(), analytics.getDroppedEvents());
+            }
+        }
+
+        // ---- 2. Accuracy on a simulated week ----
+        long weekStart = 1_700_000_000_000L / HOUR * HOUR;
+        List<Ticket> tickets = syntheticWeek(weekTickets, weekStart);
+        ParkingAnalytics analytics = new ParkingAnalytics.Builder()
+            .windowSize(Duration.ofHours(1))
+            .windows(24 * 8)
+            .build();
+        analytics.start();
+
+        // Events in time order, published round-robin by several "gate" threads
+        List<long[]> events = new ArrayList<>(tickets.size() * 2);  // {time, index, 1=entry/0=exit}
+        for (int i = 0; i < tickets.size(); i++) {
+            events.add(new long[] { tickets.get(i).getEntryTime(), i, 1 });
+            events.add(new long[] { tickets.get(i).getExitTime(), i, 0 });
+        }
+        events.sort(Comparator.comparingLong((long[] e) -> e[0]).thenComparingLong(e -> e[2]));
+        ExecutorService pool = Executors.newFixedThreadPool(gates);
+        int chunk = 10_000;
+        long begin = System.nanoTime();
+        for (int from = 0; from < events.size(); from += chunk) {
+            List<long[]> slice = events.subList(from, Math.min(events.size(), from + chunk));
+            List<Future<?>> futures = new ArrayList<>();
+            for (int g = 0; g < gates; g++) {
+                final int gate = g;
+                futures.add(pool.submit(() -> {
+                    for (int i = gate; i < slice.size(); i += gates) {
+                        long[] e = slice.get(i);
+                        Ticket ticket = tickets.get((int) e[1]);
+                        if (e[2] == 1) analytics.onEntry(ticket); else analytics.onExit(ticket);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            // A real week arrives over days, not seconds: let the aggregator catch up
+            analytics.flush(Duration.ofSeconds(30));
+        }
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+        analytics.close();
+        System.out.printf("Ingested %,d events in %.0f ms (%,.0f events/sec), %,d dropped%n",
+            events.size(), elapsed / 1e6, events.size() * 1e9 / elapsed, analytics.getDroppedEvents());
+
+        boolean ok = analytics.getDroppedEvents() == 0;
+        Map<VehicleType, Double> revenue = analytics.getRevenueByVehicleType();
+        for (VehicleType type : VehicleType.values()) {
+            double exact = 0;
+            List<Long> dwell = new ArrayList<>();
+            for (Ticket ticket : tickets) {
+                if (ticket.getVehicleType() == type) {
+                    exact += ticket.getAmount();
+                    dwell.add((ticket.getExitTime() - ticket.getEntryTime()) / 1000);
+                }
+            }
+            Collections.sort(dwell);
+            DwellHistogram histogram = analytics.getDwellHistogram(type);
+            double worst = 0;
+            for (double p : new double[] { 50, 90, 99, 99.9 }) {
+                long actual = dwell.get((int) Math.ceil(p / 100 * dwell.size()) - 1);
+                worst = Math.max(worst, Math.abs(histogram.getSecondsAtPercentile(p) - actual) / (double) actual);
+            }
+            System.out.printf("%-8s revenue %,14.2f (exact %,14.2f)  dwell %s  worst percentile error %.2f%%%n",
+                type, revenue.get(type), exact, histogram, worst * 100);
+            ok &= Math.abs(revenue.get(type) - exact) < 0.01 * Math.max(1, exact) / 100
+                && histogram.getCount() == dwell.size() && worst <= 1.0 / 64;
+        }
+
+        List<OccupancyWindow> curve = analytics.getOccupancyCurve();
+        int busiest = 0;
+        for (OccupancyWindow window : curve) {
+            busiest = Math.max(busiest, window.getPeakOccupancy());
+        }
+        System.out.printf("Occupancy curve: %d hourly windows, peak %,d, now %,d (expected 0)%n",
+            curve.size(), busiest, analytics.getCurrentOccupancy());
+        ok &= analytics.getCurrentOccupancy() == 0 && curve.size() > 24 * 7;
+        System.out.println(ok ? "Analytics agree with exact values" : "ANALYTICS MISMATCH");
+    }
+
+    private static SimulationReport simulate(int gates, int arrivalsPerGate, ParkingAnalytics analytics)
+            throws InterruptedException {
+        ParkingLot.resetInstance();
+        ParkingLot lot = ParkingLot.getInstance();
+        lot.setParkingStrategy(new NearestFirstStrategy());
+        for (int f = 0; f < 20; f++) {
+            ParkingFloor floor = new ParkingFloor("F" + f);
+            for (int s = 0; s < 500; s++) {
+                floor.addSpot(new CompactSpot("F" + f + "-C" + s));
+            }
+            lot.addFloor(floor);
+        }
+        lot.setAnalytics(analytics);
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));  // the lot logs every ticket
+        try {
+            return new GateSimulator.Builder(lot)
+                .entryGates(gates)
+                .exitGates(Math.max(1, gates / 2))
+                .arrivalsPerGate(arrivalsPerGate)
+                .stay(Distribution.uniform(100_000, 2_000_000))
+                .build()
+                .run();
+        } finally {
+            System.setOut(console);
+        }
+    }
+
+    /**
+     * Paid tickets spread over one week: daytime-heavy arrivals, log-normal-ish stays
+     * from a few minutes to a couple of days, flat 2.0/h fees.
+     */
+    private static List<Ticket> syntheticWeek(int count, long weekStart) {
+        Random random = new Random(42);
+        ParkingFloor[] floors = new ParkingFloor[10];
+        ParkingSpot[] spots = new ParkingSpot[floors.length];
+        for (int f = 0; f < floors.length; f++) {
+            floors[f] = new ParkingFloor("F" + f);
+            spots[f] = new CompactSpot("F" + f + "-C0");
+            floors[f].addSpot(spots[f]);
+        }
+        VehicleType[] types = VehicleType.values();
+        List<Ticket> tickets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long hour = (long) (random.nextDouble() * 24 * 7);
+            long entry = weekStart + hour * HOUR + (long) (random.nextDouble() * HOUR);
+            long stay = (long) (Math.exp(random.nextGaussian() * 1.2 + Math.log(2 * HOUR)));
+            stay = Math.min(Math.max(stay, 60_000L), 48 * HOUR);
+            Ticket ticket = new Ticket("T" + i, spots[random.nextInt(spots.length)], "P" + i,
+                                       types[random.nextInt(types.length)], "ENTRY-" + (i % 4), entry);
+            ticket.markPaid(2.0 * stay / HOUR, entry + stay, "EXIT-" + (i % 3));
+            tickets.add(ticket);
+        }
+        return tickets;
+    }
+}
@@ -0,0 +1,383 @@
+package com.parkinglot;
+
+import com.parkinglot.enums.SpotType;
+import com.parkinglot.enums.VehicleType;
+import com.parkinglot.journal.TicketJournal;
+import com.parkinglot.model.*;
+import com.parkinglot.reservation.ReservationBook;
+import com.parkinglot.service.ParkingLot;
+import com.parkinglot.strategy.*;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Stress tests for ParkingLot.getTicket under concurrent gates:
+ * no spot is ever assigned to two vehicles, no spot leaks, no car is turned
+ * away while the lot has room.
+ */
+public class ParkingLotAssignmentStressTest {
+    static int passed = 0, failed = 0;
+    static final PrintStream CONSOLE = System.out;
+    
+    public static void main(String[] args) throws Exception {
+        CONSOLE.println("=== PARKING LOT ASSIGNMENT STRESS TESTS ===\n");
+        
+        run("NearestFirstStrategy", () -> testNoDoubleAssignment(new NearestFirstStrategy()));
+        run("LeastOccupiedFloorStrategy", () -> testNoDoubleAssignment(new LeastOccupiedFloorStrategy()));
+        run("NearestToGateStrategy", () -> testNoDoubleAssignment(new NearestToGateStrategy(
+            (gateId, spot) -> Math.abs(spot.getId().hashCode() % 97 - gateId.hashCode() % 97), gateIds(8))));
+        run("Rush hour (over capacity)", ParkingLotAssignmentStressTest::testNoLeakWhenOverCapacity);
+        run("Spot taken behind the floor's back", ParkingLotAssignmentStressTest::testOccupiedSpotIsSkipped);
+        run("Journal refuses the entry", ParkingLotAssignmentStressTest::testFailedJournalAppendLeaksNothing);
+        run("Walk-ins around booked spots", ParkingLotAssignmentStressTest::testBookedSpotsAreNotHeld);
+        run("Releases racing claims at other gates", ParkingLotAssignmentStressTest::testReleaseRacingClaimKeepsGateIndex);
+        
+        CONSOLE.println("\n=== RESULTS ===");
+        CONSOLE.println("Passed: " + passed);
+        CONSOLE.println("Failed: " + failed);
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+    
+    interface StressTest {
+        void run() throws Exception;
+    }
+    
+    static void run(String name, StressTest test) {
+        CONSOLE.println("TEST: " + name);
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));  // getTicket logs every car
+        try {
+            test.run();
+            passed++;
+            CONSOLE.println("  ✓ passed\n");
+        } catch (AssertionError e) {
+            CONSOLE.println("  ✗ FAILED: " + e.getMessage() + "\n");
+        } catch (Exception e) {
+            failed++;
+            CONSOLE.println("  ✗ ERROR: " + e + "\n");
+        } finally {
+            System.setOut(CONSOLE);
+        }
+    }
+    
+    /**
+     * 8 gates churn cars through a lot that always has room.
+     * Every getTicket must succeed, and every spot must hold one car at a time.
+     */
+    static void testNoDoubleAssignment(ParkingAssignmentStrategy strategy) throws Exception {
+        int gates = 8, heldPerGate = 50, opsPerGate = 20_000;
+        ParkingLot lot = buildLot(strategy, 4, 150);  // 600 spots > 8 * 50 parked at most
+        Map<String, String> spotOwner = new ConcurrentHashMap<>();
+        AtomicInteger doubleAssigned = new AtomicInteger();
+        AtomicInteger turnedAway = new AtomicInteger();
+        
+        runGates(gates, gate -> {
+            Random random = new Random(gate);
+            List<Ticket> parked = new ArrayList<>();
+            for (int i = 0; i < opsPerGate; i++) {
+                if (parked.size() == heldPerGate) {
+                    Ticket leaving = parked.remove(random.nextInt(parked.size()));
+                    spotOwner.remove(leaving.getAssignedSpot().getId());
+                    lot.checkOut(leaving);
+                    lot.returnSpot(leaving.getAssignedSpot());
+                }
+                Vehicle car = new Car("G" + gate + "-" + i);
+                Ticket ticket = lot.getTicket(car, "ENTRY-" + gate);
+                if (ticket == null) {
+                    turnedAway.incrementAndGet();
+                    continue;
+                }
+                if (spotOwner.putIfAbsent(ticket.getAssignedSpot().getId(), car.getLicensePlate()) != null
+                        || ticket.getAssignedSpot().getCurrentVehicle() != car) {
+                    doubleAssigned.incrementAndGet();
+                }
+                parked.add(ticket);
+            }
+            for (Ticket ticket : parked) {
+                spotOwner.remove(ticket.getAssignedSpot().getId());
+                lot.checkOut(ticket);
+                lot.returnSpot(ticket.getAssignedSpot());
+            }
+        });
+        
+        assertTrue(doubleAssigned.get() == 0, doubleAssigned.get() + " spots handed to two vehicles");
+        assertTrue(turnedAway.get() == 0, turnedAway.get() + " vehicles turned away with free spots");
+        assertLotEmpty(lot);
+    }
+    
+    /**
+     * 16 gates compete for 100 spots: many cars are turned away, but once
+     * everyone has left, every spot must be free again.
+     */
+    static void testNoLeakWhenOverCapacity() throws Exception {
+        ParkingLot lot = buildLot(new NearestFirstStrategy(), 2, 50);
+        Map<String, String> spotOwner = new ConcurrentHashMap<>();
+        AtomicInteger doubleAssigned = new AtomicInteger();
+        AtomicInteger maxParked = new AtomicInteger();
+        
+        runGates(16, gate -> {
+            Random random = new Random(gate);
+            Deque<Ticket> parked = new ArrayDeque<>();
+            for (int i = 0; i < 20_000; i++) {
+                if (!parked.isEmpty() && random.nextInt(3) == 0) {
+                    Ticket leaving = parked.poll();
+                    spotOwner.remove(leaving.getAssignedSpot().getId());
+                    lot.checkOut(leaving);
+                    lot.returnSpot(leaving.getAssignedSpot());
+                }
+                Ticket ticket = lot.getTicket(new Car("R" + gate + "-" + i), "ENTRY-" + gate);
+                if (ticket != null) {
+                    if (spotOwner.putIfAbsent(ticket.getAssignedSpot().getId(), ticket.getId()) != null) {
+                        doubleAssigned.incrementAndGet();
+                    }
+                    parked.add(ticket);
+                    maxParked.accumulateAndGet(lot.getFloors().get(0).getOccupiedCount()
+                        + lot.getFloors().get(1).getOccupiedCount(), Math::max);
+                }
+            }
+            for (Ticket ticket : parked) {
+                spotOwner.remove(ticket.getAssignedSpot().getId());
+                lot.checkOut(ticket);
+                lot.returnSpot(ticket.getAssignedSpot());
+            }
+        });
+        
+        assertTrue(doubleAssigned.get() == 0, doubleAssigned.get() + " spots handed to two vehicles");
+        assertTrue(maxParked.get() <= 100, "Floors counted more cars than spots: " + maxParked.get());
+        assertLotEmpty(lot);
+    }
+    
+    /**
+     * A car parked directly in the lowest free slot (bypassing the floor) must be
+     * skipped, not overwritten, and its spot must be reusable once it leaves.
+     */
+    static void testOccupiedSpotIsSkipped() {
+        ParkingLot lot = buildLot(new NearestFirstStrategy(), 1, 3);
+        ParkingFloor floor = lot.getFloors().get(0);
+        ParkingSpot first = floor.getSpots(SpotType.COMPACT).get(0);
+        Vehicle squatter = new Car("SQUATTER");
+        first.assignVehicle(squatter);
+        
+        Ticket ticket = lot.getTicket(new Car("REGULAR"), "ENTRY-0");
+        assertTrue(ticket != null, "Regular car should get the next spot");
+        assertTrue(ticket.getAssignedSpot() != first, "Occupied spot handed out again");
+        assertTrue(first.getCurrentVehicle() == squatter, "Squatter was displaced");
+        
+        lot.returnSpot(first);  // Squatter leaves: the floor must know the spot was taken
+        lot.checkOut(ticket);
+        lot.returnSpot(ticket.getAssignedSpot());
+        assertLotEmpty(lot);
+    }
+    
+    /**
+     * A journal that refuses the ENTRY record must leave no spot taken and no ticket behind.
+     */
+    static void testFailedJournalAppendLeaksNothing() throws Exception {
+        ParkingLot lot = buildLot(new NearestFirstStrategy(), 1, 3);
+        Path dir = Files.createTempDirectory("ticket-journal");
+        try {
+            TicketJournal journal = new TicketJournal(dir);
+            journal.close();  // append() now throws
+            lot.setJournal(journal);
+            
+            boolean thrown = false;
+            try {
+                lot.getTicket(new Car("UNLOGGED"), "ENTRY-0");
+            } catch (IllegalStateException e) {
+                thrown = true;
+            }
+            assertTrue(thrown, "Entry accepted without a journal record");
+            assertTrue(!lot.isVehicleInside("UNLOGGED"), "Vehicle recorded inside without a ticket");
+            assertLotEmpty(lot);
+        } finally {
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(dir);
+        }
+    }
+    
+    /**
+     * Most spots are booked an hour from now: 8 gates park walk-ins (staying 2 hours)
+     * in the unbooked rest. Skipped booked spots must not be held while a gate searches,
+     * so no walk-in is turned away, and none ever lands in a booked spot.
+     */
+    static void testBookedSpotsAreNotHeld() throws Exception {
+        int gates = 8, heldPerGate = 6, opsPerGate = 5_000;
+        NearestToGateStrategy nearest = new NearestToGateStrategy(
+            (gateId, spot) -> Math.abs(spot.getId().hashCode() % 97 - gateId.hashCode() % 97), gateIds(gates));
+        ParkingLot lot = buildLot(nearest, 2, 150);
+        long now = 1_000_000_000L, hour = 3_600_000L;
+        ReservationBook reservations = new ReservationBook(lot.getFloors(), ReservationBook.DEFAULT_BUCKET, () -> now);
+        Set<ParkingSpot> booked = new HashSet<>();
+        for (ParkingFloor floor : lot.getFloors()) {
+            for (ParkingSpot spot : floor.getSpots(SpotType.COMPACT)) {
+                if (booked.size() < 250) {  // 50 unbooked > 8 * 6 parked at most
+                    reservations.reserve(spot, "BOOKED-" + spot.getId(), now + hour, now + 3 * hour);
+                    booked.add(spot);
+                }
+            }
+        }
+        lot.setParkingStrategy(new ReservationAwareStrategy(nearest, reservations, Duration.ofHours(2)));
+        AtomicInteger inBookedSpot = new AtomicInteger();
+        AtomicInteger turnedAway = new AtomicInteger();
+        
+        runGates(gates, gate -> {
+            Random random = new Random(gate);
+            List<Ticket> parked = new ArrayList<>();
+            for (int i = 0; i < opsPerGate; i++) {
+                if (parked.size() == heldPerGate) {
+                    Ticket leaving = parked.remove(random.nextInt(parked.size()));
+                    lot.checkOut(leaving);
+                    lot.returnSpot(leaving.getAssignedSpot());
+                }
+                Ticket ticket = lot.getTicket(new Car("W" + gate + "-" + i), "ENTRY-" + gate);
+                if (ticket == null) {
+                    turnedAway.incrementAndGet();
+                    continue;
+                }
+                if (booked.contains(ticket.getAssignedSpot())) {
+                    inBookedSpot.incrementAndGet();
+                }
+                parked.add(ticket);
+            }
+            for (Ticket ticket : parked) {
+                lot.checkOut(ticket);
+                lot.returnSpot(ticket.getAssignedSpot());
+            }
+        });
+        
+        assertTrue(inBookedSpot.get() == 0, inBookedSpot.get() + " walk-ins parked in booked spots");
+        assertTrue(turnedAway.get() == 0, turnedAway.get() + " walk-ins turned away with unbooked spots free");
+        assertLotEmpty(lot);
+    }
+    
+    /**
+     * 8 gates claim spots while 8 other threads release random spots, so a spot is
+     * often released while the gate that just claimed it is still busy in the strategy.
+     * Afterwards every gate on its own must still be able to fill the whole lot:
+     * a spot missing from a gate's index would turn a car away there.
+     */
+    static void testReleaseRacingClaimKeepsGateIndex() throws Exception {
+        int gates = 8, opsPerThread = 50_000;
+        NearestToGateStrategy strategy = new NearestToGateStrategy(
+            (gateId, spot) -> Math.abs(spot.getId().hashCode() % 97 - gateId.hashCode() % 97), gateIds(gates));
+        ParkingLot lot = buildLot(strategy, 2, 20);
+        List<ParkingSpot> spots = new ArrayList<>();
+        for (ParkingFloor floor : lot.getFloors()) {
+            spots.addAll(floor.getSpots(SpotType.COMPACT));
+        }
+        
+        runGates(2 * gates, thread -> {
+            Random random = new Random(thread);
+            for (int i = 0; i < opsPerThread; i++) {
+                if (thread < gates) {
+                    strategy.findSpot(lot.getFloors(), VehicleType.CAR, "ENTRY-" + thread);
+                } else {
+                    lot.returnSpot(spots.get(random.nextInt(spots.size())));  // No-op unless taken
+                }
+            }
+        });
+        for (ParkingSpot spot : spots) {
+            lot.returnSpot(spot);
+        }
+        assertLotEmpty(lot);
+        
+        for (int gate = 0; gate < gates; gate++) {
+            List<Ticket> parked = new ArrayList<>();
+            for (int i = 0; i < spots.size(); i++) {
+                Ticket ticket = lot.getTicket(new Car("F" + gate + "-" + i), "ENTRY-" + gate);
+                assertTrue(ticket != null, "ENTRY-" + gate + " turned car " + (i + 1) + " of " + spots.size()
+                    + " away: a free spot was missing from its index");
+                parked.add(ticket);
+            }
+            for (Ticket ticket : parked) {
+                lot.checkOut(ticket);
+                lot.returnSpot(ticket.getAssignedSpot());
+            }
+        }
+        assertLotEmpty(lot);
+    }
+    
+    // ============ HELPERS ============
+    
+    static ParkingLot buildLot(ParkingAssignmentStrategy strategy, int floorCount, int spotsPerFloor) {
+        ParkingLot.resetInstance();
+        ParkingLot lot = ParkingLot.getInstance();
+        lot.setParkingStrategy(strategy);
+        for (int f = 0; f < floorCount; f++) {
+            ParkingFloor floor = new ParkingFloor("F" + f);
+            for (int s = 0; s < spotsPerFloor; s++) {
+                floor.addSpot(new CompactSpot("F" + f + "-C" + s));
+            }
+            lot.addFloor(floor);
+        }
+        return lot;
+    }
+    
+    static List<String> gateIds(int gates) {
+        List<String> ids = new ArrayList<>();
+        for (int g = 0; g < gates; g++) {
+            ids.add("ENTRY-" + g);
+        }
+        return ids;
+    }
+    
+    interface GateWork {
+        void run(int gate);
+    }
+    
+    static void runGates(int gates, GateWork work) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(gates);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int g = 0; g < gates; g++) {
+            final int gate = g;
+            futures.add(pool.submit(() -> {
+                start.await();
+                work.run(gate);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+    }
+    
+    /**
+     * Every spot free, and every counter agrees.
+     */
+    static void assertLotEmpty(ParkingLot lot) {
+        int total = 0;
+        for (ParkingFloor floor : lot.getFloors()) {
+            total += floor.getTotalSpots();
+            assertTrue(floor.getOccupiedCount() == 0,
+                floor.getFloorId() + " still counts " + floor.getOccupiedCount() + " occupied spots");
+            for (ParkingSpot spot : floor.getSpots(SpotType.COMPACT)) {
+                assertTrue(spot.isFree(), "Spot " + spot.getId() + " leaked (still holds a vehicle)");
+            }
+        }
+        assertTrue(lot.getAvailableSpots(SpotType.COMPACT) == total,
+            "Garage reports " + lot.getAvailableSpots(SpotType.COMPACT) + " free of " + total);
+        assertTrue(lot.getTicketRegistry().getActiveCount() == 0, "Active tickets left behind");
+    }
+    
+    static void assertTrue(boolean condition, String message) {
+        if (!condition) {
+            failed++;
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -2,12 +2,24 @@ package com.parkinglot;
 
 import com.parkinglot.enums.*;
 import com.parkinglot.model.*;
+import com.parkinglot.analytics.ParkingAnalytics;
+import com.parkinglot.reservation.Reservation;
+import com.parkinglot.reservation.ReservationBook;
 import com.parkinglot.service.ParkingLot;
 import com.parkinglot.strategy.NearestFirstStrategy;
+import com.parkinglot.strategy.NearestToGateStrategy;
+import com.parkinglot.strategy.ReservationAwareStrategy;
 import com.parkinglot.strategy.HourlyPricingStrategy;
+import com.parkinglot.strategy.TariffPricingStrategy;
+import com.parkinglot.strategy.TariffTable;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
 
 public class ParkingLotDemo {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException {
         System.out.println("=== Initializing Parking Lot System ===\n");
         
         // Reset for clean demo (useful for testing)
@@ -44,6 +56,7 @@ public class ParkingLotDemo {
         System.out.println("  - 2 floors (Floor-1, Floor-2)");
         System.out.println("  - 2 entry gates (ENTRY-1, ENTRY-2)");
         System.out.println("  - 2 exit gates (EXIT-1, EXIT-2)");
+        System.out.println("  - Free spots: " + parkingLot.getAvailability());
         
         // 4. Simulate Vehicles Entering via Different Gates
         System.out.println("\n=== Entry Process ===\n");
@@ -94,6 +107,20 @@ public class ParkingLotDemo {
             System.out.println("  " + result.getMessage());
         }
         
+        // Car2 lost its ticket: recovered by license plate from the ticket registry
+        System.out.println("\nCar2 (KA-01-5678) lost its ticket, inside? " + parkingLot.isVehicleInside("KA-01-5678"));
+        ExitGate.ExitResult lost = exitGate1.processLostTicket("KA-01-5678");
+        System.out.println("  " + lost.getMessage());
+        System.out.println("  Still inside? " + parkingLot.isVehicleInside("KA-01-5678"));
+        
+        // Car3 exits by scanning its ticket id
+        if (t4 != null) {
+            System.out.println("\nCar3 scans ticket " + t4.getId() + " at EXIT-2...");
+            System.out.println("  " + exitGate2.processExit(t4.getId()).getMessage());
+        }
+        
+        System.out.println("\nFree spots after exits: " + parkingLot.getAvailability());
+        
         // 7. Show that trying to use a paid ticket fails
         System.out.println("\n=== Edge Case: Reusing Paid Ticket ===\n");
         if (t1 != null) {
@@ -102,6 +129,81 @@ public class ParkingLotDemo {
             System.out.println("  " + result.getMessage());
         }
         
+        // 8. Gate-aware assignment: each gate gets the spot nearest to it
+        System.out.println("\n=== Nearest-to-Gate Strategy ===\n");
+        ParkingLot.resetInstance();
+        ParkingLot garage = ParkingLot.getInstance();
+        ParkingFloor ground = new ParkingFloor("Ground");
+        for (int i = 0; i < 10; i++) {
+            ground.addSpot(new CompactSpot("G" + i));  // G0 by the north ramp ... G9 by the south ramp
+        }
+        garage.addFloor(ground);
+        garage.setParkingStrategy(new NearestToGateStrategy(
+            (gateId, spot) -> {
+                int position = Integer.parseInt(spot.getId().substring(1));
+                return gateId.equals("NORTH") ? position : 9 - position;
+            },
+            Arrays.asList("NORTH", "SOUTH")));
+        
+        EntryGate north = new EntryGate("NORTH");
+        EntryGate south = new EntryGate("SOUTH");
+        Ticket n1 = north.generateTicket(new Car("KA-02-0001"));  // G0
+        south.generateTicket(new Car("KA-02-0002"));              // G9
+        north.generateTicket(new Car("KA-02-0003"));              // G1
+        
+        new ExitGate("EXIT-N", new HourlyPricingStrategy()).processExit(n1);
+        north.generateTicket(new Car("KA-02-0004"));              // G0 again, freed by the exit
+        
+        // 9. Tariff engine: time-of-day bands, weekend rate, daily cap - priced at an explicit exit time
+        System.out.println("\n=== Tariff Pricing ===\n");
+        TariffTable tariff = new TariffTable.Builder()
+            .zone(ZoneOffset.UTC)
+            .rate(1.0)
+            .rate(VehicleType.CAR, TariffTable.WEEKDAYS, LocalTime.of(8, 0), LocalTime.of(18, 0), 3.0)
+            .rate(VehicleType.CAR, TariffTable.WEEKEND, LocalTime.MIDNIGHT, LocalTime.MIDNIGHT, 1.5)
+            .dailyCap(VehicleType.CAR, 20.0)
+            .build();
+        TariffPricingStrategy pricing = new TariffPricingStrategy(tariff);
+        long monday9am = LocalDateTime.of(2024, 1, 8, 9, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+        long hour = 3_600_000L;
+        System.out.println("CAR Mon 09:00-11:00:      $" + pricing.calculatePrice(VehicleType.CAR, monday9am, monday9am + 2 * hour));
+        System.out.println("CAR Mon 09:00-Mon 21:00:  $" + pricing.calculatePrice(VehicleType.CAR, monday9am, monday9am + 12 * hour) + " (capped)");
+        System.out.println("CAR Sat 09:00-11:00:      $" + pricing.calculatePrice(VehicleType.CAR, monday9am + 5 * 24 * hour, monday9am + 5 * 24 * hour + 2 * hour));
+        System.out.println("BIKE Mon 09:00-11:00:     $" + pricing.calculatePrice(VehicleType.BIKE, monday9am, monday9am + 2 * hour));
+        
+        // 10. Pre-booking: walk-ins skip spots booked during their expected stay
+        System.out.println("\n=== Reservations ===\n");
+        ParkingLot.resetInstance();
+        ParkingLot booked = ParkingLot.getInstance();
+        ParkingFloor level = new ParkingFloor("Level-1");
+        level.addSpot(new CompactSpot("R1"));
+        level.addSpot(new CompactSpot("R2"));
+        booked.addFloor(level);
+        ReservationBook reservations = new ReservationBook(booked.getFloors());
+        booked.setReservationBook(reservations);
+        booked.setParkingStrategy(new ReservationAwareStrategy(new NearestFirstStrategy(), reservations, Duration.ofHours(2)));
+        
+        long now = System.currentTimeMillis();
+        Reservation booking = reservations.reserve("KA-03-BOOK", SpotType.COMPACT, now + hour, now + 3 * hour);
+        System.out.println("Booked: " + booking.getSpot().getId() + " for KA-03-BOOK in one hour");
+        System.out.println("Free for the next 2 hours: " + reservations.findFreeSpots(SpotType.COMPACT, now, now + 2 * hour, 10).size() + " spot(s)");
+        new EntryGate("ENTRY-R").generateTicket(new Car("KA-03-WALK"));  // Gets R2: R1 is booked soon
+        
+        // 11. Streaming analytics: gates only enqueue events, queries read the aggregates live
+        System.out.println("\n=== Analytics ===\n");
+        ParkingAnalytics analytics = new ParkingAnalytics.Builder().build();
+        analytics.start();
+        booked.setAnalytics(analytics);
+        ExitGate exitR = new ExitGate("EXIT-R", new HourlyPricingStrategy());
+        exitR.processExit(booked.findActiveTicket("KA-03-WALK"));  // Entered before analytics: exit only
+        Ticket latecomer = new EntryGate("ENTRY-R").generateTicket(new Car("KA-03-LATE"));
+        exitR.processExit(latecomer);
+        analytics.flush(Duration.ofSeconds(1));
+        analytics.close();
+        System.out.println("Occupancy now: " + analytics.getCurrentOccupancy("Level-1"));
+        System.out.println("Revenue by gate: " + analytics.getRevenueByGate());
+        System.out.println("Dwell (CAR): " + analytics.getDwellHistogram(VehicleType.CAR));
+        
         System.out.println("\n=== Demo Complete ===");
     }
 }
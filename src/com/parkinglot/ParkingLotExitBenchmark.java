@@ -0,0 +1,86 @@
+package com.parkinglot;
+
+import com.parkinglot.enums.SpotType;
+import com.parkinglot.model.*;
+import com.parkinglot.service.ParkingLot;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ParkingLotExitBenchmark - exit (spot release) throughput vs floor count.
+ *
+ * Compares ParkingLot.returnSpot (direct lookup of the owning floor) with the
+ * old approach of offering the spot to every floor. The whole table is run twice and
+ * only the second pass is printed, so neither path is timed while the JIT warms up.
+ *
+ * Usage: java com.parkinglot.ParkingLotExitBenchmark [spotsPerFloor] [rounds]
+ */
+public class ParkingLotExitBenchmark {
+    private static final int[] FLOOR_COUNTS = {1, 10, 40, 100};
+
+    public static void main(String[] args) {
+        int spotsPerFloor = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        System.out.println("=== Exit throughput (" + spotsPerFloor + " spots/floor, " + rounds + " rounds) ===");
+        System.out.printf("%-8s %20s %20s%n", "Floors", "Indexed (exits/s)", "Scan all (exits/s)");
+
+        for (int round = 0; round < 2; round++) {  // first round warms up both paths
+            for (int floorCount : FLOOR_COUNTS) {
+                ParkingLot lot = buildLot(floorCount, spotsPerFloor);
+                double indexed = measure(lot, rounds, false);
+                double scan = measure(lot, rounds, true);
+                if (round == 1) {
+                    System.out.printf("%-8d %,20.0f %,20.0f%n", floorCount, indexed, scan);
+                }
+            }
+        }
+    }
+
+    private static ParkingLot buildLot(int floorCount, int spotsPerFloor) {
+        ParkingLot.resetInstance();
+        ParkingLot lot = ParkingLot.getInstance();
+        for (int f = 0; f < floorCount; f++) {
+            ParkingFloor floor = new ParkingFloor("F" + f);
+            for (int s = 0; s < spotsPerFloor; s++) {
+                floor.addSpot(new CompactSpot("F" + f + "-C" + s));
+            }
+            lot.addFloor(floor);
+        }
+        return lot;
+    }
+
+    /**
+     * Fill every spot, then time releasing all of them. Repeated 'rounds' times.
+     */
+    private static double measure(ParkingLot lot, int rounds, boolean scanAllFloors) {
+        long totalNanos = 0;
+        long exits = 0;
+        Vehicle car = new Car("BENCH");
+
+        for (int r = 0; r < rounds; r++) {
+            List<ParkingSpot> occupied = new ArrayList<>();
+            for (ParkingFloor floor : lot.getFloors()) {
+                ParkingSpot spot;
+                while ((spot = floor.getSpot(SpotType.COMPACT)) != null) {
+                    spot.assignVehicle(car);
+                    occupied.add(spot);
+                }
+            }
+
+            long start = System.nanoTime();
+            for (ParkingSpot spot : occupied) {
+                if (scanAllFloors) {
+                    for (ParkingFloor floor : lot.getFloors()) {
+                        floor.returnSpot(spot);
+                    }
+                } else {
+                    lot.returnSpot(spot);
+                }
+            }
+            totalNanos += System.nanoTime() - start;
+            exits += occupied.size();
+        }
+        return exits * 1_000_000_000.0 / totalNanos;
+    }
+}
@@ -0,0 +1,142 @@
+package com.parkinglot;
+
+import com.parkinglot.enums.SpotType;
+import com.parkinglot.model.*;
+import com.parkinglot.service.ParkingFederation;
+import com.parkinglot.service.ParkingLot;
+import com.parkinglot.simulation.Distribution;
+import com.parkinglot.simulation.GateSimulator;
+import com.parkinglot.simulation.SimulationReport;
+import com.parkinglot.strategy.NearestFirstStrategy;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * ParkingLotFederationBenchmark - many garages in one process.
+ *
+ * 1. Scaling: 1, 2, 4 ... maxLots lots, each driven flat out by its own GateSimulator,
+ *    all at once -> total tickets/sec. Lots share no locks or counters, so the total
+ *    should grow with lots up to the number of cores (printed in the header); with one
+ *    core it can only stay flat, which shows that lots do not slow each other down.
+ * 2. Nearest-lot query over a 30-lot city: latency, and agreement with a brute-force search
+ *
+ * Usage: java com.parkinglot.ParkingLotFederationBenchmark [maxLots] [arrivalsPerGate] [gatesPerLot]
+ */
+public class ParkingLotFederationBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int maxLots = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int arrivalsPerGate = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int gatesPerLot = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("=== up to %d lots, %d entry gates each, %,d arrivals per gate, %d cores ===%n",
+            maxLots, gatesPerLot, arrivalsPerGate, cores);
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));  // lots log every ticket
+
+        // ---- 1. Scaling ----
+        run(1, gatesPerLot, arrivalsPerGate);  // warm-up
+        List<String> lines = new ArrayList<>();
+        for (int lots = 1; lots <= maxLots; lots *= 2) {
+            double perSecond = run(lots, gatesPerLot, arrivalsPerGate);
+            lines.add(String.format("%3d lots: %,12.0f tickets/sec  (%,10.0f per lot)",
+                lots, perSecond, perSecond / lots));
+        }
+        System.setOut(console);
+        lines.forEach(System.out::println);
+
+        // ---- 2. Nearest lot with space ----
+        ParkingFederation city = new ParkingFederation();
+        Random random = new Random(7);
+        for (int i = 0; i < 30; i++) {
+            ParkingLot lot = city.addLot("LOT-" + i, 12.85 + random.nextDouble() * 0.25,
+                                         77.45 + random.nextDouble() * 0.25);
+            ParkingFloor floor = new ParkingFloor("LOT-" + i + "-F0");
+            for (int s = 0; s < 10; s++) {
+                floor.addSpot(new CompactSpot("LOT-" + i + "-C" + s));
+            }
+            lot.addFloor(floor);
+            if (random.nextInt(3) == 0) {
+                // A third of the lots are full
+                for (int s = 0; s < 10; s++) {
+                    floor.assignSpot(SpotType.COMPACT, new Car("FULL-" + i + "-" + s));
+                }
+            }
+        }
+        int queries = 1_000_000;
+        double[][] points = new double[1024][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new double[] { 12.85 + random.nextDouble() * 0.25, 77.45 + random.nextDouble() * 0.25 };
+        }
+        boolean agrees = true;
+        for (double[] point : points) {
+            agrees &= city.findNearestLotWithSpace(point[0], point[1], SpotType.COMPACT)
+                == bruteForce(city, point[0], point[1]);
+        }
+        long sink = 0;
+        long begin = System.nanoTime();
+        for (int q = 0; q < queries; q++) {
+            double[] point = points[q & (points.length - 1)];
+            sink += city.findNearestLotWithSpace(point[0], point[1], SpotType.COMPACT).getLotId().length();
+        }
+        long elapsed = System.nanoTime() - begin;
+        System.out.printf("Nearest lot with space (30 lots): %.0f ns/query, %,d COMPACT spots free city-wide [%d]%n",
+            (double) elapsed / queries, city.getAvailableSpots(SpotType.COMPACT), sink % 10);
+        System.out.println(agrees ? "Nearest-lot query agrees with brute force" : "NEAREST-LOT MISMATCH");
+    }
+
+    /**
+     * All lots driven at once, each by its own simulator; total tickets per second.
+     */
+    private static double run(int lotCount, int gatesPerLot, int arrivalsPerGate) throws Exception {
+        ParkingFederation federation = new ParkingFederation();
+        List<GateSimulator> simulators = new ArrayList<>();
+        for (int l = 0; l < lotCount; l++) {
+            ParkingLot lot = federation.addLot("LOT-" + l, 12.9 + l * 0.01, 77.6);
+            lot.setParkingStrategy(new NearestFirstStrategy());
+            for (int f = 0; f < 10; f++) {
+                ParkingFloor floor = new ParkingFloor("LOT-" + l + "-F" + f);
+                for (int s = 0; s < 500; s++) {
+                    floor.addSpot(new CompactSpot("LOT-" + l + "-F" + f + "-C" + s));
+                }
+                lot.addFloor(floor);
+            }
+            simulators.add(new GateSimulator.Builder(lot)
+                .entryGates(gatesPerLot)
+                .exitGates(Math.max(1, gatesPerLot / 2))
+                .arrivalsPerGate(arrivalsPerGate)
+                .stay(Distribution.uniform(100_000, 2_000_000))
+                .seed(l)
+                .build());
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(lotCount);
+        long begin = System.nanoTime();
+        List<Future<SimulationReport>> futures = new ArrayList<>();
+        for (GateSimulator simulator : simulators) {
+            futures.add(pool.submit(simulator::run));
+        }
+        long issued = 0;
+        for (Future<SimulationReport> future : futures) {
+            issued += future.get().getTicketsIssued();
+        }
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+        return issued * 1e9 / elapsed;
+    }
+
+    private static ParkingLot bruteForce(ParkingFederation city, double latitude, double longitude) {
+        ParkingLot best = null;
+        double bestDistance = Double.MAX_VALUE;
+        for (ParkingLot lot : city.getLots()) {
+            double distance = city.getDistanceKm(lot.getLotId(), latitude, longitude);
+            if (lot.getAvailableSpots(SpotType.COMPACT) > 0 && distance < bestDistance) {
+                best = lot;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+}
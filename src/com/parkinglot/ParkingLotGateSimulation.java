@@ -0,0 +1,80 @@
+package com.parkinglot;
+
+import com.parkinglot.model.*;
+import com.parkinglot.service.ParkingLot;
+import com.parkinglot.simulation.Distribution;
+import com.parkinglot.simulation.GateSimulator;
+import com.parkinglot.simulation.SimulationReport;
+import com.parkinglot.strategy.NearestFirstStrategy;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * ParkingLotGateSimulation - gate scaling and latency under rush-hour load.
+ *
+ * 1. Flat out: 1..N entry gates with no think time, cars stay briefly
+ *    -> how far does ticket throughput scale with gates, and at what latency/contention
+ * 2. Paced: Poisson arrivals at a fixed offered rate per gate
+ *    -> latency percentiles at a realistic load
+ *
+ * Usage: java com.parkinglot.ParkingLotGateSimulation [maxGates] [arrivalsPerGate] [floors] [spotsPerFloor]
+ */
+public class ParkingLotGateSimulation {
+
+    public static void main(String[] args) throws Exception {
+        int maxGates = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int arrivalsPerGate = args.length > 1 ? Integer.parseInt(args[1]) : 50_000;
+        int floors = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        int spotsPerFloor = args.length > 3 ? Integer.parseInt(args[3]) : 500;
+
+        PrintStream console = System.out;
+        console.printf("=== %d floors x %d spots, %,d arrivals per gate ===%n", floors, spotsPerFloor, arrivalsPerGate);
+
+        console.println("\n--- Flat out (stay 0.1-2 ms) ---");
+        for (int gates = 1; gates <= maxGates; gates *= 2) {
+            SimulationReport report = simulate(new GateSimulator.Builder(freshLot(floors, spotsPerFloor))
+                .entryGates(gates)
+                .exitGates(Math.max(1, gates / 2))
+                .arrivalsPerGate(arrivalsPerGate)
+                .stay(Distribution.uniform(100_000, 2_000_000)));
+            console.println(report);
+        }
+
+        console.println("\n--- Paced: Poisson arrivals, 2,000 cars/sec per gate, stay 1-20 ms ---");
+        SimulationReport paced = simulate(new GateSimulator.Builder(freshLot(floors, spotsPerFloor))
+            .entryGates(Math.min(8, maxGates))
+            .exitGates(Math.max(1, Math.min(8, maxGates) / 2))
+            .arrivalsPerGate(Math.min(arrivalsPerGate, 10_000))
+            .interArrival(Distribution.exponential(500_000))
+            .stay(Distribution.uniform(1_000_000, 20_000_000)));
+        console.println(paced);
+    }
+
+    private static ParkingLot freshLot(int floorCount, int spotsPerFloor) {
+        ParkingLot.resetInstance();
+        ParkingLot lot = ParkingLot.getInstance();
+        lot.setParkingStrategy(new NearestFirstStrategy());
+        for (int f = 0; f < floorCount; f++) {
+            ParkingFloor floor = new ParkingFloor("F" + f);
+            for (int s = 0; s < spotsPerFloor; s++) {
+                floor.addSpot(new CompactSpot("F" + f + "-C" + s));
+            }
+            lot.addFloor(floor);
+        }
+        return lot;
+    }
+
+    /**
+     * Run with stdout silenced - the lot logs every ticket.
+     */
+    private static SimulationReport simulate(GateSimulator.Builder builder)
+            throws InterruptedException {
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            return builder.build().run();
+        } finally {
+            System.setOut(console);
+        }
+    }
+}
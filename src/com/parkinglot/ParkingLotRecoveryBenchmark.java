@@ -0,0 +1,141 @@
+package com.parkinglot;
+
+import com.parkinglot.enums.SpotType;
+import com.parkinglot.journal.JournalRecovery;
+import com.parkinglot.journal.TicketJournal;
+import com.parkinglot.model.*;
+import com.parkinglot.service.ParkingLot;
+import com.parkinglot.strategy.NearestFirstStrategy;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+/**
+ * ParkingLotRecoveryBenchmark - journal overhead at the gates and restart time.
+ *
+ * 1. Concurrent gates park cars with the journal attached (group-committed appends),
+ *    a snapshot is taken half way, then some of the cars leave
+ * 2. "Restart": a fresh lot with the same layout is rebuilt from the journal directory
+ * 3. Occupancy and active tickets are compared with the lot before the restart
+ *
+ * Usage: java com.parkinglot.ParkingLotRecoveryBenchmark [floors] [spotsPerFloor] [gates]
+ */
+public class ParkingLotRecoveryBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int floors = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int spotsPerFloor = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int gates = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        int carsPerGate = (int) (floors * spotsPerFloor * 0.8) / gates;
+        Path dir = Files.createTempDirectory("ticket-journal");
+
+        System.out.printf("=== %d floors x %d spots, %d gates, journal in %s ===%n", floors, spotsPerFloor, gates, dir);
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));  // getTicket logs every car
+
+        ParkingLot lot = buildLot(floors, spotsPerFloor);
+        TicketJournal journal = new TicketJournal(dir);
+        lot.setJournal(journal);
+
+        ExecutorService pool = Executors.newFixedThreadPool(gates);
+        long begin = System.nanoTime();
+        List<List<Ticket>> perGate = runGates(pool, gates, g -> {
+            List<Ticket> tickets = new ArrayList<>();
+            for (int i = 0; i < carsPerGate / 2; i++) {
+                Ticket ticket = lot.getTicket(new Car("G" + g + "-" + i), "ENTRY-" + g);
+                if (ticket != null) tickets.add(ticket);
+            }
+            return tickets;
+        });
+        journal.snapshot(lot::captureActiveTickets);
+        List<List<Ticket>> secondHalf = runGates(pool, gates, g -> {
+            List<Ticket> tickets = new ArrayList<>();
+            for (int i = carsPerGate / 2; i < carsPerGate; i++) {
+                Ticket ticket = lot.getTicket(new Car("G" + g + "-" + i), "ENTRY-" + g);
+                if (ticket != null) tickets.add(ticket);
+            }
+            // A quarter of each gate's cars leave again
+            for (Ticket ticket : perGate.get(g).subList(0, perGate.get(g).size() / 4)) {
+                if (lot.checkOut(ticket)) lot.returnSpot(ticket.getAssignedSpot());
+            }
+            return tickets;
+        });
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+        journal.close();
+        System.setOut(console);
+
+        long events = 0;
+        for (int g = 0; g < gates; g++) {
+            events += perGate.get(g).size() + perGate.get(g).size() / 4 + secondHalf.get(g).size();
+        }
+        int expectedActive = lot.getTicketRegistry().getActiveCount();
+        int expectedFree = lot.getAvailableSpots(SpotType.COMPACT);
+        System.out.printf("Gates (journaled):  %,d entries+exits in %.0f ms (%,.0f events/sec)%n",
+            events, elapsed / 1e6, events * 1_000_000_000.0 / elapsed);
+
+        // ---- Restart ----
+        ParkingLot.resetInstance();
+        ParkingLot restarted = buildLot(floors, spotsPerFloor);
+        JournalRecovery.Result result = JournalRecovery.recover(dir, restarted);
+        System.out.println(result);
+
+        boolean sameTickets = restarted.getTicketRegistry().getActiveCount() == expectedActive;
+        boolean sameFree = restarted.getAvailableSpots(SpotType.COMPACT) == expectedFree;
+        boolean sameSpots = true;
+        for (List<Ticket> tickets : secondHalf) {
+            for (Ticket ticket : tickets) {
+                Ticket recovered = restarted.findTicket(ticket.getId());
+                sameSpots &= recovered != null
+                    && recovered.getAssignedSpot().getId().equals(ticket.getAssignedSpot().getId())
+                    && recovered.getEntryTime() == ticket.getEntryTime();
+            }
+        }
+        System.out.printf("Active tickets: %,d (expected %,d)  free spots: %,d (expected %,d)  spots match: %s%n",
+            restarted.getTicketRegistry().getActiveCount(), expectedActive,
+            restarted.getAvailableSpots(SpotType.COMPACT), expectedFree, sameSpots);
+        System.out.println(sameTickets && sameFree && sameSpots ? "Recovery OK" : "RECOVERY MISMATCH");
+
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    private static ParkingLot buildLot(int floorCount, int spotsPerFloor) {
+        ParkingLot lot = ParkingLot.getInstance();
+        lot.setParkingStrategy(new NearestFirstStrategy());
+        for (int f = 0; f < floorCount; f++) {
+            ParkingFloor floor = new ParkingFloor("F" + f);
+            for (int s = 0; s < spotsPerFloor; s++) {
+                floor.addSpot(new CompactSpot("F" + f + "-C" + s));
+            }
+            lot.addFloor(floor);
+        }
+        return lot;
+    }
+
+    private interface GateWork {
+        List<Ticket> run(int gate) throws IOException;
+    }
+
+    private static List<List<Ticket>> runGates(ExecutorService pool, int gates, GateWork work)
+            throws Exception {
+        List<Future<List<Ticket>>> futures = new ArrayList<>();
+        for (int g = 0; g < gates; g++) {
+            final int gate = g;
+            futures.add(pool.submit(() -> work.run(gate)));
+        }
+        List<List<Ticket>> results = new ArrayList<>();
+        for (Future<List<Ticket>> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+}
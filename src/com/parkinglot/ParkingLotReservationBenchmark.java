@@ -0,0 +1,98 @@
+package com.parkinglot;
+
+import com.parkinglot.enums.SpotType;
+import com.parkinglot.model.*;
+import com.parkinglot.reservation.ReservationBook;
+import com.parkinglot.service.ParkingLot;
+import com.parkinglot.strategy.NearestFirstStrategy;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * ParkingLotReservationBenchmark - "which spots are free from T1 to T2?" on a large garage.
+ *
+ * Books random windows over the next week, then answers random window queries
+ * with the bucketed index, and with a per-spot scan of every timeline for comparison.
+ *
+ * Usage: java com.parkinglot.ParkingLotReservationBenchmark [floors] [spotsPerFloor] [reservations] [queries]
+ */
+public class ParkingLotReservationBenchmark {
+    private static final long HOUR = 3_600_000L;
+
+    public static void main(String[] args) {
+        int floors = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int spotsPerFloor = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int reservationCount = args.length > 2 ? Integer.parseInt(args[2]) : 200_000;
+        int queries = args.length > 3 ? Integer.parseInt(args[3]) : 200;
+
+        ParkingLot.resetInstance();
+        ParkingLot lot = ParkingLot.getInstance();
+        lot.setParkingStrategy(new NearestFirstStrategy());
+        for (int f = 0; f < floors; f++) {
+            ParkingFloor floor = new ParkingFloor("F" + f);
+            for (int s = 0; s < spotsPerFloor; s++) {
+                floor.addSpot(new CompactSpot("F" + f + "-C" + s));
+            }
+            lot.addFloor(floor);
+        }
+        long now = 0;  // Fixed clock: every window is in the future
+        ReservationBook book = new ReservationBook(lot.getFloors(), ReservationBook.DEFAULT_BUCKET, () -> now);
+        List<ParkingSpot> allSpots = new ArrayList<>();
+        for (ParkingFloor floor : lot.getFloors()) {
+            allSpots.addAll(floor.getSpots(SpotType.COMPACT));
+        }
+
+        System.out.printf("=== %,d spots, %,d booking attempts over 7 days ===%n", allSpots.size(), reservationCount);
+        Random random = new Random(7);
+        long start = System.nanoTime();
+        int booked = 0;
+        for (int i = 0; i < reservationCount; i++) {
+            ParkingSpot spot = allSpots.get(random.nextInt(allSpots.size()));
+            long from = (long) (random.nextDouble() * 7 * 24 * HOUR);
+            long to = from + HOUR + (long) (random.nextDouble() * 7 * HOUR);
+            if (book.reserve(spot, "P" + i, from, to) != null) {
+                booked++;
+            }
+        }
+        System.out.printf("Booked %,d in %.0f ms%n", booked, (System.nanoTime() - start) / 1e6);
+
+        long indexedNanos = 0, scanNanos = 0;
+        int mismatches = 0;
+        long totalFree = 0;
+        for (int q = 0; q < queries; q++) {
+            long from = (long) (random.nextDouble() * 7 * 24 * HOUR);
+            long to = from + HOUR + (long) (random.nextDouble() * 3 * HOUR);
+
+            long t0 = System.nanoTime();
+            List<ParkingSpot> indexed = book.findFreeSpots(SpotType.COMPACT, from, to, Integer.MAX_VALUE);
+            long t1 = System.nanoTime();
+            List<ParkingSpot> scanned = new ArrayList<>();
+            for (ParkingSpot spot : allSpots) {
+                if (book.isFree(spot, from, to)) {
+                    scanned.add(spot);
+                }
+            }
+            long t2 = System.nanoTime();
+
+            indexedNanos += t1 - t0;
+            scanNanos += t2 - t1;
+            totalFree += indexed.size();
+            if (!new HashSet<>(indexed).equals(new HashSet<>(scanned))) {
+                mismatches++;
+            }
+        }
+
+        System.out.printf("%-30s %12s%n", "Free-spot query (all spots)", "ms/query");
+        System.out.printf("%-30s %12.2f%n", "Bucketed index", indexedNanos / 1e6 / queries);
+        System.out.printf("%-30s %12.2f%n", "Scan every spot timeline", scanNanos / 1e6 / queries);
+        System.out.printf("Avg free spots per window: %,d%n", totalFree / queries);
+
+        long t0 = System.nanoTime();
+        for (int q = 0; q < queries; q++) {
+            long from = (long) (random.nextDouble() * 7 * 24 * HOUR);
+            book.findFreeSpots(SpotType.COMPACT, from, from + 2 * HOUR, 1);
+        }
+        System.out.printf("%-30s %12.3f%n", "First free spot only", (System.nanoTime() - t0) / 1e6 / queries);
+        System.out.println(mismatches == 0 ? "Index agrees with full scan" : "MISMATCHES: " + mismatches);
+    }
+}
@@ -0,0 +1,89 @@
+package com.parkinglot;
+
+import com.parkinglot.enums.VehicleType;
+import com.parkinglot.model.*;
+import com.parkinglot.service.ParkingLot;
+import com.parkinglot.strategy.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * ParkingLotStrategyBenchmark - assignment throughput and floor balance under
+ * concurrent gates, NearestFirstStrategy vs LeastOccupiedFloorStrategy.
+ *
+ * Each gate thread parks a car, and once the lot is ~60% full keeps it there by
+ * releasing a random car of its own for every car it parks.
+ *
+ * Usage: java com.parkinglot.ParkingLotStrategyBenchmark [gates] [floors] [spotsPerFloor] [opsPerGate]
+ */
+public class ParkingLotStrategyBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int gates = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int floors = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int spotsPerFloor = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+        int opsPerGate = args.length > 3 ? Integer.parseInt(args[3]) : 200_000;
+
+        System.out.printf("=== %d gates, %d floors x %d spots, %,d ops/gate ===%n",
+            gates, floors, spotsPerFloor, opsPerGate);
+        System.out.printf("%-28s %16s %22s%n", "Strategy", "ops/sec", "floor occupancy min-max");
+
+        run("NearestFirstStrategy", new NearestFirstStrategy(), gates, floors, spotsPerFloor, opsPerGate);
+        run("LeastOccupiedFloorStrategy", new LeastOccupiedFloorStrategy(), gates, floors, spotsPerFloor, opsPerGate);
+    }
+
+    private static void run(String name, ParkingAssignmentStrategy strategy, int gates,
+                            int floorCount, int spotsPerFloor, int opsPerGate) throws Exception {
+        ParkingLot.resetInstance();
+        ParkingLot lot = ParkingLot.getInstance();
+        lot.setParkingStrategy(strategy);
+        for (int f = 0; f < floorCount; f++) {
+            ParkingFloor floor = new ParkingFloor("F" + f);
+            for (int s = 0; s < spotsPerFloor; s++) {
+                floor.addSpot(new CompactSpot("F" + f + "-C" + s));
+            }
+            lot.addFloor(floor);
+        }
+        int targetPerGate = (int) (floorCount * spotsPerFloor * 0.6) / gates;
+
+        ExecutorService pool = Executors.newFixedThreadPool(gates);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int g = 0; g < gates; g++) {
+            final int gate = g;
+            futures.add(pool.submit(() -> {
+                Random random = new Random(gate);
+                List<ParkingSpot> parked = new ArrayList<>();
+                Vehicle car = new Car("GATE-" + gate);
+                start.await();
+                for (int i = 0; i < opsPerGate; i++) {
+                    if (parked.size() >= targetPerGate) {
+                        lot.returnSpot(parked.remove(random.nextInt(parked.size())));
+                    }
+                    ParkingSpot spot = strategy.findSpot(lot.getFloors(), VehicleType.CAR, "ENTRY-" + gate);
+                    if (spot != null && spot.assignVehicle(car)) {
+                        parked.add(spot);
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+
+        double min = 1, max = 0;
+        for (ParkingFloor floor : lot.getFloors()) {
+            min = Math.min(min, floor.getOccupancyRatio());
+            max = Math.max(max, floor.getOccupancyRatio());
+        }
+        long ops = (long) gates * opsPerGate;
+        System.out.printf("%-28s %,16.0f %14.0f%% - %3.0f%%%n",
+            name, ops * 1_000_000_000.0 / elapsed, min * 100, max * 100);
+    }
+}
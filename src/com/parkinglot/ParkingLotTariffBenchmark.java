@@ -0,0 +1,149 @@
+package com.parkinglot;
+
+import com.parkinglot.enums.VehicleType;
+import com.parkinglot.model.Ticket;
+import com.parkinglot.strategy.TariffPricingStrategy;
+import com.parkinglot.strategy.TariffTable;
+import java.time.*;
+import java.util.*;
+
+/**
+ * ParkingLotTariffBenchmark - compiled tariff vs evaluating the rules directly.
+ *
+ * The reference prices each stay the way a hand-written PricingStrategy would:
+ * walk the stay minute by minute, find the matching rule (last one wins),
+ * cap each calendar day. Both must agree on every ticket.
+ *
+ * Usage: java com.parkinglot.ParkingLotTariffBenchmark [tickets] [maxStayHours]
+ */
+public class ParkingLotTariffBenchmark {
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int maxStayHours = args.length > 1 ? Integer.parseInt(args[1]) : 72;
+        ZoneId zone = ZoneOffset.UTC;
+
+        TariffTable table = new TariffTable.Builder()
+            .zone(zone)
+            .billingIncrement(Duration.ofMinutes(15))
+            .gracePeriod(Duration.ofMinutes(10))
+            .rate(1.0)
+            .rate(VehicleType.CAR, TariffTable.WEEKDAYS, LocalTime.of(8, 0), LocalTime.of(18, 0), 3.0)
+            .rate(VehicleType.CAR, TariffTable.ALL_DAYS, LocalTime.of(22, 0), LocalTime.of(6, 0), 0.5)
+            .rate(VehicleType.CAR, TariffTable.WEEKEND, LocalTime.of(10, 0), LocalTime.of(20, 0), 2.0)
+            .rate(VehicleType.TRUCK, 6.0)
+            .rate(VehicleType.TRUCK, TariffTable.WEEKEND, LocalTime.MIDNIGHT, LocalTime.MIDNIGHT, 4.0)
+            .dailyCap(VehicleType.CAR, 20.0)
+            .dailyCap(VehicleType.CAR, TariffTable.WEEKEND, 15.0)
+            .dailyCap(VehicleType.TRUCK, 60.0)
+            .build();
+        TariffPricingStrategy compiled = new TariffPricingStrategy(table);
+
+        Random random = new Random(42);
+        VehicleType[] types = VehicleType.values();
+        long base = LocalDateTime.of(2024, 1, 1, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+        List<Ticket> tickets = new ArrayList<>(count);
+        long[] exits = new long[count];
+        for (int i = 0; i < count; i++) {
+            long entry = base + (long) (random.nextDouble() * 28 * 24 * 3_600_000L);
+            tickets.add(new Ticket("T" + i, null, "P" + i, types[random.nextInt(types.length)], "ENTRY-1", entry));
+            exits[i] = entry + (long) (random.nextDouble() * maxStayHours * 3_600_000L);
+        }
+
+        System.out.printf("=== %,d tickets, stays up to %d h ===%n", count, maxStayHours);
+
+        long start = System.nanoTime();
+        double[] reference = new double[count];
+        for (int i = 0; i < count; i++) {
+            reference[i] = referencePrice(table, tickets.get(i), exits[i]);
+        }
+        long referenceNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        double[] single = new double[count];
+        for (int i = 0; i < count; i++) {
+            single[i] = compiled.calculatePrice(tickets.get(i), exits[i]);
+        }
+        long singleNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        double[] batch = compiled.calculatePrices(tickets, exits);
+        long batchNanos = System.nanoTime() - start;
+
+        int mismatches = 0;
+        for (int i = 0; i < count; i++) {
+            if (Math.abs(reference[i] - single[i]) > 1e-6 || single[i] != batch[i]) {
+                mismatches++;
+            }
+        }
+
+        System.out.printf("%-28s %16s%n", "Pricing", "tickets/sec");
+        System.out.printf("%-28s %,16.0f%n", "Rules, minute by minute", count * 1e9 / referenceNanos);
+        System.out.printf("%-28s %,16.0f%n", "Compiled, one at a time", count * 1e9 / singleNanos);
+        System.out.printf("%-28s %,16.0f%n", "Compiled, batch", count * 1e9 / batchNanos);
+        System.out.println(mismatches == 0 ? "All fees match" : "FEE MISMATCHES: " + mismatches);
+    }
+
+    /**
+     * Straightforward evaluation of the table: what the compiled function must reproduce.
+     */
+    private static double referencePrice(TariffTable table, Ticket ticket, long exitTime) {
+        long stay = exitTime - ticket.getEntryTime();
+        if (stay < table.getGracePeriod().toMillis()) {
+            return 0;
+        }
+        long increment = table.getBillingIncrement().toMillis();
+        long billed = Math.max(1, (stay + increment - 1) / increment) * increment;
+        LocalDateTime t = LocalDateTime.ofInstant(Instant.ofEpochMilli(ticket.getEntryTime()), table.getZone());
+        LocalDateTime end = t.plusNanos(billed * 1_000_000L);
+
+        double total = 0;
+        double today = 0;
+        LocalDate day = t.toLocalDate();
+        while (t.isBefore(end)) {
+            if (!t.toLocalDate().equals(day)) {
+                total += Math.min(today, cap(table, ticket.getVehicleType(), day.getDayOfWeek()));
+                today = 0;
+                day = t.toLocalDate();
+            }
+            // Step to the next whole minute (or the end of the stay)
+            LocalDateTime next = t.withSecond(0).withNano(0).plusMinutes(1);
+            if (next.isAfter(end)) next = end;
+            double hours = Duration.between(t, next).toNanos() / 3.6e12;
+            today += hours * rate(table, ticket.getVehicleType(), t);
+            t = next;
+        }
+        return total + Math.min(today, cap(table, ticket.getVehicleType(), day.getDayOfWeek()));
+    }
+
+    private static double rate(TariffTable table, VehicleType type, LocalDateTime t) {
+        int minute = t.getHour() * 60 + t.getMinute();
+        double rate = 0;
+        for (TariffTable.RateBand band : table.getBands(type)) {
+            int from = band.getFrom().toSecondOfDay() / 60;
+            int to = band.getTo().toSecondOfDay() / 60;
+            boolean matches;
+            if (to > from) {
+                matches = band.getDays().contains(t.getDayOfWeek()) && minute >= from && minute < to;
+            } else {
+                // Wraps past midnight: evening part on the listed day, morning part on the day after
+                matches = (band.getDays().contains(t.getDayOfWeek()) && minute >= from)
+                    || (band.getDays().contains(t.getDayOfWeek().minus(1)) && minute < to);
+            }
+            if (matches) {
+                rate = band.getHourlyRate();
+            }
+        }
+        return rate;
+    }
+
+    private static double cap(TariffTable table, VehicleType type, DayOfWeek day) {
+        double cap = Double.POSITIVE_INFINITY;
+        for (TariffTable.DailyCap rule : table.getCaps(type)) {
+            if (rule.getDays().contains(day)) {
+                cap = rule.getCap();
+            }
+        }
+        return cap;
+    }
+}
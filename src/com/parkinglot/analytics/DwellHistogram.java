@@ -0,0 +1,131 @@
+package com.parkinglot.analytics;
+
+import java.time.Duration;
+
+/**
+ * DwellHistogram - fixed-size log-linear histogram of parking durations (HdrHistogram-style).
+ *
+ * LAYOUT (values in whole seconds):
+ * - 0..127 s:   one bucket per second (exact)
+ * - above:      per power of two, 64 linear sub-buckets -> relative error < 1/64 (~1.6%)
+ * - up to MAX_SECONDS (~97 days), longer stays are clamped into the last bucket
+ *
+ * 1,152 counters whatever the traffic: recording is a shift and an increment,
+ * percentiles are one pass over the counters.
+ *
+ * Not thread-safe: ParkingAnalytics records on its own thread and hands out copies.
+ */
+public class DwellHistogram {
+    private static final int SUB_BUCKETS = 128;
+    private static final int HALF = SUB_BUCKETS / 2;
+    private static final int SUB_BITS = 7;             // log2(SUB_BUCKETS)
+    private static final int BUCKETS = 16;             // powers of two above the linear range
+    public static final long MAX_SECONDS = (1L << (SUB_BITS + BUCKETS)) - 1;
+
+    private final long[] counts = new long[SUB_BUCKETS + (BUCKETS - 1) * HALF + HALF];
+    private long totalCount;
+    private long totalSeconds;
+    private long maxSeconds;
+
+    public DwellHistogram() {
+    }
+
+    private DwellHistogram(DwellHistogram other) {
+        System.arraycopy(other.counts, 0, counts, 0, counts.length);
+        this.totalCount = other.totalCount;
+        this.totalSeconds = other.totalSeconds;
+        this.maxSeconds = other.maxSeconds;
+    }
+
+    public void record(Duration dwell) {
+        recordSeconds(dwell.getSeconds());
+    }
+
+    public void recordSeconds(long seconds) {
+        long value = Math.min(Math.max(seconds, 0), MAX_SECONDS);
+        counts[indexOf(value)]++;
+        totalCount++;
+        totalSeconds += value;
+        maxSeconds = Math.max(maxSeconds, value);
+    }
+
+    public void add(DwellHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        totalSeconds += other.totalSeconds;
+        maxSeconds = Math.max(maxSeconds, other.maxSeconds);
+    }
+
+    public DwellHistogram copy() {
+        return new DwellHistogram(this);
+    }
+
+    // ============ QUERIES ============
+
+    public long getCount() {
+        return totalCount;
+    }
+
+    public double getMeanSeconds() {
+        return totalCount == 0 ? 0 : (double) totalSeconds / totalCount;
+    }
+
+    public long getMaxSeconds() {
+        return maxSeconds;
+    }
+
+    /**
+     * Smallest recorded-bucket value such that 'percentile' % of stays are at or below it.
+     * Reported as the bucket's upper bound (never under-states a dwell time).
+     */
+    public long getSecondsAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueAt(i), maxSeconds);
+            }
+        }
+        return maxSeconds;
+    }
+
+    public Duration getDwellAtPercentile(double percentile) {
+        return Duration.ofSeconds(getSecondsAtPercentile(percentile));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d mean=%.0fs p50=%ds p90=%ds p99=%ds max=%ds", totalCount, getMeanSeconds(),
+            getSecondsAtPercentile(50), getSecondsAtPercentile(90), getSecondsAtPercentile(99), maxSeconds);
+    }
+
+    // ============ BUCKETS ============
+
+    /**
+     * Values below 128 map to themselves; above, bucket b holds [64 << b, 128 << b)
+     * split into 64 sub-buckets of width 1 << b.
+     */
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int bucket = 63 - Long.numberOfLeadingZeros(value) - (SUB_BITS - 1);
+        int sub = (int) (value >>> bucket);                  // 64..127
+        return SUB_BUCKETS + (bucket - 1) * HALF + (sub - HALF);
+    }
+
+    static long highestValueAt(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int bucket = (index - SUB_BUCKETS) / HALF + 1;
+        long sub = (index - SUB_BUCKETS) % HALF + HALF;
+        return ((sub + 1) << bucket) - 1;
+    }
+}
@@ -0,0 +1,36 @@
+package com.parkinglot.analytics;
+
+/**
+ * One tumbling window of a floor's occupancy curve (or of the whole lot).
+ */
+public class OccupancyWindow {
+    private final long windowStart;
+    private final int entries;
+    private final int exits;
+    private final int peakOccupancy;
+    private final int closingOccupancy;
+    private final double revenue;
+
+    OccupancyWindow(long windowStart, int entries, int exits, int peakOccupancy, int closingOccupancy,
+                    double revenue) {
+        this.windowStart = windowStart;
+        this.entries = entries;
+        this.exits = exits;
+        this.peakOccupancy = peakOccupancy;
+        this.closingOccupancy = closingOccupancy;
+        this.revenue = revenue;
+    }
+
+    public long getWindowStart() { return windowStart; }
+    public int getEntries() { return entries; }
+    public int getExits() { return exits; }
+    public int getPeakOccupancy() { return peakOccupancy; }
+    public int getClosingOccupancy() { return closingOccupancy; }
+    public double getRevenue() { return revenue; }
+
+    @Override
+    public String toString() {
+        return String.format("OccupancyWindow{start=%d, in=%d, out=%d, peak=%d, closing=%d, revenue=%.2f}",
+            windowStart, entries, exits, peakOccupancy, closingOccupancy, revenue);
+    }
+}
@@ -0,0 +1,460 @@
+package com.parkinglot.analytics;
+
+import com.parkinglot.enums.VehicleType;
+import com.parkinglot.model.ParkingSpot;
+import com.parkinglot.model.Ticket;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ParkingAnalytics - streaming aggregation of entry/exit events, queryable live.
+ *
+ * PIPELINE:
+ *   gate threads --onEntry/onExit--> lock-free bounded queue --> one aggregator thread --> state
+ * - Gates only allocate a small event and enqueue it (no locks, never blocks);
+ *   when the queue is full the event is dropped and counted, the gate is never slowed down
+ * - The aggregator drains events in batches and updates the state under its own monitor;
+ *   queries take the same monitor briefly and return copies
+ *
+ * STATE (constant memory, independent of traffic):
+ * - Occupancy per floor: running count + ring of the last N tumbling windows
+ *   (entries, exits, peak and closing occupancy, revenue)
+ * - Dwell-time histogram per VehicleType (DwellHistogram, ~1% precision)
+ * - Revenue per VehicleType and per exit gate
+ *
+ * Windows are keyed by event time. Events arrive roughly in time order; a late event
+ * still counts towards totals and its window's entries/exits, or only towards totals
+ * once its window has left the ring.
+ *
+ * Example usage:
+ *   ParkingAnalytics analytics = new ParkingAnalytics.Builder()
+ *       .windowSize(Duration.ofHours(1))
+ *       .windows(24 * 7)
+ *       .build();
+ *   analytics.start();
+ *   lot.setAnalytics(analytics);
+ *   ...
+ *   analytics.getOccupancyCurve("Floor-1");
+ */
+public class ParkingAnalytics implements AutoCloseable {
+    public static final Duration DEFAULT_WINDOW = Duration.ofHours(1);
+    public static final int DEFAULT_WINDOWS = 24 * 7;
+    public static final int DEFAULT_QUEUE_CAPACITY = 1 << 16;
+    private static final int MAX_BATCH = 4096;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final long windowMillis;
+    private final int windowCount;
+    private final int queueCapacity;
+
+    // ---- Hand-off (gate threads -> aggregator) ----
+    private final Queue<Event> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+    private volatile Thread aggregator;
+    private volatile boolean running;
+
+    // ---- Aggregated state (written by the aggregator, guarded by 'this') ----
+    private final Map<String, Integer> floorIndex = new HashMap<>();
+    private final List<String> floorIds = new ArrayList<>();
+    private int[] occupancy = new int[0];
+    private final long[] windowIds;                 // ring slot -> window number (Long.MIN_VALUE = empty)
+    private int[][] windowEntries = new int[0][];   // [floor][slot]
+    private int[][] windowExits = new int[0][];
+    private int[][] windowPeak = new int[0][];
+    private int[][] windowClosing = new int[0][];
+    private double[][] windowRevenue = new double[0][];
+    private long newestWindow = Long.MIN_VALUE;
+    private final Map<VehicleType, DwellHistogram> dwellByType = new EnumMap<>(VehicleType.class);
+    private final Map<VehicleType, Double> revenueByType = new EnumMap<>(VehicleType.class);
+    private final Map<String, Double> revenueByGate = new HashMap<>();
+
+    private ParkingAnalytics(Builder builder) {
+        this.windowMillis = builder.windowSize.toMillis();
+        this.windowCount = builder.windows;
+        this.queueCapacity = builder.queueCapacity;
+        this.windowIds = new long[windowCount];
+        Arrays.fill(windowIds, Long.MIN_VALUE);
+        for (VehicleType type : VehicleType.values()) {
+            dwellByType.put(type, new DwellHistogram());
+            revenueByType.put(type, 0.0);
+        }
+    }
+
+    // ============ LIFECYCLE ============
+
+    public synchronized void start() {
+        if (aggregator != null) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::drainLoop, "parking-analytics");
+        thread.setDaemon(true);
+        aggregator = thread;
+        thread.start();
+    }
+
+    /**
+     * Apply everything already queued, then stop the aggregator.
+     * If the caller is interrupted while waiting, the aggregator still drains and stops
+     * on its own; close() returns early with the interrupt flag restored.
+     */
+    @Override
+    public void close() {
+        Thread thread = aggregator;
+        running = false;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Block until every event accepted before this call has been applied.
+     * @return false on timeout
+     */
+    public boolean flush(Duration timeout) throws InterruptedException {
+        long target = accepted.get();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (applied.get() < target) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            LockSupport.unpark(aggregator);
+            Thread.sleep(1);
+        }
+        return true;
+    }
+
+    // ============ INGEST (gate threads) ============
+
+    /**
+     * A vehicle was given a spot. Never blocks.
+     */
+    public void onEntry(Ticket ticket) {
+        ParkingSpot spot = ticket.getAssignedSpot();
+        publish(new Event(true, ticket.getEntryTime(), spot == null ? null : spot.getFloorId(),
+                          ticket.getVehicleType(), null, 0, 0));
+    }
+
+    /**
+     * A ticket was paid and its vehicle left. Never blocks.
+     */
+    public void onExit(Ticket ticket) {
+        ParkingSpot spot = ticket.getAssignedSpot();
+        publish(new Event(false, ticket.getExitTime(), spot == null ? null : spot.getFloorId(),
+                          ticket.getVehicleType(), ticket.getExitGateId(), ticket.getAmount(),
+                          ticket.getExitTime() - ticket.getEntryTime()));
+    }
+
+    private void publish(Event event) {
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        accepted.incrementAndGet();
+        queue.offer(event);
+    }
+
+    // ============ AGGREGATION (aggregator thread) ============
+
+    private void drainLoop() {
+        List<Event> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            Event event;
+            while (batch.size() < MAX_BATCH && (event = queue.poll()) != null) {
+                batch.add(event);
+            }
+            if (batch.isEmpty()) {
+                if (!running) {
+                    return;
+                }
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            queued.addAndGet(-batch.size());
+            synchronized (this) {
+                for (Event e : batch) {
+                    apply(e);
+                }
+            }
+            applied.addAndGet(batch.size());
+            batch.clear();
+        }
+    }
+
+    private void apply(Event event) {
+        int floor = floorSlot(event.floorId);
+        int delta = event.entry ? 1 : -1;
+        occupancy[floor] = Math.max(0, occupancy[floor] + delta);
+
+        long window = Math.floorDiv(event.time, windowMillis);
+        int slot = (int) Math.floorMod(window, (long) windowCount);
+        if (window > newestWindow) {
+            openWindow(window);
+        }
+        if (windowIds[slot] == window) {
+            if (event.entry) {
+                windowEntries[floor][slot]++;
+            } else {
+                windowExits[floor][slot]++;
+                windowRevenue[floor][slot] += event.fee;
+            }
+            if (window == newestWindow) {
+                windowClosing[floor][slot] = occupancy[floor];
+                windowPeak[floor][slot] = Math.max(windowPeak[floor][slot], occupancy[floor]);
+            }
+        }
+
+        if (!event.entry) {
+            dwellByType.get(event.vehicleType).recordSeconds(event.dwellMillis / 1000);
+            revenueByType.merge(event.vehicleType, event.fee, Double::sum);
+            if (event.gateId != null) {
+                revenueByGate.merge(event.gateId, event.fee, Double::sum);
+            }
+        }
+    }
+
+    /**
+     * Start a new tumbling window: it opens with every floor's current occupancy.
+     */
+    private void openWindow(long window) {
+        int slot = (int) Math.floorMod(window, (long) windowCount);
+        windowIds[slot] = window;
+        for (int f = 0; f < floorIds.size(); f++) {
+            windowEntries[f][slot] = 0;
+            windowExits[f][slot] = 0;
+            windowRevenue[f][slot] = 0;
+            windowPeak[f][slot] = occupancy[f];
+            windowClosing[f][slot] = occupancy[f];
+        }
+        newestWindow = window;
+    }
+
+    private int floorSlot(String floorId) {
+        String key = floorId == null ? "" : floorId;
+        Integer index = floorIndex.get(key);
+        if (index != null) {
+            return index;
+        }
+        int added = floorIds.size();
+        floorIndex.put(key, added);
+        floorIds.add(key);
+        occupancy = Arrays.copyOf(occupancy, added + 1);
+        windowEntries = grow(windowEntries);
+        windowExits = grow(windowExits);
+        windowPeak = grow(windowPeak);
+        windowClosing = grow(windowClosing);
+        windowRevenue = Arrays.copyOf(windowRevenue, added + 1);
+        windowRevenue[added] = new double[windowCount];
+        return added;
+    }
+
+    private int[][] grow(int[][] perFloor) {
+        int[][] grown = Arrays.copyOf(perFloor, perFloor.length + 1);
+        grown[perFloor.length] = new int[windowCount];
+        return grown;
+    }
+
+    // ============ QUERIES ============
+
+    public synchronized int getCurrentOccupancy(String floorId) {
+        Integer floor = floorIndex.get(floorId);
+        return floor == null ? 0 : occupancy[floor];
+    }
+
+    public synchronized int getCurrentOccupancy() {
+        int total = 0;
+        for (int count : occupancy) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Retained windows of one floor, oldest first. Windows without events carry the
+     * previous occupancy forward.
+     */
+    public synchronized List<OccupancyWindow> getOccupancyCurve(String floorId) {
+        Integer floor = floorIndex.get(floorId);
+        return floor == null ? List.of() : curve(new int[] { floor });
+    }
+
+    /**
+     * Retained windows summed over all floors, oldest first.
+     */
+    public synchronized List<OccupancyWindow> getOccupancyCurve() {
+        int[] all = new int[floorIds.size()];
+        for (int f = 0; f < all.length; f++) {
+            all[f] = f;
+        }
+        return curve(all);
+    }
+
+    private List<OccupancyWindow> curve(int[] floors) {
+        List<OccupancyWindow> curve = new ArrayList<>();
+        if (newestWindow == Long.MIN_VALUE) {
+            return curve;
+        }
+        int carried = 0;
+        boolean started = false;
+        for (long window = newestWindow - windowCount + 1; window <= newestWindow; window++) {
+            int slot = (int) Math.floorMod(window, (long) windowCount);
+            if (windowIds[slot] != window) {
+                if (started) {
+                    curve.add(new OccupancyWindow(window * windowMillis, 0, 0, carried, carried, 0));
+                }
+                continue;
+            }
+            int entries = 0, exits = 0, peak = 0, closing = 0;
+            double revenue = 0;
+            for (int f : floors) {
+                entries += windowEntries[f][slot];
+                exits += windowExits[f][slot];
+                peak += windowPeak[f][slot];  // Sum of floor peaks: an upper bound for the lot
+                closing += windowClosing[f][slot];
+                revenue += windowRevenue[f][slot];
+            }
+            curve.add(new OccupancyWindow(window * windowMillis, entries, exits, peak, closing, revenue));
+            carried = closing;
+            started = true;
+        }
+        return curve;
+    }
+
+    /**
+     * Revenue per retained window across the lot: window start (epoch millis) -> revenue.
+     */
+    public synchronized SortedMap<Long, Double> getRevenuePerWindow() {
+        SortedMap<Long, Double> revenue = new TreeMap<>();
+        for (OccupancyWindow window : getOccupancyCurve()) {
+            revenue.put(window.getWindowStart(), window.getRevenue());
+        }
+        return revenue;
+    }
+
+    public synchronized Map<VehicleType, Double> getRevenueByVehicleType() {
+        return new EnumMap<>(revenueByType);
+    }
+
+    public synchronized Map<String, Double> getRevenueByGate() {
+        return new HashMap<>(revenueByGate);
+    }
+
+    public synchronized DwellHistogram getDwellHistogram(VehicleType type) {
+        return dwellByType.get(type).copy();
+    }
+
+    /**
+     * Dwell times of every vehicle type combined.
+     */
+    public synchronized DwellHistogram getDwellHistogram() {
+        DwellHistogram all = new DwellHistogram();
+        for (DwellHistogram histogram : dwellByType.values()) {
+            all.add(histogram);
+        }
+        return all;
+    }
+
+    public synchronized List<String> getFloorIds() {
+        return new ArrayList<>(floorIds);
+    }
+
+    public long getAppliedEvents() {
+        return applied.get();
+    }
+
+    /**
+     * Events turned away because the queue was full (aggregator falling behind).
+     */
+    public long getDroppedEvents() {
+        return dropped.get();
+    }
+
+    public Duration getWindowSize() {
+        return Duration.ofMillis(windowMillis);
+    }
+
+    // ============ EVENT ============
+
+    private static class Event {
+        final boolean entry;
+        final long time;
+        final String floorId;
+        final VehicleType vehicleType;
+        final String gateId;      // exit gate (exits only)
+        final double fee;         // exits only
+        final long dwellMillis;   // exits only
+
+        Event(boolean entry, long time, String floorId, VehicleType vehicleType, String gateId,
+              double fee, long dwellMillis) {
+            this.entry = entry;
+            this.time = time;
+            this.floorId = floorId;
+            this.vehicleType = vehicleType;
+            this.gateId = gateId;
+            this.fee = fee;
+            this.dwellMillis = dwellMillis;
+        }
+    }
+
+    // ============ BUILDER ============
+
+    /**
+     * Builder for fluent ParkingAnalytics creation.
+     */
+    public static class Builder {
+        private Duration windowSize = DEFAULT_WINDOW;
+        private int windows = DEFAULT_WINDOWS;
+        private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+        /**
+         * Length of one tumbling window (default 1 hour).
+         */
+        public Builder windowSize(Duration windowSize) {
+            if (windowSize.toMillis() <= 0) {
+                throw new IllegalArgumentException("Window size must be positive");
+            }
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * Windows kept per floor (default one week of hours).
+         */
+        public Builder windows(int windows) {
+            if (windows <= 0) {
+                throw new IllegalArgumentException("Need at least one window");
+            }
+            this.windows = windows;
+            return this;
+        }
+
+        /**
+         * Events that may wait for the aggregator before new ones are dropped.
+         */
+        public Builder queueCapacity(int queueCapacity) {
+            if (queueCapacity <= 0) {
+                throw new IllegalArgumentException("Queue capacity must be positive");
+            }
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        public ParkingAnalytics build() {
+            return new ParkingAnalytics(this);
+        }
+    }
+}
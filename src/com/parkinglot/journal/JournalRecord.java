@@ -0,0 +1,92 @@
+package com.parkinglot.journal;
+
+import com.parkinglot.enums.VehicleType;
+import java.io.*;
+
+/**
+ * One entry/exit event in the ticket journal.
+ *
+ * Binary layout inside a journal segment:
+ *   [int payloadLength][int crc32(payload)][payload]
+ * A zero length or a CRC mismatch marks the end of valid data (torn write on crash).
+ */
+public class JournalRecord {
+    public enum Type { ENTRY, EXIT }
+
+    private final Type type;
+    private final String ticketId;
+    private final long time;
+    // ENTRY only
+    private final String licensePlate;
+    private final VehicleType vehicleType;
+    private final String floorId;
+    private final String spotId;
+    private final String entryGateId;
+
+    private JournalRecord(Type type, String ticketId, long time, String licensePlate,
+                          VehicleType vehicleType, String floorId, String spotId, String entryGateId) {
+        this.type = type;
+        this.ticketId = ticketId;
+        this.time = time;
+        this.licensePlate = licensePlate;
+        this.vehicleType = vehicleType;
+        this.floorId = floorId;
+        this.spotId = spotId;
+        this.entryGateId = entryGateId;
+    }
+
+    public static JournalRecord entry(String ticketId, long entryTime, String licensePlate,
+                                      VehicleType vehicleType, String floorId, String spotId,
+                                      String entryGateId) {
+        return new JournalRecord(Type.ENTRY, ticketId, entryTime, licensePlate,
+                                 vehicleType, floorId, spotId, entryGateId);
+    }
+
+    public static JournalRecord exit(String ticketId, long exitTime) {
+        return new JournalRecord(Type.EXIT, ticketId, exitTime, null, null, null, null, null);
+    }
+
+    byte[] encode() {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(type.ordinal());
+            out.writeUTF(ticketId);
+            out.writeLong(time);
+            if (type == Type.ENTRY) {
+                out.writeUTF(licensePlate);
+                out.writeByte(vehicleType.ordinal());
+                out.writeUTF(floorId);
+                out.writeUTF(spotId);
+                out.writeUTF(entryGateId == null ? "" : entryGateId);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);  // Cannot happen for an in-memory stream
+        }
+    }
+
+    static JournalRecord decode(DataInput in) throws IOException {
+        Type type = Type.values()[in.readByte()];
+        String ticketId = in.readUTF();
+        long time = in.readLong();
+        if (type == Type.EXIT) {
+            return exit(ticketId, time);
+        }
+        String plate = in.readUTF();
+        VehicleType vehicleType = VehicleType.values()[in.readByte()];
+        String floorId = in.readUTF();
+        String spotId = in.readUTF();
+        String gateId = in.readUTF();
+        return entry(ticketId, time, plate, vehicleType, floorId, spotId, gateId.isEmpty() ? null : gateId);
+    }
+
+    public Type getType() { return type; }
+    public String getTicketId() { return ticketId; }
+    public long getTime() { return time; }
+    public String getLicensePlate() { return licensePlate; }
+    public VehicleType getVehicleType() { return vehicleType; }
+    public String getFloorId() { return floorId; }
+    public String getSpotId() { return spotId; }
+    public String getEntryGateId() { return entryGateId; }
+}
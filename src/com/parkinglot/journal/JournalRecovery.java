@@ -0,0 +1,214 @@
+package com.parkinglot.journal;
+
+import com.parkinglot.enums.SpotType;
+import com.parkinglot.enums.VehicleType;
+import com.parkinglot.model.*;
+import com.parkinglot.service.ParkingLot;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Rebuilds ParkingLot occupancy after a restart from a TicketJournal directory.
+ *
+ * STEPS:
+ * 1. Load the newest readable snapshot-<S>.snap (active tickets at the start of gen S)
+ * 2. Replay journal-<g>.log for every g >= S, stopping each file at the first
+ *    zero length / bad CRC (the torn tail of the last write before the crash)
+ * 3. Apply the surviving active tickets to the floors: claim the exact spot,
+ *    park a vehicle in it, register the ticket
+ *
+ * Steps 1-2 only touch an in-memory map, so the lot is rebuilt once,
+ * in a single pass over the survivors - no enter/exit churn.
+ *
+ * Call on a freshly built lot (floors and spots added, no vehicles) BEFORE
+ * opening a new TicketJournal on the same directory and attaching it.
+ */
+public class JournalRecovery {
+
+    public static Result recover(Path directory, ParkingLot lot) throws IOException {
+        long start = System.nanoTime();
+
+        // ticketId -> ENTRY record, in entry order
+        Map<String, JournalRecord> active = new LinkedHashMap<>();
+        int snapshotGen = loadLatestSnapshot(directory, active);
+
+        int replayed = 0;
+        for (int gen : TicketJournal.generations(directory, "journal-", ".log")) {
+            if (gen >= snapshotGen) {
+                replayed += replay(directory.resolve(TicketJournal.journalName(gen)), active);
+            }
+        }
+
+        int restored = 0;
+        int conflicts = 0;
+        Map<String, ParkingFloor> floorsById = new HashMap<>();
+        for (ParkingFloor floor : lot.getFloors()) {
+            floorsById.put(floor.getFloorId(), floor);
+        }
+        Map<String, ParkingSpot> spotsById = indexSpots(lot);
+        for (JournalRecord entry : active.values()) {
+            ParkingSpot spot = spotsById.get(entry.getSpotId());
+            if (spot == null || !restore(lot, floorsById.get(spot.getFloorId()), spot, entry)) {
+                conflicts++;  // Layout changed or spot double-booked in the log
+                continue;
+            }
+            restored++;
+        }
+
+        return new Result(snapshotGen, replayed, restored, conflicts, System.nanoTime() - start);
+    }
+
+    // ============ READING ============
+
+    /**
+     * @return generation of the loaded snapshot, or 0 if there is none (replay everything)
+     */
+    private static int loadLatestSnapshot(Path directory, Map<String, JournalRecord> active) throws IOException {
+        List<Integer> gens = TicketJournal.generations(directory, "snapshot-", ".snap");
+        for (int i = gens.size() - 1; i >= 0; i--) {
+            int gen = gens.get(i);
+            Map<String, JournalRecord> loaded = readSnapshot(directory.resolve(TicketJournal.snapshotName(gen)), gen);
+            if (loaded != null) {
+                active.putAll(loaded);
+                return gen;
+            }
+            // Corrupt snapshot: fall back to an older one (its journals may still be there)
+        }
+        return 0;
+    }
+
+    private static Map<String, JournalRecord> readSnapshot(Path file, int expectedGen) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.remaining() < 12 || buffer.getInt() != TicketJournal.SNAPSHOT_MAGIC
+                || buffer.getInt() != expectedGen) {
+            return null;
+        }
+        int count = buffer.getInt();
+        Map<String, JournalRecord> records = new LinkedHashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            JournalRecord record = next(buffer);
+            if (record == null) {
+                return null;  // Truncated: snapshots are all-or-nothing
+            }
+            records.put(record.getTicketId(), record);
+        }
+        return records;
+    }
+
+    private static int replay(Path file, Map<String, JournalRecord> active) throws IOException {
+        int count = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            JournalRecord record;
+            while ((record = next(buffer)) != null) {
+                // Idempotent: duplicates (snapshot overlap) are harmless
+                if (record.getType() == JournalRecord.Type.ENTRY) {
+                    active.putIfAbsent(record.getTicketId(), record);
+                } else {
+                    active.remove(record.getTicketId());
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Next framed record, or null at the end of valid data.
+     */
+    private static JournalRecord next(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < 8) {
+            return null;
+        }
+        int length = buffer.getInt();
+        int crc = buffer.getInt();
+        if (length <= 0 || length > buffer.remaining()) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        buffer.get(payload);
+        CRC32 check = new CRC32();
+        check.update(payload);
+        if ((int) check.getValue() != crc) {
+            return null;
+        }
+        return JournalRecord.decode(new DataInputStream(new ByteArrayInputStream(payload)));
+    }
+
+    // ============ APPLYING ============
+
+    private static Map<String, ParkingSpot> indexSpots(ParkingLot lot) {
+        Map<String, ParkingSpot> spots = new HashMap<>();
+        for (ParkingFloor floor : lot.getFloors()) {
+            for (SpotType type : SpotType.values()) {
+                for (ParkingSpot spot : floor.getSpots(type)) {
+                    spots.put(spot.getId(), spot);
+                }
+            }
+        }
+        return spots;
+    }
+
+    private static boolean restore(ParkingLot lot, ParkingFloor floor, ParkingSpot spot, JournalRecord entry) {
+        if (floor == null || !floor.claimSpot(spot)) {
+            return false;
+        }
+        if (!spot.assignVehicle(vehicleFor(entry.getLicensePlate(), entry.getVehicleType()))) {
+            floor.returnSpot(spot);
+            return false;
+        }
+        Ticket ticket = new Ticket(entry.getTicketId(), spot, entry.getLicensePlate(),
+                                   entry.getVehicleType(), entry.getEntryGateId(), entry.getTime());
+        if (!lot.getTicketRegistry().register(ticket)) {
+            lot.returnSpot(spot);  // Same plate twice: keep the first
+            return false;
+        }
+        return true;
+    }
+
+    private static Vehicle vehicleFor(String plate, VehicleType type) {
+        switch (type) {
+            case CAR: return new Car(plate);
+            case TRUCK: return new Truck(plate);
+            case BIKE: return new Bike(plate);
+            default: return new Vehicle(plate, type) {};
+        }
+    }
+
+    // ============ RESULT ============
+
+    public static class Result {
+        private final int snapshotGeneration;
+        private final int recordsReplayed;
+        private final int ticketsRestored;
+        private final int conflicts;
+        private final long elapsedNanos;
+
+        Result(int snapshotGeneration, int recordsReplayed, int ticketsRestored, int conflicts, long elapsedNanos) {
+            this.snapshotGeneration = snapshotGeneration;
+            this.recordsReplayed = recordsReplayed;
+            this.ticketsRestored = ticketsRestored;
+            this.conflicts = conflicts;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getSnapshotGeneration() { return snapshotGeneration; }
+        public int getRecordsReplayed() { return recordsReplayed; }
+        public int getTicketsRestored() { return ticketsRestored; }
+        public int getConflicts() { return conflicts; }
+        public long getElapsedNanos() { return elapsedNanos; }
+
+        @Override
+        public String toString() {
+            return String.format("Recovered %d tickets (snapshot gen %d, %d journal records, %d conflicts) in %.1f ms",
+                ticketsRestored, snapshotGeneration, recordsReplayed, conflicts, elapsedNanos / 1e6);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.parkinglot.journal;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * TicketJournal - append-only, memory-mapped log of entry/exit events.
+ *
+ * FILES (all in one directory):
+ * - journal-<gen>.log   fixed-size mapped segment, records appended back to back
+ * - snapshot-<gen>.snap active tickets at the START of journal generation <gen>
+ *
+ * GROUP COMMIT:
+ * - append() copies the record into the mapping under a short lock (no syscall)
+ * - one background flusher calls force() for everything appended so far,
+ *   then wakes every appender waiting on that batch
+ * - so N concurrent gates share one fsync instead of paying N
+ *
+ * SNAPSHOTS:
+ * - rotate to a new generation, then capture the active tickets, then delete older files
+ * - replay is idempotent (ENTRY for a known ticket / EXIT for an unknown one are ignored),
+ *   so events racing with the capture are safe in either file
+ */
+public class TicketJournal implements Closeable {
+    public static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+    static final int SNAPSHOT_MAGIC = 0x534E4150;  // "SNAP"
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final boolean waitForDurable;
+
+    // Guarded by appendLock
+    private final Object appendLock = new Object();
+    private int generation;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long appendedSeq;
+    private boolean closed;
+
+    // Guarded by durableLock
+    private final Object durableLock = new Object();
+    private long durableSeq;
+
+    private final Object snapshotLock = new Object();
+    private final Thread flusher;
+    private ScheduledExecutorService snapshotScheduler;
+
+    public TicketJournal(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_BYTES, true);
+    }
+
+    /**
+     * @param waitForDurable if true, append() returns only once its record is on disk (group-committed)
+     */
+    public TicketJournal(Path directory, int segmentBytes, boolean waitForDurable) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.waitForDurable = waitForDurable;
+        Files.createDirectories(directory);
+
+        // Never reuse an existing generation: old files stay readable for recovery
+        List<Integer> existing = generations(directory, "journal-", ".log");
+        openSegment(existing.isEmpty() ? 1 : existing.get(existing.size() - 1) + 1);
+
+        this.flusher = new Thread(this::flushLoop, "ticket-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    // ============ APPEND ============
+
+    public void append(JournalRecord record) {
+        byte[] payload = record.encode();
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        long seq;
+        synchronized (appendLock) {
+            if (closed) {
+                throw new IllegalStateException("Journal is closed");
+            }
+            if (segment.remaining() < 8 + payload.length + 4) {  // keep room for a zero terminator
+                rotateLocked();
+            }
+            segment.putInt(payload.length);
+            segment.putInt((int) crc.getValue());
+            segment.put(payload);
+            seq = ++appendedSeq;
+            appendLock.notify();  // wake the flusher
+        }
+
+        if (waitForDurable) {
+            awaitDurable(seq);
+        }
+    }
+
+    private void awaitDurable(long seq) {
+        synchronized (durableLock) {
+            while (durableSeq < seq) {
+                try {
+                    durableLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            MappedByteBuffer toForce;
+            long target;
+            synchronized (appendLock) {
+                while (appendedSeq == durableSeqSnapshot() && !closed) {
+                    try {
+                        appendLock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (closed && appendedSeq == durableSeqSnapshot()) {
+                    return;
+                }
+                toForce = segment;
+                target = appendedSeq;
+            }
+
+            toForce.force();  // One fsync for the whole batch
+            markDurable(target);
+        }
+    }
+
+    private long durableSeqSnapshot() {
+        synchronized (durableLock) {
+            return durableSeq;
+        }
+    }
+
+    private void markDurable(long seq) {
+        synchronized (durableLock) {
+            if (seq > durableSeq) {
+                durableSeq = seq;
+                durableLock.notifyAll();
+            }
+        }
+    }
+
+    // ============ SEGMENTS ============
+
+    private void openSegment(int gen) throws IOException {
+        Path file = directory.resolve(journalName(gen));
+        FileChannel newChannel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.segment = newChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        this.channel = newChannel;
+        this.generation = gen;
+    }
+
+    /**
+     * Seal the current segment (force it) and continue in the next generation.
+     */
+    private void rotateLocked() {
+        try {
+            segment.force();
+            markDurable(appendedSeq);
+            channel.close();
+            openSegment(generation + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot rotate ticket journal", e);
+        }
+    }
+
+    // ============ SNAPSHOTS ============
+
+    /**
+     * Write a snapshot of the active tickets and drop the files it supersedes.
+     *
+     * @param capture supplies ENTRY records for every active ticket; called AFTER rotation
+     */
+    public void snapshot(Supplier<Collection<JournalRecord>> capture) throws IOException {
+        synchronized (snapshotLock) {
+            int gen;
+            synchronized (appendLock) {
+                rotateLocked();
+                gen = generation;
+            }
+            Collection<JournalRecord> active = capture.get();
+
+            Path tmp = directory.resolve(snapshotName(gen) + ".tmp");
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(12);
+                header.putInt(SNAPSHOT_MAGIC).putInt(gen).putInt(active.size()).flip();
+                out.write(header);
+                for (JournalRecord record : active) {
+                    byte[] payload = record.encode();
+                    CRC32 crc = new CRC32();
+                    crc.update(payload);
+                    ByteBuffer framed = ByteBuffer.allocate(8 + payload.length);
+                    framed.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+                    out.write(framed);
+                }
+                out.force(true);
+            }
+            Files.move(tmp, directory.resolve(snapshotName(gen)),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            // Everything before 'gen' is now covered by the snapshot
+            for (int old : generations(directory, "journal-", ".log")) {
+                if (old < gen) Files.deleteIfExists(directory.resolve(journalName(old)));
+            }
+            for (int old : generations(directory, "snapshot-", ".snap")) {
+                if (old < gen) Files.deleteIfExists(directory.resolve(snapshotName(old)));
+            }
+        }
+    }
+
+    /**
+     * Take a snapshot every 'interval' on a background thread.
+     */
+    public synchronized void startPeriodicSnapshots(Duration interval, Supplier<Collection<JournalRecord>> capture) {
+        if (snapshotScheduler != null) {
+            throw new IllegalStateException("Periodic snapshots already running");
+        }
+        snapshotScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ticket-journal-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+        snapshotScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot(capture);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Ticket journal snapshot failed: " + e);
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (snapshotScheduler != null) {
+                snapshotScheduler.shutdownNow();
+            }
+        }
+        synchronized (appendLock) {
+            if (closed) return;
+            closed = true;
+            segment.force();
+            markDurable(appendedSeq);
+            channel.close();
+            appendLock.notifyAll();
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    // ============ FILE NAMING (shared with JournalRecovery) ============
+
+    static String journalName(int gen) {
+        return String.format("journal-%06d.log", gen);
+    }
+
+    static String snapshotName(int gen) {
+        return String.format("snapshot-%06d.snap", gen);
+    }
+
+    /**
+     * Generation numbers of files named prefix + number + suffix, ascending.
+     */
+    static List<Integer> generations(Path directory, String prefix, String suffix) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(p -> p.getFileName().toString())
+                .filter(n -> n.startsWith(prefix) && n.endsWith(suffix))
+                .map(n -> Integer.parseInt(n.substring(prefix.length(), n.length() - suffix.length())))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.parkinglot.model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A node in the availability counter tree:
+ *   floor/type counter  ->  garage/type counter
+ * 
+ * Every change is applied to this node and then to each ancestor, so any
+ * level answers "how many free spots" with one atomic read - no scanning.
+ */
+public class AvailabilityCounter {
+    private final AtomicInteger count = new AtomicInteger();
+    private volatile AvailabilityCounter parent;
+    
+    public int get() {
+        return count.get();
+    }
+    
+    void add(int delta) {
+        count.addAndGet(delta);
+        AvailabilityCounter p = parent;
+        if (p != null) {
+            p.add(delta);
+        }
+    }
+    
+    /**
+     * Hook this counter under a parent, carrying over its current value.
+     * Done once at setup time (e.g. ParkingLot.addFloor).
+     */
+    public synchronized void attachTo(AvailabilityCounter parent) {
+        if (this.parent != null) {
+            throw new IllegalStateException("Counter already attached");
+        }
+        this.parent = parent;
+        parent.add(count.get());
+    }
+}
@@ -13,9 +13,18 @@ import com.parkinglot.service.ParkingLot;
  * - Display spot assignment on LED board
  */
 public class EntryGate extends Gate {
+    private final ParkingLot lot;  // null = the ParkingLot singleton
     
     public EntryGate(String id) {
+        this(id, null);
+    }
+    
+    /**
+     * Gate of a specific lot (multi-lot hosts, see ParkingFederation).
+     */
+    public EntryGate(String id, ParkingLot lot) {
         super(id);
+        this.lot = lot;
     }
     
     /**
@@ -23,6 +32,10 @@ public class EntryGate extends Gate {
      * The ticket records which gate was used for entry.
      */
     public Ticket generateTicket(Vehicle vehicle) {
-        return ParkingLot.getInstance().getTicket(vehicle, this.getId());
+        return lot().getTicket(vehicle, this.getId());
+    }
+    
+    private ParkingLot lot() {
+        return lot != null ? lot : ParkingLot.getInstance();
     }
 }
@@ -12,18 +12,63 @@ import com.parkinglot.strategy.PricingStrategy;
  * 4. Releasing the parking spot
  * 5. Recording which gate was used for exit
  * 
+ * Lost tickets are recovered by license plate from the ParkingLot's ticket
+ * registry and charged the normal fee plus a lost-ticket fee.
+ * 
  * In a real system, this would also:
  * - Control the physical barrier
  * - Integrate with payment terminals
- * - Handle lost ticket scenarios
  */
 public class ExitGate extends Gate {
+    public static final double DEFAULT_LOST_TICKET_FEE = 20.0;
     
     private PricingStrategy pricingStrategy;
+    private double lostTicketFee;
+    private final ParkingLot lot;  // null = the ParkingLot singleton
     
     public ExitGate(String id, PricingStrategy pricingStrategy) {
+        this(id, pricingStrategy, DEFAULT_LOST_TICKET_FEE);
+    }
+    
+    public ExitGate(String id, PricingStrategy pricingStrategy, double lostTicketFee) {
+        this(id, pricingStrategy, lostTicketFee, null);
+    }
+    
+    /**
+     * Gate of a specific lot (multi-lot hosts, see ParkingFederation).
+     */
+    public ExitGate(String id, PricingStrategy pricingStrategy, ParkingLot lot) {
+        this(id, pricingStrategy, DEFAULT_LOST_TICKET_FEE, lot);
+    }
+    
+    public ExitGate(String id, PricingStrategy pricingStrategy, double lostTicketFee, ParkingLot lot) {
         super(id);
         this.pricingStrategy = pricingStrategy;
+        this.lostTicketFee = lostTicketFee;
+        this.lot = lot;
+    }
+    
+    /**
+     * Process an exit for a scanned ticket id.
+     */
+    public ExitResult processExit(String ticketId) {
+        Ticket ticket = lot().findTicket(ticketId);
+        if (ticket == null) {
+            return new ExitResult(false, 0, "Unknown ticket: " + ticketId);
+        }
+        return processExit(ticket);
+    }
+    
+    /**
+     * Driver has no ticket: find it by license plate, mark it LOST and charge the lost-ticket fee.
+     */
+    public ExitResult processLostTicket(String licensePlate) {
+        Ticket ticket = lot().findActiveTicket(licensePlate);
+        if (ticket == null) {
+            return new ExitResult(false, 0, "No vehicle inside with plate " + licensePlate);
+        }
+        ticket.markLost();
+        return processExit(ticket);
     }
     
     /**
@@ -42,22 +87,27 @@ public class ExitGate extends Gate {
             return new ExitResult(false, 0, "Ticket already paid");
         }
         
+        // 2. Calculate fee (lost tickets pay a penalty on top)
+        long exitTime = System.currentTimeMillis();
+        double fee = pricingStrategy.calculatePrice(ticket, exitTime);
         if (ticket.getStatus() == TicketStatus.LOST) {
-            // Could apply lost ticket fee here
-            return new ExitResult(false, 0, "Lost ticket - please see attendant");
+            fee += lostTicketFee;
         }
         
-        // 2. Calculate fee
-        double fee = pricingStrategy.calculatePrice(ticket);
+        // Close the ticket in the registry - fails if another gate already closed it
+        if (!lot().checkOut(ticket, exitTime)) {
+            return new ExitResult(false, 0, "Ticket already paid or unknown");
+        }
         
         // 3. Mark ticket as paid (in real system, this would be after payment confirmation)
-        ticket.markPaid(fee, System.currentTimeMillis(), this.getId());
+        ticket.markPaid(fee, exitTime, this.getId());
+        lot().onTicketPaid(ticket);
         
         // 4. Release the parking spot
         // Note: ParkingFloor.returnSpot() handles removeVehicle() internally
         ParkingSpot spot = ticket.getAssignedSpot();
         if (spot != null) {
-            ParkingLot.getInstance().returnSpot(spot);
+            lot().returnSpot(spot);
         }
         
         // 5. Return result
@@ -67,6 +117,10 @@ public class ExitGate extends Gate {
             ". Fee: $" + fee);
     }
     
+    private ParkingLot lot() {
+        return lot != null ? lot : ParkingLot.getInstance();
+    }
+    
     /**
      * Result object for exit operation.
      */
@@ -0,0 +1,141 @@
+package com.parkinglot.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free occupancy bitmap for the spots of ONE type on ONE floor.
+ * 
+ * - Bit i set   = slot i is free
+ * - claim:   find the lowest set bit, clear it with CAS      -> O(words)
+ * - release: set the bit with CAS                            -> O(1)
+ * - count:   AvailabilityCounter kept in step with the bits  -> O(1)
+ * 
+ * Slots are added at setup time (ParkingFloor.addSpot). Growing copies the
+ * arrays, so spots must not be added while gates are claiming.
+ */
+public class FreeSpotBitmap {
+    private volatile Slots slots = new Slots(new AtomicLongArray(1), new ParkingSpot[64]);
+    private int size;
+    private final AvailabilityCounter freeCount = new AvailabilityCounter();
+    
+    /**
+     * Register a new (free) spot and return its slot index.
+     */
+    synchronized int add(ParkingSpot spot) {
+        Slots current = slots;
+        if (size == current.spots.length) {
+            current = current.grow();
+        }
+        int index = size++;
+        current.spots[index] = spot;
+        current.words.getAndAccumulate(index >>> 6, 1L << index, (w, bit) -> w | bit);
+        slots = current;  // volatile write publishes the new spot
+        freeCount.add(1);
+        return index;
+    }
+    
+    /**
+     * Atomically take the lowest-numbered free spot.
+     * @return the spot, or null if none is free
+     */
+    ParkingSpot claimFirstFree() {
+        if (freeCount.get() == 0) {
+            return null;
+        }
+        Slots current = slots;
+        AtomicLongArray words = current.words;
+        for (int w = 0; w < words.length(); w++) {
+            long word = words.get(w);
+            while (word != 0) {
+                long bit = Long.lowestOneBit(word);
+                if (words.compareAndSet(w, word, word & ~bit)) {
+                    freeCount.add(-1);
+                    return current.spots[(w << 6) + Long.numberOfTrailingZeros(bit)];
+                }
+                word = words.get(w);  // Lost the race, retry this word
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Atomically take one specific slot.
+     * @return true if it was free and is now claimed
+     */
+    boolean claim(int index) {
+        AtomicLongArray words = slots.words;
+        long bit = 1L << index;
+        while (true) {
+            long word = words.get(index >>> 6);
+            if ((word & bit) == 0) {
+                return false;
+            }
+            if (words.compareAndSet(index >>> 6, word, word & ~bit)) {
+                freeCount.add(-1);
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Mark a slot free again.
+     * @return false if it was already free (double release)
+     */
+    boolean release(int index) {
+        AtomicLongArray words = slots.words;
+        long bit = 1L << index;
+        while (true) {
+            long word = words.get(index >>> 6);
+            if ((word & bit) != 0) {
+                return false;
+            }
+            if (words.compareAndSet(index >>> 6, word, word | bit)) {
+                freeCount.add(1);
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Every registered spot, free or not, in slot order.
+     */
+    synchronized List<ParkingSpot> allSpots() {
+        return Arrays.asList(Arrays.copyOf(slots.spots, size));
+    }
+    
+    public boolean isFree(int index) {
+        return (slots.words.get(index >>> 6) & (1L << index)) != 0;
+    }
+    
+    public int getFreeCount() {
+        return freeCount.get();
+    }
+    
+    public AvailabilityCounter getCounter() {
+        return freeCount;
+    }
+    
+    /**
+     * Words and spots are swapped together so a reader never sees one without the other.
+     */
+    private static class Slots {
+        final AtomicLongArray words;
+        final ParkingSpot[] spots;
+        
+        Slots(AtomicLongArray words, ParkingSpot[] spots) {
+            this.words = words;
+            this.spots = spots;
+        }
+        
+        Slots grow() {
+            ParkingSpot[] biggerSpots = Arrays.copyOf(spots, spots.length * 2);
+            AtomicLongArray biggerWords = new AtomicLongArray(biggerSpots.length >>> 6);
+            for (int i = 0; i < words.length(); i++) {
+                biggerWords.set(i, words.get(i));
+            }
+            return new Slots(biggerWords, biggerSpots);
+        }
+    }
+}
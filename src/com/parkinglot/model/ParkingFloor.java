@@ -4,53 +4,108 @@ import com.parkinglot.enums.SpotType;
 import com.parkinglot.enums.VehicleType;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ParkingFloor {
     private String floorId;
-    // Map of SpotType to a Queue of Free Spots.
-    // Using ConcurrentLinkedDeque for thread-safe non-blocking access.
-    private Map<SpotType, Deque<ParkingSpot>> freeSpots;
+    // Map of SpotType to a lock-free bitmap of free spots.
+    // Claiming a spot is a CAS on one bit; free counts are O(1) atomic reads.
+    private Map<SpotType, FreeSpotBitmap> freeSpots;
     private Map<String, ParkingSpot> occupiedSpots;
+    
+    // Live occupancy across all spot types, for load-balancing strategies.
+    // Plain atomics (not occupiedSpots.size()) so a read is a single volatile load.
+    private AtomicInteger totalSpots;
+    private AtomicInteger occupiedCount;
 
     public ParkingFloor(String floorId) {
         this.floorId = floorId;
-        this.freeSpots = new ConcurrentHashMap<>();
+        this.freeSpots = new EnumMap<>(SpotType.class);
         this.occupiedSpots = new ConcurrentHashMap<>();
+        this.totalSpots = new AtomicInteger();
+        this.occupiedCount = new AtomicInteger();
         
-        // Initialize queues for each spot type
+        // Initialize bitmaps for each spot type (never modified afterwards, so EnumMap is safe)
         for (SpotType type : SpotType.values()) {
-            freeSpots.put(type, new ConcurrentLinkedDeque<>());
+            freeSpots.put(type, new FreeSpotBitmap());
         }
     }
 
     public void addSpot(ParkingSpot spot) {
-        freeSpots.get(spot.getType()).add(spot);
+        spot.setFloorId(floorId);
+        spot.setSlotIndex(freeSpots.get(spot.getType()).add(spot));
+        totalSpots.incrementAndGet();
     }
 
     /**
      * Tries to book a spot of a specific type.
      * This is where concurrency is handled.
+     * Claims the slot only - the caller parks the vehicle; assignSpot() does both.
      */
     public ParkingSpot getSpot(SpotType type) {
-        Deque<ParkingSpot> spots = freeSpots.get(type);
-        if (spots == null || spots.isEmpty()) {
-            return null;
-        }
-        
-        // Poll retrieves and removes the head of the queue.
-        // This is atomic for ConcurrentLinkedDeque.
-        ParkingSpot spot = spots.poll();
+        // Lowest free slot, claimed with a single CAS.
+        // Returns immediately (no scan) when the free counter is 0.
+        ParkingSpot spot = freeSpots.get(type).claimFirstFree();
         if (spot != null) {
             occupiedSpots.put(spot.getId(), spot);
+            occupiedCount.incrementAndGet();
         }
         return spot;
     }
 
+    /**
+     * Tries to book one specific spot (used by strategies that pick the spot themselves).
+     * @return true if the spot was free and now belongs to the caller
+     */
+    public boolean claimSpot(ParkingSpot spot) {
+        if (!floorId.equals(spot.getFloorId())) {
+            return false;
+        }
+        if (freeSpots.get(spot.getType()).claim(spot.getSlotIndex())) {
+            occupiedSpots.put(spot.getId(), spot);
+            occupiedCount.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reserve a free spot of this type AND park the vehicle in it, as one operation.
+     * 
+     * The slot is claimed in the bitmap (CAS), then the vehicle is placed with the
+     * spot's own CAS. If that second CAS fails, the spot is physically occupied
+     * even though its slot looked free (someone parked there without going through
+     * the floor): it is kept as occupied - so its occupant's exit frees it - and the
+     * next free slot is tried. Every retry consumes one stale slot, so the loop is
+     * bounded by the number of free slots.
+     * 
+     * @return the spot now holding the vehicle, or null if no spot of this type is free
+     */
+    public ParkingSpot assignSpot(SpotType type, Vehicle vehicle) {
+        ParkingSpot spot;
+        while ((spot = freeSpots.get(type).claimFirstFree()) != null) {
+            occupiedSpots.put(spot.getId(), spot);
+            occupiedCount.incrementAndGet();
+            if (spot.assignVehicle(vehicle)) {
+                return spot;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Reserve one specific spot and park the vehicle in it, as one operation.
+     * @return false if the spot is not free (it then stays with its current occupant)
+     */
+    public boolean assignSpot(ParkingSpot spot, Vehicle vehicle) {
+        return claimSpot(spot) && spot.assignVehicle(vehicle);
+    }
+
     public void returnSpot(ParkingSpot spot) {
         if (occupiedSpots.remove(spot.getId()) != null) {
             spot.removeVehicle();
-            freeSpots.get(spot.getType()).add(spot);
+            occupiedCount.decrementAndGet();  // Before the slot is visible as free, so the count never overshoots
+            freeSpots.get(spot.getType()).release(spot.getSlotIndex());
         }
     }
 
@@ -59,6 +114,43 @@ public class ParkingFloor {
     }
     
     public boolean hasSpace(SpotType type) {
-        return !freeSpots.get(type).isEmpty();
+        return freeSpots.get(type).getFreeCount() > 0;
+    }
+    
+    /**
+     * O(1): number of free spots of this type on this floor.
+     */
+    public int getFreeCount(SpotType type) {
+        return freeSpots.get(type).getFreeCount();
+    }
+    
+    public int getTotalSpots() {
+        return totalSpots.get();
+    }
+    
+    public int getOccupiedCount() {
+        return occupiedCount.get();
+    }
+    
+    /**
+     * O(1): fraction of this floor's spots (all types) currently taken.
+     */
+    public double getOccupancyRatio() {
+        int total = totalSpots.get();
+        return total == 0 ? 1.0 : (double) occupiedCount.get() / total;
+    }
+    
+    /**
+     * All spots of a type on this floor, free or occupied.
+     */
+    public List<ParkingSpot> getSpots(SpotType type) {
+        return freeSpots.get(type).allSpots();
+    }
+    
+    /**
+     * Counter node for this floor/type, so the garage can attach its summary counters.
+     */
+    public AvailabilityCounter getAvailabilityCounter(SpotType type) {
+        return freeSpots.get(type).getCounter();
     }
 }
@@ -1,24 +1,28 @@
 package com.parkinglot.model;
 
 import com.parkinglot.enums.SpotType;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Represents a physical parking spot.
  * 
  * Concurrency Note:
- * Methods modifying the state of the spot (assignVehicle, removeVehicle) are synchronized.
- * This ensures that two threads (Entry Gates) cannot assign the same spot to different vehicles simultaneously.
+ * The occupant is a single AtomicReference, so occupying (null -> vehicle) and
+ * freeing (vehicle -> null) are each ONE CAS. Two threads (Entry Gates) cannot
+ * assign the same spot to different vehicles simultaneously, and no lock is held.
  */
 public abstract class ParkingSpot {
     private String id;
     private SpotType type;
-    private boolean isFree;
-    private Vehicle currentVehicle;
+    private final AtomicReference<Vehicle> currentVehicle = new AtomicReference<>();
+    // Owning floor, stamped by ParkingFloor.addSpot() so release is a direct lookup
+    private String floorId;
+    // Position in the floor's FreeSpotBitmap for this spot type
+    private int slotIndex = -1;
 
     public ParkingSpot(String id, SpotType type) {
         this.id = id;
         this.type = type;
-        this.isFree = true;
     }
 
     /**
@@ -26,22 +30,12 @@ public abstract class ParkingSpot {
      * @param vehicle The vehicle to park.
      * @return true if assignment was successful, false if spot was already taken.
      */
-    public synchronized boolean assignVehicle(Vehicle vehicle) {
-        if (!isFree) {
-            return false;
-        }
-        this.currentVehicle = vehicle;
-        this.isFree = false;
-        return true;
+    public boolean assignVehicle(Vehicle vehicle) {
+        return currentVehicle.compareAndSet(null, vehicle);
     }
 
-    public synchronized boolean removeVehicle() {
-        if (isFree) {
-            return false;
-        }
-        this.currentVehicle = null;
-        this.isFree = true;
-        return true;
+    public boolean removeVehicle() {
+        return currentVehicle.getAndSet(null) != null;
     }
 
     public String getId() {
@@ -51,12 +45,28 @@ public abstract class ParkingSpot {
     public SpotType getType() {
         return type;
     }
+    
+    public String getFloorId() {
+        return floorId;
+    }
+    
+    void setFloorId(String floorId) {
+        this.floorId = floorId;
+    }
+    
+    int getSlotIndex() {
+        return slotIndex;
+    }
+    
+    void setSlotIndex(int slotIndex) {
+        this.slotIndex = slotIndex;
+    }
 
     public boolean isFree() {
-        return isFree;
+        return currentVehicle.get() == null;
     }
     
     public Vehicle getCurrentVehicle() {
-        return currentVehicle;
+        return currentVehicle.get();
     }
 }
@@ -1,6 +1,7 @@
 package com.parkinglot.model;
 
 import com.parkinglot.enums.TicketStatus;
+import com.parkinglot.enums.VehicleType;
 
 public class Ticket {
     private String id;
@@ -10,17 +11,28 @@ public class Ticket {
     private TicketStatus status;
     private ParkingSpot assignedSpot;
     private String vehicleLicensePlate;
+    private VehicleType vehicleType;  // Tariffs are priced per vehicle type
     
     // Track which gates were used
     private String entryGateId;
     private String exitGateId;
 
-    public Ticket(String id, ParkingSpot assignedSpot, String vehicleLicensePlate, String entryGateId) {
+    public Ticket(String id, ParkingSpot assignedSpot, String vehicleLicensePlate,
+                  VehicleType vehicleType, String entryGateId) {
+        this(id, assignedSpot, vehicleLicensePlate, vehicleType, entryGateId, System.currentTimeMillis());
+    }
+
+    /**
+     * Re-create an active ticket with its original entry time (journal recovery).
+     */
+    public Ticket(String id, ParkingSpot assignedSpot, String vehicleLicensePlate,
+                  VehicleType vehicleType, String entryGateId, long entryTime) {
         this.id = id;
         this.assignedSpot = assignedSpot;
         this.vehicleLicensePlate = vehicleLicensePlate;
+        this.vehicleType = vehicleType;
         this.entryGateId = entryGateId;
-        this.entryTime = System.currentTimeMillis();
+        this.entryTime = entryTime;
         this.status = TicketStatus.ACTIVE;
     }
 
@@ -31,6 +43,15 @@ public class Ticket {
         this.status = TicketStatus.PAID;
     }
 
+    /**
+     * Driver lost the ticket; the exit gate charges the lost-ticket fee on top.
+     */
+    public void markLost() {
+        if (this.status == TicketStatus.ACTIVE) {
+            this.status = TicketStatus.LOST;
+        }
+    }
+
     public String getId() { return id; }
     public long getEntryTime() { return entryTime; }
     public long getExitTime() { return exitTime; }
@@ -38,6 +59,7 @@ public class Ticket {
     public ParkingSpot getAssignedSpot() { return assignedSpot; }
     public TicketStatus getStatus() { return status; }
     public String getVehicleLicensePlate() { return vehicleLicensePlate; }
+    public VehicleType getVehicleType() { return vehicleType; }
     public String getEntryGateId() { return entryGateId; }
     public String getExitGateId() { return exitGateId; }
 }
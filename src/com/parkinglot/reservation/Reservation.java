@@ -0,0 +1,45 @@
+package com.parkinglot.reservation;
+
+import com.parkinglot.model.ParkingSpot;
+
+/**
+ * A pre-booked spot for one vehicle over [startTime, endTime) (epoch millis).
+ */
+public class Reservation {
+    private final String id;
+    private final ParkingSpot spot;
+    private final String licensePlate;
+    private final long startTime;
+    private final long endTime;
+
+    public Reservation(String id, ParkingSpot spot, String licensePlate, long startTime, long endTime) {
+        if (endTime <= startTime) {
+            throw new IllegalArgumentException("Reservation must end after it starts");
+        }
+        this.id = id;
+        this.spot = spot;
+        this.licensePlate = licensePlate;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public boolean overlaps(long from, long to) {
+        return startTime < to && from < endTime;
+    }
+
+    public boolean covers(long time) {
+        return startTime <= time && time < endTime;
+    }
+
+    public String getId() { return id; }
+    public ParkingSpot getSpot() { return spot; }
+    public String getLicensePlate() { return licensePlate; }
+    public long getStartTime() { return startTime; }
+    public long getEndTime() { return endTime; }
+
+    @Override
+    public String toString() {
+        return "Reservation " + id + ": " + licensePlate + " at " + spot.getId() +
+               " [" + startTime + ", " + endTime + ")";
+    }
+}
@@ -0,0 +1,270 @@
+package com.parkinglot.reservation;
+
+import com.parkinglot.enums.SpotType;
+import com.parkinglot.model.ParkingFloor;
+import com.parkinglot.model.ParkingSpot;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * ReservationBook - pre-booked spots, indexed for "which spots are free from T1 to T2?".
+ *
+ * TWO LEVELS:
+ * - Exact:   one SpotTimeline per spot (sorted, non-overlapping bookings) -> O(log n) per spot
+ * - Coarse:  a bucketed timeline - for each time bucket (default 1 hour) a bitmap with
+ *            one bit per spot, set if the spot has ANY booking touching that bucket
+ *
+ * QUERY [from, to):
+ * 1. OR the bitmaps of the buckets covering the window             -> "maybe busy" spots
+ * 2. Spots of the right type NOT in that set are free, no further work
+ * 3. Only "maybe busy" spots are checked exactly on their timeline
+ * With 50K spots a bitmap is ~800 longs, so the coarse pass is a few microseconds
+ * per bucket and the exact pass touches only spots that really have bookings nearby.
+ *
+ * Bits are set when a booking is made and cleared on cancel once no other booking
+ * touches the bucket (both under the spot timeline's monitor). A stale bit only costs
+ * an exact check, never a wrong answer.
+ *
+ * Windows that have already started also require the spot to be physically free now.
+ * Floors and spots must be set up before the book is created.
+ */
+public class ReservationBook {
+    public static final Duration DEFAULT_BUCKET = Duration.ofHours(1);
+    private static final int RESERVE_ATTEMPTS = 3;
+
+    private final ParkingSpot[] spots;
+    private final SpotTimeline[] timelines;
+    private final Map<String, Integer> indexBySpotId;
+    private final Map<SpotType, long[]> spotsByType;  // bitmap of spot indexes per type
+    private final int words;
+
+    private final long bucketMillis;
+    private final Map<Long, AtomicLongArray> buckets;  // bucket number -> "has a booking" bits
+    private final Map<String, Reservation> reservations;
+    private final Map<String, List<Reservation>> byPlate;  // copy-on-write lists
+    private final LongSupplier clock;
+    private final AtomicLong nextId = new AtomicLong();
+
+    public ReservationBook(List<ParkingFloor> floors) {
+        this(floors, DEFAULT_BUCKET, System::currentTimeMillis);
+    }
+
+    public ReservationBook(List<ParkingFloor> floors, Duration bucketSize, LongSupplier clock) {
+        List<ParkingSpot> all = new ArrayList<>();
+        for (ParkingFloor floor : floors) {
+            for (SpotType type : SpotType.values()) {
+                all.addAll(floor.getSpots(type));
+            }
+        }
+        this.spots = all.toArray(new ParkingSpot[0]);
+        this.timelines = new SpotTimeline[spots.length];
+        this.indexBySpotId = new HashMap<>();
+        this.words = (spots.length + 63) >>> 6;
+        this.spotsByType = new EnumMap<>(SpotType.class);
+        for (SpotType type : SpotType.values()) {
+            spotsByType.put(type, new long[words]);
+        }
+        for (int i = 0; i < spots.length; i++) {
+            timelines[i] = new SpotTimeline();
+            indexBySpotId.put(spots[i].getId(), i);
+            spotsByType.get(spots[i].getType())[i >>> 6] |= 1L << i;
+        }
+
+        this.bucketMillis = bucketSize.toMillis();
+        this.buckets = new ConcurrentHashMap<>();
+        this.reservations = new ConcurrentHashMap<>();
+        this.byPlate = new ConcurrentHashMap<>();
+        this.clock = clock;
+    }
+
+    // ============ BOOKING ============
+
+    /**
+     * Book any spot of this type for [from, to).
+     * @return the reservation, or null if no spot of this type is free for the whole window
+     */
+    public Reservation reserve(String licensePlate, SpotType type, long from, long to) {
+        for (int attempt = 0; attempt < RESERVE_ATTEMPTS; attempt++) {
+            List<ParkingSpot> candidates = findFreeSpots(type, from, to, 8);
+            if (candidates.isEmpty()) {
+                return null;
+            }
+            for (ParkingSpot spot : candidates) {
+                Reservation reservation = reserve(spot, licensePlate, from, to);
+                if (reservation != null) {
+                    return reservation;
+                }
+                // Booked by someone else since the query: try the next candidate
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Book one specific spot for [from, to).
+     * @return the reservation, or null if the spot is already booked (or occupied, for a window that has started)
+     */
+    public Reservation reserve(ParkingSpot spot, String licensePlate, long from, long to) {
+        int index = indexOf(spot);
+        if (from <= clock.getAsLong() && !spot.isFree()) {
+            return null;
+        }
+        Reservation reservation = new Reservation("RES-" + nextId.incrementAndGet(), spot, licensePlate, from, to);
+        SpotTimeline timeline = timelines[index];
+        synchronized (timeline) {
+            if (!timeline.bookLocked(reservation)) {
+                return null;
+            }
+            for (long b = bucketOf(from); b <= bucketOf(to - 1); b++) {
+                setBit(buckets.computeIfAbsent(b, k -> new AtomicLongArray(words)), index);
+            }
+        }
+        reservations.put(reservation.getId(), reservation);
+        byPlate.merge(licensePlate, List.of(reservation), ReservationBook::concat);
+        return reservation;
+    }
+
+    public boolean cancel(String reservationId) {
+        Reservation reservation = reservations.remove(reservationId);
+        if (reservation == null) {
+            return false;
+        }
+        int index = indexOf(reservation.getSpot());
+        SpotTimeline timeline = timelines[index];
+        synchronized (timeline) {
+            timeline.removeLocked(reservation);
+            for (long b = bucketOf(reservation.getStartTime()); b <= bucketOf(reservation.getEndTime() - 1); b++) {
+                AtomicLongArray bits = buckets.get(b);
+                if (bits != null && timeline.isFree(b * bucketMillis, (b + 1) * bucketMillis)) {
+                    clearBit(bits, index);
+                }
+            }
+        }
+        forgetByPlate(reservation);
+        return true;
+    }
+
+    /**
+     * Drop bookings (and time buckets) that ended at or before 'time'.
+     */
+    public void expireBefore(long time) {
+        for (SpotTimeline timeline : timelines) {
+            for (Reservation expired : timeline.expireBefore(time)) {
+                reservations.remove(expired.getId());
+                forgetByPlate(expired);
+            }
+        }
+        buckets.keySet().removeIf(b -> (b + 1) * bucketMillis <= time);
+    }
+
+    // ============ QUERIES ============
+
+    /**
+     * Up to 'limit' spots of this type with no booking overlapping [from, to).
+     */
+    public List<ParkingSpot> findFreeSpots(SpotType type, long from, long to, int limit) {
+        long[] maybeBusy = new long[words];
+        for (long b = bucketOf(from); b <= bucketOf(to - 1); b++) {
+            AtomicLongArray bits = buckets.get(b);
+            if (bits != null) {
+                for (int w = 0; w < words; w++) {
+                    maybeBusy[w] |= bits.get(w);
+                }
+            }
+        }
+        boolean startedAlready = from <= clock.getAsLong();
+
+        List<ParkingSpot> free = new ArrayList<>();
+        long[] ofType = spotsByType.get(type);
+        for (int w = 0; w < words && free.size() < limit; w++) {
+            long candidates = ofType[w];
+            while (candidates != 0 && free.size() < limit) {
+                long bit = Long.lowestOneBit(candidates);
+                candidates ^= bit;
+                int index = (w << 6) + Long.numberOfTrailingZeros(bit);
+                if ((maybeBusy[w] & bit) != 0 && !timelines[index].isFree(from, to)) {
+                    continue;
+                }
+                if (startedAlready && !spots[index].isFree()) {
+                    continue;
+                }
+                free.add(spots[index]);
+            }
+        }
+        return free;
+    }
+
+    /**
+     * True if no booking on this spot overlaps [from, to). Current occupancy is not considered.
+     */
+    public boolean isFree(ParkingSpot spot, long from, long to) {
+        return timelines[indexOf(spot)].isFree(from, to);
+    }
+
+    /**
+     * The plate's reservation covering 'time', or null.
+     */
+    public Reservation findReservationFor(String licensePlate, long time) {
+        for (Reservation reservation : byPlate.getOrDefault(licensePlate, List.of())) {
+            if (reservation.covers(time)) {
+                return reservation;
+            }
+        }
+        return null;
+    }
+
+    public Reservation findReservation(String reservationId) {
+        return reservations.get(reservationId);
+    }
+
+    public int getReservationCount() {
+        return reservations.size();
+    }
+
+    /**
+     * Current time on the book's clock (epoch millis).
+     */
+    public long currentTime() {
+        return clock.getAsLong();
+    }
+
+    // ============ INTERNALS ============
+
+    private int indexOf(ParkingSpot spot) {
+        Integer index = indexBySpotId.get(spot.getId());
+        if (index == null) {
+            throw new IllegalArgumentException("Spot not known to the reservation book: " + spot.getId());
+        }
+        return index;
+    }
+
+    private long bucketOf(long time) {
+        return Math.floorDiv(time, bucketMillis);
+    }
+
+    private void forgetByPlate(Reservation reservation) {
+        byPlate.computeIfPresent(reservation.getLicensePlate(), (plate, list) -> {
+            List<Reservation> remaining = new ArrayList<>(list);
+            remaining.remove(reservation);
+            return remaining.isEmpty() ? null : List.copyOf(remaining);
+        });
+    }
+
+    private static List<Reservation> concat(List<Reservation> existing, List<Reservation> added) {
+        List<Reservation> merged = new ArrayList<>(existing);
+        merged.addAll(added);
+        return List.copyOf(merged);
+    }
+
+    private static void setBit(AtomicLongArray bits, int index) {
+        bits.getAndAccumulate(index >>> 6, 1L << index, (w, bit) -> w | bit);
+    }
+
+    private static void clearBit(AtomicLongArray bits, int index) {
+        bits.getAndAccumulate(index >>> 6, 1L << index, (w, bit) -> w & ~bit);
+    }
+}
@@ -0,0 +1,56 @@
+package com.parkinglot.reservation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Future bookings of ONE spot, keyed by start time.
+ *
+ * Bookings on a spot never overlap, so the only one that can collide with
+ * [from, to) is the last booking starting before 'to':
+ *   conflict  <=>  that booking ends after 'from'        -> O(log bookings)
+ *
+ * All access goes through this object's monitor; ReservationBook also updates
+ * the spot's bucket bits under it, so bits and bookings change together.
+ */
+class SpotTimeline {
+    private final TreeMap<Long, Reservation> byStart = new TreeMap<>();
+
+    synchronized boolean isFree(long from, long to) {
+        Map.Entry<Long, Reservation> candidate = byStart.lowerEntry(to);
+        return candidate == null || candidate.getValue().getEndTime() <= from;
+    }
+
+    /**
+     * Insert if [start, end) is free. Caller holds the monitor.
+     */
+    boolean bookLocked(Reservation reservation) {
+        if (!isFree(reservation.getStartTime(), reservation.getEndTime())) {
+            return false;
+        }
+        byStart.put(reservation.getStartTime(), reservation);
+        return true;
+    }
+
+    boolean removeLocked(Reservation reservation) {
+        return byStart.remove(reservation.getStartTime(), reservation);
+    }
+
+    /**
+     * Drop bookings that ended at or before 'time'.
+     * @return the dropped bookings
+     */
+    synchronized List<Reservation> expireBefore(long time) {
+        List<Reservation> expired = new ArrayList<>();
+        while (!byStart.isEmpty() && byStart.firstEntry().getValue().getEndTime() <= time) {
+            expired.add(byStart.pollFirstEntry().getValue());
+        }
+        return expired;
+    }
+
+    synchronized int size() {
+        return byStart.size();
+    }
+}
@@ -0,0 +1,162 @@
+package com.parkinglot.service;
+
+import com.parkinglot.enums.SpotType;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ParkingFederation - many independent garages hosted in one process.
+ *
+ * - Each lot is its own ParkingLot (ParkingLot.createLot): own floors, strategies,
+ *   ticket registry and locks, so traffic at one garage never waits on another
+ * - No federation-wide counter: every claim/release would update it from every lot.
+ *   "Free spots of type X anywhere" sums the lots' own counters when asked
+ *   (one atomic read per lot, nothing written)
+ * - "Nearest lot with space": one pass over the lots, O(1) availability check each,
+ *   flat-earth distance (accurate at city scale), no trigonometry per lot
+ *
+ * Add floors to a lot before or after adding it.
+ *
+ * Example usage:
+ *   ParkingFederation city = new ParkingFederation();
+ *   ParkingLot central = city.addLot("CENTRAL", 12.9716, 77.5946);
+ *   central.addFloor(...);
+ *   central.setParkingStrategy(new NearestFirstStrategy());
+ *   new EntryGate("CENTRAL-E1", central).generateTicket(car);
+ *   ParkingLot lot = city.findNearestLotWithSpace(12.97, 77.60, SpotType.COMPACT);
+ */
+public class ParkingFederation {
+    private static final double KM_PER_DEGREE = 111.195;
+
+    private final Map<String, LotEntry> lotsById = new ConcurrentHashMap<>();
+    private volatile LotEntry[] lots = new LotEntry[0];  // copy-on-write, scanned by queries
+
+    /**
+     * Create and host a new lot at the given position.
+     * @throws IllegalArgumentException if the id is already taken
+     */
+    public synchronized ParkingLot addLot(String lotId, double latitude, double longitude) {
+        if (lotsById.containsKey(lotId)) {
+            throw new IllegalArgumentException("Lot already exists: " + lotId);
+        }
+        ParkingLot lot = ParkingLot.createLot(lotId);
+        LotEntry entry = new LotEntry(lot, latitude, longitude);
+        lotsById.put(lotId, entry);
+        LotEntry[] grown = Arrays.copyOf(lots, lots.length + 1);
+        grown[lots.length] = entry;
+        lots = grown;
+        return lot;
+    }
+
+    public ParkingLot getLot(String lotId) {
+        LotEntry entry = lotsById.get(lotId);
+        return entry == null ? null : entry.lot;
+    }
+
+    public List<ParkingLot> getLots() {
+        List<ParkingLot> all = new ArrayList<>();
+        for (LotEntry entry : lots) {
+            all.add(entry.lot);
+        }
+        return all;
+    }
+
+    public int getLotCount() {
+        return lots.length;
+    }
+
+    // ============ AVAILABILITY ============
+
+    /**
+     * Free spots of a type across every hosted lot: O(lots) reads, no shared writes.
+     */
+    public int getAvailableSpots(SpotType type) {
+        int total = 0;
+        for (LotEntry entry : lots) {
+            total += entry.lot.getAvailableSpots(type);
+        }
+        return total;
+    }
+
+    /**
+     * Closest lot that has a free spot of this type right now, or null if none has.
+     */
+    public ParkingLot findNearestLotWithSpace(double latitude, double longitude, SpotType type) {
+        double cosLatitude = Math.cos(Math.toRadians(latitude));
+        ParkingLot best = null;
+        double bestDistance = Double.MAX_VALUE;
+        for (LotEntry entry : lots) {
+            double distance = entry.squaredDistance(latitude, longitude, cosLatitude);
+            if (distance < bestDistance && entry.lot.getAvailableSpots(type) > 0) {
+                best = entry.lot;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Up to 'limit' lots with a free spot of this type, closest first (for signage / apps).
+     */
+    public List<ParkingLot> findNearestLotsWithSpace(double latitude, double longitude, SpotType type, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        double cosLatitude = Math.cos(Math.toRadians(latitude));
+        LotEntry[] snapshot = lots;
+        // Bounded max-heap on distance: keeps the 'limit' closest lots with space
+        PriorityQueue<double[]> closest = new PriorityQueue<>((a, b) -> Double.compare(b[0], a[0]));
+        for (int i = 0; i < snapshot.length; i++) {
+            LotEntry entry = snapshot[i];
+            if (entry.lot.getAvailableSpots(type) == 0) {
+                continue;
+            }
+            double distance = entry.squaredDistance(latitude, longitude, cosLatitude);
+            if (closest.size() < limit) {
+                closest.add(new double[] { distance, i });
+            } else if (distance < closest.peek()[0]) {
+                closest.poll();
+                closest.add(new double[] { distance, i });
+            }
+        }
+        List<ParkingLot> result = new ArrayList<>(closest.size());
+        while (!closest.isEmpty()) {
+            result.add(snapshot[(int) closest.poll()[1]].lot);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Approximate distance in km from a position to a hosted lot.
+     */
+    public double getDistanceKm(String lotId, double latitude, double longitude) {
+        LotEntry entry = lotsById.get(lotId);
+        if (entry == null) {
+            throw new IllegalArgumentException("Unknown lot: " + lotId);
+        }
+        return Math.sqrt(entry.squaredDistance(latitude, longitude, Math.cos(Math.toRadians(latitude))))
+            * KM_PER_DEGREE;
+    }
+
+    private static class LotEntry {
+        final ParkingLot lot;
+        final double latitude;
+        final double longitude;
+
+        LotEntry(ParkingLot lot, double latitude, double longitude) {
+            this.lot = lot;
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+
+        /**
+         * Squared distance in degrees of latitude (equirectangular projection).
+         */
+        double squaredDistance(double lat, double lon, double cosLatitude) {
+            double dy = latitude - lat;
+            double dx = (longitude - lon) * cosLatitude;
+            return dx * dx + dy * dy;
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package com.parkinglot.service;
 
+import com.parkinglot.analytics.ParkingAnalytics;
 import com.parkinglot.model.*;
 import com.parkinglot.enums.*;
+import com.parkinglot.journal.JournalRecord;
+import com.parkinglot.journal.TicketJournal;
+import com.parkinglot.reservation.Reservation;
+import com.parkinglot.reservation.ReservationBook;
 import com.parkinglot.strategy.ParkingAssignmentStrategy;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -12,32 +19,71 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * Singleton ParkingLot System.
  * Acts as the Facade for the entire system.
+ * 
+ * getInstance() is the process-wide default lot. Hosts running several garages
+ * create independent lots with createLot(lotId) (see ParkingFederation) and bind
+ * their gates to them; such lots share no state or locks with each other.
  */
 public class ParkingLot {
+    // Strategy passes over the floors before a vehicle is turned away as "full"
+    static final int MAX_ASSIGN_ATTEMPTS = 3;
+    public static final String DEFAULT_LOT_ID = "default";
+    
     private static ParkingLot instance;
+    private final String lotId;
     private List<ParkingFloor> floors;
     private List<EntryGate> entryGates;
     private List<ExitGate> exitGates;
     
     private ParkingAssignmentStrategy parkingStrategy;
     
-    // Track which floor each spot belongs to (for returning spots)
-    private Map<String, ParkingFloor> spotToFloorMap;
+    // Floor lookup for returning spots: each spot knows its floorId (set in ParkingFloor.addSpot)
+    private Map<String, ParkingFloor> floorsById;
+    
+    // Garage-level roots of the availability counter tree (one per SpotType).
+    // Each floor's per-type counter is attached in addFloor(), so these are always current.
+    private Map<SpotType, AvailabilityCounter> availableByType;
+    
+    // Every issued ticket, indexed by id and license plate
+    private TicketRegistry ticketRegistry;
+    
+    // Optional durable log of entries/exits (null = in-memory only)
+    private volatile TicketJournal journal;
+    
+    // Optional pre-bookings (null = walk-ins only)
+    private volatile ReservationBook reservationBook;
+    
+    // Optional streaming occupancy/revenue aggregation (null = off)
+    private volatile ParkingAnalytics analytics;
 
-    private ParkingLot() {
+    private ParkingLot(String lotId) {
+        this.lotId = lotId;
         this.floors = new ArrayList<>();
         this.entryGates = new ArrayList<>();
         this.exitGates = new ArrayList<>();
-        this.spotToFloorMap = new ConcurrentHashMap<>();
+        this.floorsById = new ConcurrentHashMap<>();
+        this.ticketRegistry = new TicketRegistry();
+        this.availableByType = new EnumMap<>(SpotType.class);
+        for (SpotType type : SpotType.values()) {
+            availableByType.put(type, new AvailabilityCounter());
+        }
     }
 
     public static synchronized ParkingLot getInstance() {
         if (instance == null) {
-            instance = new ParkingLot();
+            instance = new ParkingLot(DEFAULT_LOT_ID);
         }
         return instance;
     }
     
+    /**
+     * A new, independent lot (not the singleton). Bind gates to it with
+     * new EntryGate(id, lot) / new ExitGate(id, pricing, lot).
+     */
+    public static ParkingLot createLot(String lotId) {
+        return new ParkingLot(lotId);
+    }
+    
     // For testing - allows resetting the singleton
     public static synchronized void resetInstance() {
         instance = null;
@@ -45,6 +91,10 @@ public class ParkingLot {
 
     public void addFloor(ParkingFloor floor) {
         floors.add(floor);
+        floorsById.put(floor.getFloorId(), floor);
+        for (SpotType type : SpotType.values()) {
+            floor.getAvailabilityCounter(type).attachTo(availableByType.get(type));
+        }
     }
     
     public void addEntryGate(EntryGate gate) {
@@ -58,6 +108,37 @@ public class ParkingLot {
     public void setParkingStrategy(ParkingAssignmentStrategy strategy) {
         this.parkingStrategy = strategy;
     }
+    
+    /**
+     * Route pre-booked vehicles to their reserved spot. To keep walk-ins out of
+     * booked spots, also wrap the strategy in a ReservationAwareStrategy.
+     */
+    public void setReservationBook(ReservationBook reservationBook) {
+        this.reservationBook = reservationBook;
+    }
+    
+    public ReservationBook getReservationBook() {
+        return reservationBook;
+    }
+    
+    /**
+     * Journal every entry and exit from now on. Recover (JournalRecovery) BEFORE attaching.
+     */
+    public void setJournal(TicketJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Feed every entry and paid exit to an analytics stage (started by the caller).
+     * Gates only enqueue an event; aggregation runs on the analytics thread.
+     */
+    public void setAnalytics(ParkingAnalytics analytics) {
+        this.analytics = analytics;
+    }
+    
+    public ParkingAnalytics getAnalytics() {
+        return analytics;
+    }
 
     /**
      * Get a ticket for a vehicle entering through a specific gate.
@@ -67,24 +148,52 @@ public class ParkingLot {
      * @return Ticket if spot found, null if parking full
      */
     public Ticket getTicket(Vehicle vehicle, String entryGateId) {
-        // 1. Find a spot using the Strategy
-        ParkingSpot spot = parkingStrategy.findSpot(floors, vehicle.getType());
+        if (ticketRegistry.isInside(vehicle.getLicensePlate())) {
+            System.out.println("Vehicle already inside: " + vehicle.getLicensePlate());
+            return null;
+        }
+        
+        // 1+2. Find a spot using the Strategy and park the vehicle in it, as one step.
+        // A strategy only comes back empty-handed after every floor it tried was full
+        // at that moment; spots freed meanwhile are picked up by a bounded retry
+        // instead of turning the vehicle away. Pre-booked vehicles go to their own spot first.
+        ParkingSpot spot = reservedSpotFor(vehicle);
+        for (int attempt = 0; attempt < MAX_ASSIGN_ATTEMPTS && spot == null; attempt++) {
+            spot = parkingStrategy.assignSpot(floors, vehicle, entryGateId);
+        }
         
         if (spot == null) {
             System.out.println("Parking Full for vehicle: " + vehicle.getType());
             return null;
         }
 
-        // 2. Assign vehicle to spot (Thread-safe)
-        boolean success = spot.assignVehicle(vehicle);
-        if (!success) {
-            System.out.println("Concurrency Error: Spot already taken.");
-            return null;
-        }
-
         // 3. Generate Ticket with gate information
         String ticketId = UUID.randomUUID().toString();
-        Ticket ticket = new Ticket(ticketId, spot, vehicle.getLicensePlate(), entryGateId);
+        Ticket ticket = new Ticket(ticketId, spot, vehicle.getLicensePlate(), vehicle.getType(), entryGateId);
+        if (!ticketRegistry.register(ticket)) {
+            // Same plate entered through another gate at the same moment
+            System.out.println("Vehicle already inside: " + vehicle.getLicensePlate());
+            returnSpot(spot);
+            return null;
+        }
+        
+        // The entry must be durable before the ticket is handed out: if the journal
+        // refuses it, undo the registration and the spot so nothing leaks
+        TicketJournal log = journal;
+        if (log != null) {
+            try {
+                log.append(JournalRecord.entry(ticketId, ticket.getEntryTime(), vehicle.getLicensePlate(),
+                    vehicle.getType(), spot.getFloorId(), spot.getId(), entryGateId));
+            } catch (RuntimeException e) {
+                ticketRegistry.unregister(ticket);
+                returnSpot(spot);
+                throw e;
+            }
+        }
+        ParkingAnalytics stats = analytics;
+        if (stats != null) {
+            stats.onEntry(ticket);
+        }
         
         System.out.println("Ticket generated: " + ticketId + 
                           " for " + vehicle.getLicensePlate() + 
@@ -93,15 +202,136 @@ public class ParkingLot {
         return ticket;
     }
     
+    /**
+     * The spot booked for this vehicle right now, already holding it - or null
+     * (no booking, or the spot is still occupied by an overstayer).
+     */
+    private ParkingSpot reservedSpotFor(Vehicle vehicle) {
+        ReservationBook book = reservationBook;
+        if (book == null) {
+            return null;
+        }
+        Reservation reservation = book.findReservationFor(vehicle.getLicensePlate(), book.currentTime());
+        if (reservation == null) {
+            return null;
+        }
+        ParkingSpot spot = reservation.getSpot();
+        ParkingFloor floor = floorsById.get(spot.getFloorId());
+        return floor != null && floor.assignSpot(spot, vehicle) ? spot : null;
+    }
+    
     /**
      * Return a spot to its floor's free queue.
      * Called by ExitGate after payment.
+     * 
+     * O(1): goes straight to the owning floor instead of asking every floor.
      */
     public void returnSpot(ParkingSpot spot) {
-        // Find which floor this spot belongs to and return it
-        for (ParkingFloor floor : floors) {
+        String floorId = spot.getFloorId();
+        if (floorId == null) {
+            return;  // Spot was never added to a floor
+        }
+        ParkingFloor floor = floorsById.get(floorId);
+        if (floor != null) {
             floor.returnSpot(spot);
+            ParkingAssignmentStrategy strategy = parkingStrategy;
+            if (strategy != null) {
+                strategy.onSpotReleased(spot);  // None yet, e.g. during JournalRecovery
+            }
+        }
+    }
+    
+    /**
+     * O(1): free spots of a type across the whole garage (for signage).
+     */
+    public int getAvailableSpots(SpotType type) {
+        return availableByType.get(type).get();
+    }
+    
+    /**
+     * Snapshot of free spots per type across the whole garage.
+     */
+    public Map<SpotType, Integer> getAvailability() {
+        Map<SpotType, Integer> snapshot = new EnumMap<>(SpotType.class);
+        for (SpotType type : SpotType.values()) {
+            snapshot.put(type, availableByType.get(type).get());
         }
+        return snapshot;
+    }
+    
+    // ============ TICKET LOOKUPS ============
+    
+    /**
+     * Active or recently paid ticket by id (e.g. scanned barcode), or null.
+     */
+    public Ticket findTicket(String ticketId) {
+        return ticketRegistry.findById(ticketId);
+    }
+    
+    /**
+     * Active ticket for a plate - used for lost-ticket recovery.
+     */
+    public Ticket findActiveTicket(String licensePlate) {
+        return ticketRegistry.findActiveByPlate(licensePlate);
+    }
+    
+    public boolean isVehicleInside(String licensePlate) {
+        return ticketRegistry.isInside(licensePlate);
+    }
+    
+    /**
+     * Close a ticket at exit, now. Only one exit gate can win for a given ticket.
+     * @return false if the ticket is unknown or already closed
+     */
+    public boolean checkOut(Ticket ticket) {
+        return checkOut(ticket, System.currentTimeMillis());
+    }
+    
+    /**
+     * Close a ticket at exit. exitTime is the time the fee was priced at, so the
+     * journaled exit reproduces the fee on replay.
+     * @return false if the ticket is unknown or already closed
+     */
+    public boolean checkOut(Ticket ticket, long exitTime) {
+        if (!ticketRegistry.checkOut(ticket)) {
+            return false;
+        }
+        TicketJournal log = journal;
+        if (log != null) {
+            log.append(JournalRecord.exit(ticket.getId(), exitTime));
+        }
+        return true;
+    }
+    
+    /**
+     * Called by ExitGate once a checked-out ticket is paid (fee and exit gate known).
+     */
+    public void onTicketPaid(Ticket ticket) {
+        ParkingAnalytics stats = analytics;
+        if (stats != null) {
+            stats.onExit(ticket);
+        }
+    }
+    
+    /**
+     * ENTRY records for every vehicle currently parked - the content of a journal snapshot.
+     */
+    public Collection<JournalRecord> captureActiveTickets() {
+        List<JournalRecord> records = new ArrayList<>(ticketRegistry.getActiveCount());
+        for (Ticket ticket : ticketRegistry.getActiveTickets()) {
+            ParkingSpot spot = ticket.getAssignedSpot();
+            records.add(JournalRecord.entry(ticket.getId(), ticket.getEntryTime(), ticket.getVehicleLicensePlate(),
+                ticket.getVehicleType(), spot.getFloorId(), spot.getId(), ticket.getEntryGateId()));
+        }
+        return records;
+    }
+    
+    public String getLotId() {
+        return lotId;
+    }
+    
+    public TicketRegistry getTicketRegistry() {
+        return ticketRegistry;
     }
     
     public List<ParkingFloor> getFloors() {
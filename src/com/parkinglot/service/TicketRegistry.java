@@ -0,0 +1,136 @@
+package com.parkinglot.service;
+
+import com.parkinglot.model.Ticket;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * TicketRegistry - every ticket issued by the ParkingLot, indexed for O(1) lookups.
+ *
+ * Indexes:
+ * - activeById:    ticketId -> ticket   (exit by ticket id / barcode)
+ * - activeByPlate: plate    -> ticket   (lost ticket, "is this car inside?")
+ * - paidById:      ticketId -> ticket   (recent history, expires after 'paidRetention')
+ *
+ * Expiry: paid tickets are appended to a queue in checkout order, and each
+ * checkout purges expired entries from the head - amortized O(1), no sweeper thread.
+ */
+public class TicketRegistry {
+    public static final Duration DEFAULT_PAID_RETENTION = Duration.ofHours(24);
+
+    private final Map<String, Ticket> activeById;
+    private final Map<String, Ticket> activeByPlate;
+    private final Map<String, Ticket> paidById;
+    private final Queue<PaidEntry> paidOrder;
+    private final long retentionMillis;
+    private final ReentrantLock purgeLock = new ReentrantLock();
+
+    public TicketRegistry() {
+        this(DEFAULT_PAID_RETENTION);
+    }
+
+    public TicketRegistry(Duration paidRetention) {
+        this.activeById = new ConcurrentHashMap<>();
+        this.activeByPlate = new ConcurrentHashMap<>();
+        this.paidById = new ConcurrentHashMap<>();
+        this.paidOrder = new ConcurrentLinkedQueue<>();
+        this.retentionMillis = paidRetention.toMillis();
+    }
+
+    /**
+     * Register a newly issued ticket.
+     * @return false if this vehicle already has an active ticket (it is already inside)
+     */
+    public boolean register(Ticket ticket) {
+        if (activeByPlate.putIfAbsent(ticket.getVehicleLicensePlate(), ticket) != null) {
+            return false;
+        }
+        activeById.put(ticket.getId(), ticket);
+        return true;
+    }
+
+    /**
+     * Move a ticket from the active indexes to the paid index.
+     * Exactly one caller wins for a given ticket, so two exit gates can't both charge it.
+     * @return false if the ticket is unknown or already checked out
+     */
+    public boolean checkOut(Ticket ticket) {
+        if (activeById.remove(ticket.getId()) == null) {
+            return false;
+        }
+        activeByPlate.remove(ticket.getVehicleLicensePlate(), ticket);
+
+        long now = System.currentTimeMillis();
+        paidById.put(ticket.getId(), ticket);
+        paidOrder.add(new PaidEntry(ticket.getId(), now));
+        purgeExpired(now);
+        return true;
+    }
+
+    /**
+     * Undo register() for a ticket that was never handed out (e.g. spot assignment failed).
+     */
+    public void unregister(Ticket ticket) {
+        activeById.remove(ticket.getId());
+        activeByPlate.remove(ticket.getVehicleLicensePlate(), ticket);
+    }
+
+    /**
+     * Active or recently paid ticket by id, or null.
+     */
+    public Ticket findById(String ticketId) {
+        Ticket ticket = activeById.get(ticketId);
+        return ticket != null ? ticket : paidById.get(ticketId);
+    }
+
+    public Ticket findActiveByPlate(String licensePlate) {
+        return activeByPlate.get(licensePlate);
+    }
+
+    public boolean isInside(String licensePlate) {
+        return activeByPlate.containsKey(licensePlate);
+    }
+
+    /**
+     * Weakly consistent view of the active tickets (for journal snapshots).
+     */
+    public Collection<Ticket> getActiveTickets() {
+        return Collections.unmodifiableCollection(activeById.values());
+    }
+
+    public int getActiveCount() {
+        return activeById.size();
+    }
+
+    private void purgeExpired(long now) {
+        // One purger at a time; anyone else skips (the next checkout will catch up)
+        if (!purgeLock.tryLock()) {
+            return;
+        }
+        try {
+            PaidEntry head;
+            while ((head = paidOrder.peek()) != null && now - head.paidAt > retentionMillis) {
+                paidOrder.poll();
+                paidById.remove(head.ticketId);
+            }
+        } finally {
+            purgeLock.unlock();
+        }
+    }
+
+    private static class PaidEntry {
+        final String ticketId;
+        final long paidAt;
+
+        PaidEntry(String ticketId, long paidAt) {
+            this.ticketId = ticketId;
+            this.paidAt = paidAt;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.parkinglot.simple;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * FreeSpotStack - lock-free stack of free spots of one SpotType (Treiber stack)
+ *
+ * - push/pop: one CAS on the head, retried on contention -> O(1), no locks
+ * - A fresh node per push, so a recycled node can never fool a CAS (no ABA)
+ * - available: counter kept next to the stack so counts are O(1); it is raised
+ *   before a push and lowered after a pop, so it never under-counts
+ *
+ * A popped spot belongs to the caller until it is pushed back.
+ */
+class FreeSpotStack {
+    private final AtomicReference<Node> head = new AtomicReference<>();
+    private final AtomicInteger available = new AtomicInteger();
+
+    void push(ParkingSpot spot) {
+        Node node = new Node(spot);
+        available.incrementAndGet();
+        Node current;
+        do {
+            current = head.get();
+            node.next = current;
+        } while (!head.compareAndSet(current, node));
+    }
+
+    /**
+     * @return a free spot, or null if none is left
+     */
+    ParkingSpot pop() {
+        Node current;
+        do {
+            current = head.get();
+            if (current == null) {
+                return null;
+            }
+        } while (!head.compareAndSet(current, current.next));
+        available.decrementAndGet();
+        return current.spot;
+    }
+
+    int available() {
+        return available.get();
+    }
+
+    private static class Node {
+        final ParkingSpot spot;
+        Node next;
+
+        Node(ParkingSpot spot) {
+            this.spot = spot;
+        }
+    }
+}
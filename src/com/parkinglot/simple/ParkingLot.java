@@ -1,14 +1,23 @@
 package com.parkinglot.simple;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * ParkingLot - Main service class (Singleton)
  * 
  * Simplified for interview:
  * - Single level (no floors)
- * - Simple spot assignment (first available)
+ * - Simple spot assignment (most recently freed spot of the right type)
  * - Simple pricing (hourly)
+ * 
+ * Thread-safe, for many kiosks parking at once:
+ * - One lock-free FreeSpotStack per SpotType -> park/unpark are O(1), no scans
+ * - Availability counts come from atomic counters, not from walking the spots
+ * - Active tickets in a ConcurrentHashMap, ticket ids from an AtomicInteger
+ * 
+ * Add spots before opening the lot; addSpot is setup-only.
  */
 public class ParkingLot {
     private static ParkingLot instance;
@@ -16,22 +25,27 @@ public class ParkingLot {
     // Spots organized by type for O(1) lookup
     private Map<SpotType, List<ParkingSpot>> spotsByType;
     
+    // Free spots by type: pop to park, push to release
+    private Map<SpotType, FreeSpotStack> freeSpots;
+    
     // Track active tickets by vehicle license plate
     private Map<String, Ticket> activeTickets;
     
     // Pricing per hour by vehicle type
     private Map<VehicleType, Double> hourlyRates;
     
-    private int ticketCounter = 0;
+    private final AtomicInteger ticketCounter = new AtomicInteger();
     
     private ParkingLot() {
-        spotsByType = new HashMap<>();
-        activeTickets = new HashMap<>();
-        hourlyRates = new HashMap<>();
+        spotsByType = new EnumMap<>(SpotType.class);
+        freeSpots = new EnumMap<>(SpotType.class);
+        activeTickets = new ConcurrentHashMap<>();
+        hourlyRates = new EnumMap<>(VehicleType.class);
         
         // Initialize spot lists
         for (SpotType type : SpotType.values()) {
             spotsByType.put(type, new ArrayList<>());
+            freeSpots.put(type, new FreeSpotStack());
         }
         
         // Default pricing
@@ -54,8 +68,11 @@ public class ParkingLot {
     
     // ==================== SETUP ====================
     
-    public void addSpot(ParkingSpot spot) {
+    public synchronized void addSpot(ParkingSpot spot) {
         spotsByType.get(spot.getType()).add(spot);
+        if (spot.isAvailable()) {
+            freeSpots.get(spot.getType()).push(spot);
+        }
     }
     
     // ==================== CORE OPERATIONS ====================
@@ -68,25 +85,25 @@ public class ParkingLot {
         // 1. Find appropriate spot type for vehicle
         SpotType requiredType = getSpotTypeForVehicle(vehicle.getType());
         
-        // 2. Find an available spot
-        ParkingSpot spot = findAvailableSpot(requiredType);
+        // 2. Take a free spot (popping it makes it ours)
+        ParkingSpot spot = freeSpots.get(requiredType).pop();
         
         if (spot == null) {
             System.out.println("No spot available for " + vehicle.getType());
             return null;
         }
         
-        // 3. Try to park (synchronized for thread safety)
-        if (!spot.park(vehicle)) {
-            // Rare: spot was taken between find and park
-            System.out.println("Spot was taken, try again");
-            return null;
-        }
+        // 3. Park (cannot fail: no other kiosk holds this spot)
+        spot.park(vehicle);
         
-        // 4. Create and return ticket
-        String ticketId = "T-" + (++ticketCounter);
+        // 4. Create ticket - one active ticket per vehicle
+        String ticketId = "T-" + ticketCounter.incrementAndGet();
         Ticket ticket = new Ticket(ticketId, vehicle, spot);
-        activeTickets.put(vehicle.getLicensePlate(), ticket);
+        if (activeTickets.putIfAbsent(vehicle.getLicensePlate(), ticket) != null) {
+            releaseSpot(spot);
+            System.out.println(vehicle.getLicensePlate() + " is already parked");
+            return null;
+        }
         
         System.out.println("Parked " + vehicle.getLicensePlate() + 
                           " at spot " + spot.getId() + 
@@ -111,16 +128,19 @@ public class ParkingLot {
             return -1;
         }
         
-        // 2. Calculate fee
+        // 2. Close the ticket - only one kiosk can win the removal
+        if (!activeTickets.remove(ticket.getVehicle().getLicensePlate(), activeTicket)) {
+            System.out.println("Ticket not found or already used");
+            return -1;
+        }
+        
+        // 3. Calculate fee
         double hours = ticket.getHoursParked();
         double rate = hourlyRates.get(ticket.getVehicle().getType());
         double fee = hours * rate;
         
-        // 3. Release spot
-        ticket.getSpot().unpark();
-        
-        // 4. Remove from active tickets
-        activeTickets.remove(ticket.getVehicle().getLicensePlate());
+        // 4. Release spot
+        releaseSpot(ticket.getSpot());
         
         System.out.println("Unparked " + ticket.getVehicle().getLicensePlate() + 
                           ". Duration: " + hours + " hrs. Fee: $" + fee);
@@ -142,27 +162,24 @@ public class ParkingLot {
     }
     
     /**
-     * Find first available spot of given type
+     * Empty the spot and hand it back to the free stack
      */
-    private ParkingSpot findAvailableSpot(SpotType type) {
-        List<ParkingSpot> spots = spotsByType.get(type);
-        
-        for (ParkingSpot spot : spots) {
-            if (spot.isAvailable()) {
-                return spot;
-            }
-        }
-        return null;
+    private void releaseSpot(ParkingSpot spot) {
+        spot.unpark();
+        freeSpots.get(spot.getType()).push(spot);
     }
     
     // ==================== QUERIES ====================
     
+    /**
+     * O(1) - may briefly count a spot that is being released, never under-counts
+     */
     public int getAvailableSpots(SpotType type) {
-        int count = 0;
-        for (ParkingSpot spot : spotsByType.get(type)) {
-            if (spot.isAvailable()) count++;
-        }
-        return count;
+        return freeSpots.get(type).available();
+    }
+    
+    public int getActiveTicketCount() {
+        return activeTickets.size();
     }
     
     public int getTotalSpots() {
@@ -8,7 +8,7 @@ package com.parkinglot.simple;
 public class ParkingSpot {
     private String id;
     private SpotType type;
-    private Vehicle currentVehicle;
+    private volatile Vehicle currentVehicle;
     
     public ParkingSpot(String id, SpotType type) {
         this.id = id;
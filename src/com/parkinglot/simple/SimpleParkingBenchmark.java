@@ -0,0 +1,97 @@
+package com.parkinglot.simple;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SimpleParkingBenchmark - many kiosks parking and leaving on one large surface lot.
+ *
+ * Each kiosk repeatedly parks a car and, once it holds a few, lets the oldest leave.
+ * Afterwards the lot is checked:
+ * - no spot ever held two cars (each active ticket owns a distinct, occupied spot)
+ * - the O(1) availability counters agree with a scan of every spot
+ *
+ * Usage: java com.parkinglot.simple.SimpleParkingBenchmark [spots] [kiosks] [parksPerKiosk]
+ */
+public class SimpleParkingBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int spots = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int kiosks = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int parksPerKiosk = args.length > 2 ? Integer.parseInt(args[2]) : 200_000;
+        int heldPerKiosk = spots * 9 / 10 / kiosks;  // kiosks together keep the lot ~90% full
+
+        ParkingLot.resetInstance();
+        ParkingLot lot = ParkingLot.getInstance();
+        List<ParkingSpot> all = new ArrayList<>();
+        for (int i = 0; i < spots; i++) {
+            ParkingSpot spot = new ParkingSpot("M" + i, SpotType.MEDIUM);
+            all.add(spot);
+            lot.addSpot(spot);
+        }
+
+        System.out.printf("=== %,d spots, %d kiosks x %,d parks ===%n", spots, kiosks, parksPerKiosk);
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));  // parkVehicle logs every car
+
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(kiosks);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Deque<Ticket>>> futures = new ArrayList<>();
+        for (int k = 0; k < kiosks; k++) {
+            final int kiosk = k;
+            futures.add(pool.submit(() -> {
+                Deque<Ticket> held = new ArrayDeque<>();
+                start.await();
+                for (int i = 0; i < parksPerKiosk; i++) {
+                    Ticket ticket = lot.parkVehicle(new Vehicle("K" + kiosk + "-" + i, VehicleType.CAR));
+                    if (ticket == null) {
+                        rejected.incrementAndGet();
+                    } else {
+                        held.addLast(ticket);
+                    }
+                    if (held.size() > heldPerKiosk) {
+                        lot.unparkVehicle(held.removeFirst());
+                    }
+                }
+                return held;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        List<Ticket> stillParked = new ArrayList<>();
+        for (Future<Deque<Ticket>> future : futures) {
+            stillParked.addAll(future.get());
+        }
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+        System.setOut(console);
+
+        long parked = (long) kiosks * parksPerKiosk - rejected.get();
+        long operations = parked * 2 - stillParked.size();
+        System.out.printf("%,d parks+unparks in %.0f ms (%,.0f ops/sec), %,d rejected as full%n",
+            operations, elapsed / 1e6, operations * 1_000_000_000.0 / elapsed, rejected.get());
+
+        // ---- Invariants ----
+        Set<String> owned = new HashSet<>();
+        boolean distinct = true;
+        for (Ticket ticket : stillParked) {
+            distinct &= owned.add(ticket.getSpot().getId())
+                && ticket.getSpot().getCurrentVehicle() == ticket.getVehicle();
+        }
+        int scanned = 0;
+        for (ParkingSpot spot : all) {
+            if (spot.isAvailable()) scanned++;
+        }
+        int counted = lot.getAvailableSpots(SpotType.MEDIUM);
+        System.out.printf("Active tickets: %,d  free (counter): %,d  free (scan): %,d  spots distinct: %s%n",
+            lot.getActiveTicketCount(), counted, scanned, distinct);
+        boolean ok = distinct && counted == scanned
+            && lot.getActiveTicketCount() == stillParked.size()
+            && scanned + stillParked.size() == spots;
+        System.out.println(ok ? "Invariants OK" : "INVARIANT VIOLATION");
+    }
+}
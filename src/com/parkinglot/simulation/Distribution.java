@@ -0,0 +1,33 @@
+package com.parkinglot.simulation;
+
+import java.util.Random;
+
+/**
+ * A random duration in nanoseconds: time between arrivals at a gate, or how long a car stays.
+ */
+@FunctionalInterface
+public interface Distribution {
+    long sampleNanos(Random random);
+
+    /**
+     * Always zero: gates run flat out (closed loop, maximum throughput).
+     */
+    static Distribution none() {
+        return random -> 0L;
+    }
+
+    static Distribution fixed(long nanos) {
+        return random -> nanos;
+    }
+
+    static Distribution uniform(long minNanos, long maxNanos) {
+        return random -> minNanos + (long) (random.nextDouble() * (maxNanos - minNanos));
+    }
+
+    /**
+     * Memoryless waits with the given mean: arrivals form a Poisson process.
+     */
+    static Distribution exponential(long meanNanos) {
+        return random -> (long) (-Math.log(1 - random.nextDouble()) * meanNanos);
+    }
+}
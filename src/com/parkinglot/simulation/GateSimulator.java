@@ -0,0 +1,296 @@
+package com.parkinglot.simulation;
+
+import com.parkinglot.model.*;
+import com.parkinglot.service.ParkingLot;
+import com.parkinglot.strategy.HourlyPricingStrategy;
+import com.parkinglot.strategy.PricingStrategy;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * GateSimulator - drives N entry and M exit gates concurrently against the ParkingLot.
+ *
+ * MODEL:
+ * - Each entry gate is one thread: waits for the next arrival (interArrival distribution),
+ *   calls EntryGate.generateTicket, and schedules the car's departure (stay distribution)
+ * - Each exit gate is one thread: takes the next due departure and calls ExitGate.processExit
+ * - interArrival = Distribution.none() runs the gates flat out (maximum throughput)
+ *
+ * MEASURES:
+ * - tickets/second, turned-away vehicles
+ * - service latency of every gate call (per-thread recorders, merged at the end)
+ * - monitor contention of the gate threads (ThreadMXBean blocked count/time)
+ *
+ * THREADS: one per gate, created by the configured ThreadFactory. Platform threads by
+ * default; on a runtime with virtual threads pass Thread.ofVirtual().factory()
+ * (blocked-time figures are only reported for platform threads).
+ *
+ * Gates are bound to 'lot', so simulators for several lots (ParkingLot.createLot) can run side by side.
+ *
+ * Example usage:
+ *   SimulationReport report = new GateSimulator.Builder(ParkingLot.getInstance())
+ *       .entryGates(8).exitGates(4)
+ *       .arrivalsPerGate(10_000)
+ *       .interArrival(Distribution.exponential(200_000))   // ~5,000 cars/sec per gate
+ *       .stay(Distribution.uniform(1_000_000, 50_000_000))
+ *       .build()
+ *       .run();
+ */
+public class GateSimulator {
+    private final ParkingLot lot;
+    private final int entryGates;
+    private final int exitGates;
+    private final int arrivalsPerGate;
+    private final Distribution interArrival;
+    private final Distribution stay;
+    private final Function<String, Vehicle> vehicleFactory;
+    private final PricingStrategy pricingStrategy;
+    private final ThreadFactory threadFactory;
+    private final long seed;
+
+    private GateSimulator(Builder builder) {
+        this.lot = builder.lot;
+        this.entryGates = builder.entryGates;
+        this.exitGates = builder.exitGates;
+        this.arrivalsPerGate = builder.arrivalsPerGate;
+        this.interArrival = builder.interArrival;
+        this.stay = builder.stay;
+        this.vehicleFactory = builder.vehicleFactory;
+        this.pricingStrategy = builder.pricingStrategy;
+        this.threadFactory = builder.threadFactory;
+        this.seed = builder.seed;
+    }
+
+    /**
+     * Run until every arrival has been processed and every parked car has left.
+     */
+    public SimulationReport run() throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        boolean contentionSupported = threads.isThreadContentionMonitoringSupported();
+        if (contentionSupported) {
+            threads.setThreadContentionMonitoringEnabled(true);
+        }
+
+        DelayQueue<Departure> departures = new DelayQueue<>();
+        AtomicInteger entryGatesRunning = new AtomicInteger(entryGates);
+        LongAdder issued = new LongAdder();
+        LongAdder turnedAway = new LongAdder();
+        LongAdder exited = new LongAdder();
+        LongAdder blockedCount = new LongAdder();
+        LongAdder blockedMillis = new LongAdder();
+        List<LatencyRecorder> entryRecorders = Collections.synchronizedList(new ArrayList<>());
+        List<LatencyRecorder> exitRecorders = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(entryGates + exitGates);
+
+        Runnable recordContention = () -> {
+            if (contentionSupported) {
+                ThreadInfo info = threads.getThreadInfo(Thread.currentThread().getId());
+                if (info != null) {
+                    blockedCount.add(info.getBlockedCount());
+                    blockedMillis.add(Math.max(0, info.getBlockedTime()));
+                }
+            }
+        };
+
+        List<Thread> gateThreads = new ArrayList<>();
+        for (int g = 0; g < entryGates; g++) {
+            EntryGate gate = new EntryGate("SIM-ENTRY-" + g, lot);
+            lot.addEntryGate(gate);
+            Random random = new Random(seed + g);
+            gateThreads.add(threadFactory.newThread(() -> {
+                LatencyRecorder latencies = new LatencyRecorder();
+                entryRecorders.add(latencies);
+                try {
+                    start.await();
+                    long nextArrival = System.nanoTime();
+                    for (int i = 0; i < arrivalsPerGate; i++) {
+                        nextArrival += interArrival.sampleNanos(random);
+                        long wait = nextArrival - System.nanoTime();
+                        if (wait > 0) {
+                            LockSupport.parkNanos(wait);
+                        }
+
+                        Vehicle vehicle = vehicleFactory.apply(gate.getId() + "-" + i);
+                        long begin = System.nanoTime();
+                        Ticket ticket = gate.generateTicket(vehicle);
+                        long end = System.nanoTime();
+                        latencies.record(end - begin);
+
+                        if (ticket == null) {
+                            turnedAway.increment();
+                        } else {
+                            issued.increment();
+                            departures.add(new Departure(ticket, end + stay.sampleNanos(random)));
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    recordContention.run();
+                    entryGatesRunning.decrementAndGet();
+                    done.countDown();
+                }
+            }));
+        }
+
+        for (int g = 0; g < exitGates; g++) {
+            ExitGate gate = new ExitGate("SIM-EXIT-" + g, pricingStrategy, lot);
+            lot.addExitGate(gate);
+            gateThreads.add(threadFactory.newThread(() -> {
+                LatencyRecorder latencies = new LatencyRecorder();
+                exitRecorders.add(latencies);
+                try {
+                    start.await();
+                    while (true) {
+                        Departure departure = departures.poll(5, TimeUnit.MILLISECONDS);
+                        if (departure == null) {
+                            if (entryGatesRunning.get() == 0 && departures.isEmpty()) {
+                                break;
+                            }
+                            continue;
+                        }
+                        long begin = System.nanoTime();
+                        ExitGate.ExitResult result = gate.processExit(departure.ticket);
+                        latencies.record(System.nanoTime() - begin);
+                        if (result.isSuccess()) {
+                            exited.increment();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    recordContention.run();
+                    done.countDown();
+                }
+            }));
+        }
+
+        for (Thread thread : gateThreads) {
+            thread.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+
+        return new SimulationReport(entryGates, exitGates, issued.sum(), turnedAway.sum(), exited.sum(), elapsed,
+            LatencyRecorder.merge(entryRecorders), LatencyRecorder.merge(exitRecorders),
+            contentionSupported ? blockedCount.sum() : -1, contentionSupported ? blockedMillis.sum() : -1);
+    }
+
+    /**
+     * A parked car, due to leave at 'departAt' (System.nanoTime scale).
+     */
+    private static class Departure implements Delayed {
+        final Ticket ticket;
+        final long departAt;
+
+        Departure(Ticket ticket, long departAt) {
+            this.ticket = ticket;
+            this.departAt = departAt;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(departAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(departAt, ((Departure) other).departAt);
+        }
+    }
+
+    /**
+     * Builder for fluent GateSimulator creation.
+     */
+    public static class Builder {
+        private final ParkingLot lot;
+        private int entryGates = 4;
+        private int exitGates = 2;
+        private int arrivalsPerGate = 10_000;
+        private Distribution interArrival = Distribution.none();
+        private Distribution stay = Distribution.none();
+        private Function<String, Vehicle> vehicleFactory = Car::new;
+        private PricingStrategy pricingStrategy = new HourlyPricingStrategy();
+        private ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        };
+        private long seed = 42;
+
+        public Builder(ParkingLot lot) {
+            this.lot = lot;
+        }
+
+        public Builder entryGates(int count) {
+            if (count < 1) {
+                throw new IllegalArgumentException("Need at least one entry gate");
+            }
+            this.entryGates = count;
+            return this;
+        }
+
+        public Builder exitGates(int count) {
+            if (count < 1) {
+                throw new IllegalArgumentException("Need at least one exit gate");
+            }
+            this.exitGates = count;
+            return this;
+        }
+
+        public Builder arrivalsPerGate(int count) {
+            this.arrivalsPerGate = count;
+            return this;
+        }
+
+        public Builder interArrival(Distribution distribution) {
+            this.interArrival = distribution;
+            return this;
+        }
+
+        public Builder stay(Distribution distribution) {
+            this.stay = distribution;
+            return this;
+        }
+
+        /**
+         * Creates the vehicle for a license plate (default: every vehicle is a Car).
+         */
+        public Builder vehicleFactory(Function<String, Vehicle> factory) {
+            this.vehicleFactory = factory;
+            return this;
+        }
+
+        public Builder pricingStrategy(PricingStrategy strategy) {
+            this.pricingStrategy = strategy;
+            return this;
+        }
+
+        public Builder threadFactory(ThreadFactory factory) {
+            this.threadFactory = factory;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public GateSimulator build() {
+            return new GateSimulator(this);
+        }
+    }
+}
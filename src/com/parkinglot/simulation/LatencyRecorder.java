@@ -0,0 +1,42 @@
+package com.parkinglot.simulation;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Latency samples for ONE gate thread - never shared, so recording adds no contention.
+ * Recorders are merged once the run is over.
+ */
+class LatencyRecorder {
+    private long[] samples = new long[1024];
+    private int size;
+
+    void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * All samples of all recorders, sorted ascending.
+     */
+    static long[] merge(List<LatencyRecorder> recorders) {
+        int total = 0;
+        for (LatencyRecorder recorder : recorders) {
+            total += recorder.size;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.samples, 0, all, offset, recorder.size);
+            offset += recorder.size;
+        }
+        Arrays.sort(all);
+        return all;
+    }
+}
@@ -0,0 +1,81 @@
+package com.parkinglot.simulation;
+
+/**
+ * Outcome of one GateSimulator run.
+ */
+public class SimulationReport {
+    private final int entryGates;
+    private final int exitGates;
+    private final long ticketsIssued;
+    private final long turnedAway;
+    private final long exits;
+    private final long elapsedNanos;
+    private final long[] entryLatencies;  // sorted
+    private final long[] exitLatencies;   // sorted
+    private final long blockedCount;
+    private final long blockedMillis;
+
+    SimulationReport(int entryGates, int exitGates, long ticketsIssued, long turnedAway, long exits,
+                     long elapsedNanos, long[] entryLatencies, long[] exitLatencies,
+                     long blockedCount, long blockedMillis) {
+        this.entryGates = entryGates;
+        this.exitGates = exitGates;
+        this.ticketsIssued = ticketsIssued;
+        this.turnedAway = turnedAway;
+        this.exits = exits;
+        this.elapsedNanos = elapsedNanos;
+        this.entryLatencies = entryLatencies;
+        this.exitLatencies = exitLatencies;
+        this.blockedCount = blockedCount;
+        this.blockedMillis = blockedMillis;
+    }
+
+    public long getTicketsIssued() { return ticketsIssued; }
+    public long getTurnedAway() { return turnedAway; }
+    public long getExits() { return exits; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    /**
+     * Times gate threads had to wait for a monitor held by another thread (-1 if unsupported).
+     */
+    public long getBlockedCount() { return blockedCount; }
+    public long getBlockedMillis() { return blockedMillis; }
+
+    public double getTicketsPerSecond() {
+        return ticketsIssued * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * @param percentile 0-100, e.g. 99.9
+     */
+    public long getEntryLatencyNanos(double percentile) {
+        return percentile(entryLatencies, percentile);
+    }
+
+    public long getExitLatencyNanos(double percentile) {
+        return percentile(exitLatencies, percentile);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%d entry / %d exit gates: %,d tickets (%,d turned away), %,d exits in %.0f ms -> %,.0f tickets/sec%n" +
+            "  entry latency us  p50 %,.1f  p90 %,.1f  p99 %,.1f  p99.9 %,.1f  max %,.1f%n" +
+            "  exit  latency us  p50 %,.1f  p90 %,.1f  p99 %,.1f  p99.9 %,.1f  max %,.1f%n" +
+            "  contention: %,d blocked monitor waits, %,d ms blocked",
+            entryGates, exitGates, ticketsIssued, turnedAway, exits, elapsedNanos / 1e6, getTicketsPerSecond(),
+            getEntryLatencyNanos(50) / 1e3, getEntryLatencyNanos(90) / 1e3, getEntryLatencyNanos(99) / 1e3,
+            getEntryLatencyNanos(99.9) / 1e3, getEntryLatencyNanos(100) / 1e3,
+            getExitLatencyNanos(50) / 1e3, getExitLatencyNanos(90) / 1e3, getExitLatencyNanos(99) / 1e3,
+            getExitLatencyNanos(99.9) / 1e3, getExitLatencyNanos(100) / 1e3,
+            blockedCount, blockedMillis);
+    }
+}
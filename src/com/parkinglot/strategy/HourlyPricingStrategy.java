@@ -2,15 +2,29 @@ package com.parkinglot.strategy;
 
 import com.parkinglot.model.Ticket;
 
+/**
+ * Flat hourly rate for every vehicle, any time of day.
+ * Kept for simple setups; real tariffs belong in a TariffTable / TariffPricingStrategy.
+ */
 public class HourlyPricingStrategy implements PricingStrategy {
-    private static final double HOURLY_RATE = 2.0;
+    public static final double DEFAULT_HOURLY_RATE = 2.0;
+    
+    private final double hourlyRate;
+    
+    public HourlyPricingStrategy() {
+        this(DEFAULT_HOURLY_RATE);
+    }
+    
+    public HourlyPricingStrategy(double hourlyRate) {
+        this.hourlyRate = hourlyRate;
+    }
 
     @Override
-    public double calculatePrice(Ticket ticket) {
-        long durationMillis = System.currentTimeMillis() - ticket.getEntryTime();
+    public double calculatePrice(Ticket ticket, long exitTime) {
+        long durationMillis = exitTime - ticket.getEntryTime();
         double hours = Math.ceil(durationMillis / (1000.0 * 60 * 60));
         // Minimum 1 hour
         if (hours < 1) hours = 1;
-        return hours * HOURLY_RATE;
+        return hours * hourlyRate;
     }
 }
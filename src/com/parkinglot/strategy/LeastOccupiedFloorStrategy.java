@@ -0,0 +1,88 @@
+package com.parkinglot.strategy;
+
+import com.parkinglot.model.ParkingFloor;
+import com.parkinglot.model.ParkingSpot;
+import com.parkinglot.model.Vehicle;
+import com.parkinglot.enums.VehicleType;
+import com.parkinglot.enums.SpotType;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * "Most Empty Floor" strategy: parks on the floor with the lowest occupancy
+ * ratio that still has a spot of the right type. Spreads load (and traffic
+ * on the ramps) evenly across floors.
+ * 
+ * Each floor keeps live atomic counters updated in getSpot/returnSpot, so
+ * choosing a floor is one volatile read per floor - no deque or spot scans.
+ * 
+ * ONE SCAN PER VEHICLE:
+ * - The ratios are read once; the least occupied floor is tried first   -> O(F)
+ * - If another gate took its last spot in between, the remaining floors are
+ *   sorted by the ratios already read and tried in that order             -> O(F log F)
+ * So a vehicle never costs more than one pass plus one sort, however many races it loses.
+ * 
+ * WHY NOT KEEP THE FLOORS SORTED?
+ * Occupancy changes on every park and every exit, so a heap or skip list ordered by it
+ * would need a remove + insert (and a per-floor lock to keep the two consistent) on
+ * both paths, and would drift whenever a spot is claimed without the strategy
+ * (reservations, journal recovery). Floors number in the tens: one pass of volatile
+ * reads is cheaper than that upkeep.
+ */
+public class LeastOccupiedFloorStrategy implements ParkingAssignmentStrategy {
+    
+    @Override
+    public ParkingSpot findSpot(List<ParkingFloor> floors, VehicleType vehicleType) {
+        return pick(floors, vehicleType, null);
+    }
+    
+    @Override
+    public ParkingSpot assignSpot(List<ParkingFloor> floors, Vehicle vehicle, String entryGateId) {
+        return pick(floors, vehicle.getType(), vehicle);
+    }
+    
+    /**
+     * @param vehicle if non-null, parked in the chosen spot in the same step (ParkingFloor.assignSpot)
+     */
+    private ParkingSpot pick(List<ParkingFloor> floors, VehicleType vehicleType, Vehicle vehicle) {
+        SpotType spotType = NearestFirstStrategy.getSpotTypeForVehicle(vehicleType);
+        int floorCount = floors.size();
+        double[] ratios = new double[floorCount];
+        int best = -1;
+        for (int i = 0; i < floorCount; i++) {
+            ParkingFloor floor = floors.get(i);
+            ratios[i] = floor.hasSpace(spotType) ? floor.getOccupancyRatio() : Double.NaN;
+            if (!Double.isNaN(ratios[i]) && (best < 0 || ratios[i] < ratios[best])) {
+                best = i;
+            }
+        }
+        if (best < 0) {
+            return null;  // No floor has this spot type free
+        }
+        ParkingSpot spot = claim(floors.get(best), spotType, vehicle);
+        if (spot != null) {
+            return spot;
+        }
+        
+        // Lost the race for the last spot: the rest, least occupied first, from the same reading
+        List<Integer> rest = new ArrayList<>(floorCount);
+        for (int i = 0; i < floorCount; i++) {
+            if (i != best && !Double.isNaN(ratios[i])) {
+                rest.add(i);
+            }
+        }
+        rest.sort(Comparator.comparingDouble(i -> ratios[i]));
+        for (int i : rest) {
+            spot = claim(floors.get(i), spotType, vehicle);
+            if (spot != null) {
+                return spot;
+            }
+        }
+        return null;
+    }
+    
+    private static ParkingSpot claim(ParkingFloor floor, SpotType spotType, Vehicle vehicle) {
+        return vehicle == null ? floor.getSpot(spotType) : floor.assignSpot(spotType, vehicle);
+    }
+}
@@ -2,6 +2,7 @@ package com.parkinglot.strategy;
 
 import com.parkinglot.model.ParkingFloor;
 import com.parkinglot.model.ParkingSpot;
+import com.parkinglot.model.Vehicle;
 import com.parkinglot.enums.VehicleType;
 import com.parkinglot.enums.SpotType;
 import java.util.List;
@@ -19,8 +20,21 @@ public class NearestFirstStrategy implements ParkingAssignmentStrategy {
         }
         return null;
     }
+    
+    @Override
+    public ParkingSpot assignSpot(List<ParkingFloor> floors, Vehicle vehicle, String entryGateId) {
+        SpotType spotType = getSpotTypeForVehicle(vehicle.getType());
+        
+        for (ParkingFloor floor : floors) {
+            ParkingSpot spot = floor.assignSpot(spotType, vehicle);
+            if (spot != null) {
+                return spot;
+            }
+        }
+        return null;
+    }
 
-    private SpotType getSpotTypeForVehicle(VehicleType vehicleType) {
+    static SpotType getSpotTypeForVehicle(VehicleType vehicleType) {
         switch (vehicleType) {
             case CAR: return SpotType.COMPACT;
             case TRUCK: return SpotType.LARGE;
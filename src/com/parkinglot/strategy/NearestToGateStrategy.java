@@ -0,0 +1,175 @@
+package com.parkinglot.strategy;
+
+import com.parkinglot.model.ParkingFloor;
+import com.parkinglot.model.ParkingSpot;
+import com.parkinglot.model.Vehicle;
+import com.parkinglot.enums.VehicleType;
+import com.parkinglot.enums.SpotType;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Assigns the free spot closest to the gate the vehicle entered through.
+ *
+ * INDEX (built once, on the first findSpot call):
+ * - For every (gate, SpotType): a ConcurrentSkipListSet of free spots ordered by
+ *   the precomputed distance from that gate - a concurrent min-heap without duplicates
+ *
+ * findSpot:  pollFirst() from the gate's set, claim that exact spot on its floor (CAS) -> O(log n)
+ * release:   add the spot back to every gate's set                                 -> O(G log n)
+ *
+ * LAZY DELETION: a claim leaves the spot's entries in the other gates' sets. When one of
+ * them is polled, its claim fails and the entry is simply dropped. Nothing but a poll
+ * ever removes an entry, and a poll is always followed by a claim attempt, so:
+ * - every free spot is in every gate's set (a failed claim means the spot was taken,
+ *   and its release re-adds it) - a release racing a claim can never lose an entry
+ * - each stale entry is dropped once per stay, by the gate that reaches it
+ *
+ * Floors, spots and gates must be set up before the first vehicle arrives.
+ */
+public class NearestToGateStrategy implements ParkingAssignmentStrategy {
+    private final SpotDistanceModel distanceModel;
+    private final List<String> entryGateIds;
+
+    // gateId -> spotType -> free spots, nearest first
+    private volatile Map<String, Map<SpotType, NavigableSet<SpotEntry>>> freeByGate;
+    // gateId -> spotId -> precomputed entry (so re-adding a spot never recomputes distance)
+    private Map<String, Map<String, SpotEntry>> entriesByGate;
+    private Map<String, ParkingFloor> floorsById;
+
+    public NearestToGateStrategy(SpotDistanceModel distanceModel, List<String> entryGateIds) {
+        this.distanceModel = distanceModel;
+        this.entryGateIds = new ArrayList<>(entryGateIds);
+    }
+
+    @Override
+    public ParkingSpot findSpot(List<ParkingFloor> floors, VehicleType vehicleType) {
+        return nearestFirst(floors, vehicleType, null);
+    }
+
+    @Override
+    public ParkingSpot findSpot(List<ParkingFloor> floors, VehicleType vehicleType, String entryGateId) {
+        return pick(floors, vehicleType, entryGateId, null);
+    }
+
+    @Override
+    public ParkingSpot assignSpot(List<ParkingFloor> floors, Vehicle vehicle, String entryGateId) {
+        return pick(floors, vehicle.getType(), entryGateId, vehicle);
+    }
+
+    /**
+     * @param vehicle if non-null, parked in the chosen spot in the same step (ParkingFloor.assignSpot)
+     */
+    private ParkingSpot pick(List<ParkingFloor> floors, VehicleType vehicleType, String entryGateId, Vehicle vehicle) {
+        ensureIndexed(floors);
+        Map<SpotType, NavigableSet<SpotEntry>> byType = freeByGate.get(entryGateId);
+        if (byType == null) {
+            return nearestFirst(floors, vehicleType, vehicle);  // Unknown gate
+        }
+
+        SpotType spotType = NearestFirstStrategy.getSpotTypeForVehicle(vehicleType);
+        NavigableSet<SpotEntry> candidates = byType.get(spotType);
+        SpotEntry entry;
+        while ((entry = candidates.pollFirst()) != null) {
+            ParkingSpot spot = entry.spot;
+            ParkingFloor floor = floorsById.get(spot.getFloorId());
+            if (vehicle == null ? floor.claimSpot(spot) : floor.assignSpot(spot, vehicle)) {
+                return spot;  // Its entries at the other gates go stale (see LAZY DELETION)
+            }
+            // Already taken: stale entry, keep looking
+        }
+        return null;
+    }
+
+    /**
+     * No gate known: behave like NearestFirstStrategy.
+     */
+    private ParkingSpot nearestFirst(List<ParkingFloor> floors, VehicleType vehicleType, Vehicle vehicle) {
+        SpotType spotType = NearestFirstStrategy.getSpotTypeForVehicle(vehicleType);
+        for (ParkingFloor floor : floors) {
+            ParkingSpot spot = vehicle == null ? floor.getSpot(spotType) : floor.assignSpot(spotType, vehicle);
+            if (spot != null) {
+                return spot;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void onSpotReleased(ParkingSpot spot) {
+        if (freeByGate == null) {
+            return;
+        }
+        for (String gateId : entryGateIds) {
+            SpotEntry entry = entriesByGate.get(gateId).get(spot.getId());
+            if (entry != null) {
+                freeByGate.get(gateId).get(spot.getType()).add(entry);
+            }
+        }
+    }
+
+    /**
+     * Precompute every (gate, spot) distance and build the per-gate sets. Runs once.
+     */
+    private void ensureIndexed(List<ParkingFloor> floors) {
+        if (freeByGate != null) {
+            return;
+        }
+        synchronized (this) {
+            if (freeByGate != null) {
+                return;
+            }
+            Map<String, ParkingFloor> floorIndex = new HashMap<>();
+            Map<String, Map<String, SpotEntry>> entries = new HashMap<>();
+            Map<String, Map<SpotType, NavigableSet<SpotEntry>>> sets = new HashMap<>();
+
+            for (String gateId : entryGateIds) {
+                entries.put(gateId, new ConcurrentHashMap<>());
+                Map<SpotType, NavigableSet<SpotEntry>> byType = new EnumMap<>(SpotType.class);
+                for (SpotType type : SpotType.values()) {
+                    byType.put(type, new ConcurrentSkipListSet<>());
+                }
+                sets.put(gateId, byType);
+            }
+
+            for (ParkingFloor floor : floors) {
+                floorIndex.put(floor.getFloorId(), floor);
+                for (SpotType type : SpotType.values()) {
+                    for (ParkingSpot spot : floor.getSpots(type)) {
+                        for (String gateId : entryGateIds) {
+                            SpotEntry entry = new SpotEntry(distanceModel.distance(gateId, spot), spot);
+                            entries.get(gateId).put(spot.getId(), entry);
+                            if (spot.isFree()) {
+                                sets.get(gateId).get(type).add(entry);
+                            }
+                        }
+                    }
+                }
+            }
+
+            this.floorsById = floorIndex;
+            this.entriesByGate = entries;
+            this.freeByGate = sets;  // volatile write publishes everything above
+        }
+    }
+
+    /**
+     * Ordered by distance, then spot id so equal distances stay distinct.
+     */
+    private static class SpotEntry implements Comparable<SpotEntry> {
+        final double distance;
+        final ParkingSpot spot;
+
+        SpotEntry(double distance, ParkingSpot spot) {
+            this.distance = distance;
+            this.spot = spot;
+        }
+
+        @Override
+        public int compareTo(SpotEntry other) {
+            int byDistance = Double.compare(distance, other.distance);
+            return byDistance != 0 ? byDistance : spot.getId().compareTo(other.spot.getId());
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.parkinglot.strategy;
 
 import com.parkinglot.model.ParkingFloor;
 import com.parkinglot.model.ParkingSpot;
+import com.parkinglot.model.Vehicle;
 import com.parkinglot.enums.VehicleType;
 import java.util.List;
 
@@ -17,4 +18,34 @@ import java.util.List;
  */
 public interface ParkingAssignmentStrategy {
     ParkingSpot findSpot(List<ParkingFloor> floors, VehicleType vehicleType);
+    
+    /**
+     * Gate-aware variant. Strategies that don't care which gate was used
+     * (e.g. NearestFirstStrategy) inherit this default.
+     */
+    default ParkingSpot findSpot(List<ParkingFloor> floors, VehicleType vehicleType, String entryGateId) {
+        return findSpot(floors, vehicleType);
+    }
+    
+    /**
+     * Pick a spot AND park the vehicle in it (used by ParkingLot.getTicket).
+     * 
+     * The default claims a spot with findSpot and then places the vehicle. Built-in
+     * strategies override it with ParkingFloor.assignSpot, which does both in one step
+     * and moves on to the next spot if the first one turns out to be taken.
+     * 
+     * @return the spot now holding the vehicle, or null if none could be assigned
+     */
+    default ParkingSpot assignSpot(List<ParkingFloor> floors, Vehicle vehicle, String entryGateId) {
+        ParkingSpot spot = findSpot(floors, vehicle.getType(), entryGateId);
+        // A failed assignment leaves the claimed spot with its actual occupant
+        return spot != null && spot.assignVehicle(vehicle) ? spot : null;
+    }
+    
+    /**
+     * Called after a spot has been returned to its floor, for strategies
+     * that keep their own index of free spots.
+     */
+    default void onSpotReleased(ParkingSpot spot) {
+    }
 }
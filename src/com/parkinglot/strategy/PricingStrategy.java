@@ -9,7 +9,17 @@ import com.parkinglot.model.Ticket;
  * - Pricing rules are complex and change often (e.g., Hourly, Daily, Weekend, Holiday).
  * - We don't want to hardcode pricing logic in the Ticket or ParkingLot class.
  * - This allows us to plug in different pricing models easily.
+ * 
+ * The exit time is passed in explicitly so fees are reproducible
+ * (re-pricing paid tickets for reports, what-if tariffs).
  */
 public interface PricingStrategy {
-    double calculatePrice(Ticket ticket);
+    double calculatePrice(Ticket ticket, long exitTime);
+    
+    /**
+     * Fee if the vehicle left right now.
+     */
+    default double calculatePrice(Ticket ticket) {
+        return calculatePrice(ticket, System.currentTimeMillis());
+    }
 }
@@ -0,0 +1,122 @@
+package com.parkinglot.strategy;
+
+import com.parkinglot.enums.SpotType;
+import com.parkinglot.enums.VehicleType;
+import com.parkinglot.model.ParkingFloor;
+import com.parkinglot.model.ParkingSpot;
+import com.parkinglot.model.Vehicle;
+import com.parkinglot.reservation.ReservationBook;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decorator: any assignment strategy, but never a spot that is booked during
+ * the walk-in vehicle's expected stay [now, now + expectedStay).
+ *
+ * - Ask the wrapped strategy for a spot (it claims it, and parks the vehicle in assignSpot)
+ * - Not booked in the window? Done - the common case costs one timeline lookup
+ * - Booked? Hand it straight back (floor + wrapped strategy's index), so no other gate
+ *   ever sees it taken, and let the ReservationBook's index pick among the free,
+ *   unbooked spots instead
+ *
+ * At most one spot is held at a time. Every release goes through the wrapped strategy's
+ * onSpotReleased, so an index it keeps (e.g. NearestToGateStrategy) stays in step.
+ * A spot claimed from the ReservationBook's candidates is only a stale entry in that
+ * index until it is released - the wrapped strategy already drops those.
+ *
+ * Pre-booked vehicles themselves are routed to their reserved spot by ParkingLot.
+ */
+public class ReservationAwareStrategy implements ParkingAssignmentStrategy {
+    private static final int FALLBACK_CANDIDATES = 32;
+
+    private final ParkingAssignmentStrategy delegate;
+    private final ReservationBook reservations;
+    private final long expectedStayMillis;
+    private final Map<String, ParkingFloor> floorsById = new ConcurrentHashMap<>();
+
+    public ReservationAwareStrategy(ParkingAssignmentStrategy delegate, ReservationBook reservations,
+                                    Duration expectedStay) {
+        this.delegate = delegate;
+        this.reservations = reservations;
+        this.expectedStayMillis = expectedStay.toMillis();
+    }
+
+    @Override
+    public ParkingSpot findSpot(List<ParkingFloor> floors, VehicleType vehicleType) {
+        return pick(floors, vehicleType, null, null);
+    }
+
+    @Override
+    public ParkingSpot findSpot(List<ParkingFloor> floors, VehicleType vehicleType, String entryGateId) {
+        return pick(floors, vehicleType, entryGateId, null);
+    }
+
+    @Override
+    public ParkingSpot assignSpot(List<ParkingFloor> floors, Vehicle vehicle, String entryGateId) {
+        return pick(floors, vehicle.getType(), entryGateId, vehicle);
+    }
+
+    @Override
+    public void onSpotReleased(ParkingSpot spot) {
+        delegate.onSpotReleased(spot);
+    }
+
+    /**
+     * @param vehicle if non-null, parked in the chosen spot in the same step
+     */
+    private ParkingSpot pick(List<ParkingFloor> floors, VehicleType vehicleType, String entryGateId, Vehicle vehicle) {
+        long now = reservations.currentTime();
+        long until = now + expectedStayMillis;
+
+        ParkingSpot spot;
+        if (vehicle != null) {
+            spot = delegate.assignSpot(floors, vehicle, entryGateId);
+        } else {
+            spot = entryGateId == null
+                ? delegate.findSpot(floors, vehicleType)
+                : delegate.findSpot(floors, vehicleType, entryGateId);
+        }
+        if (spot == null) {
+            return null;  // Nothing free at all
+        }
+        if (reservations.isFree(spot, now, until)) {
+            return spot;
+        }
+        release(floors, spot);  // Someone is arriving for it soon
+
+        // The index only offers spots that are free now and unbooked for the whole stay
+        SpotType spotType = NearestFirstStrategy.getSpotTypeForVehicle(vehicleType);
+        for (ParkingSpot candidate : reservations.findFreeSpots(spotType, now, until, FALLBACK_CANDIDATES)) {
+            ParkingFloor floor = floorOf(floors, candidate);
+            if (vehicle == null ? floor.claimSpot(candidate) : floor.assignSpot(candidate, vehicle)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private void release(List<ParkingFloor> floors, ParkingSpot spot) {
+        floorOf(floors, spot).returnSpot(spot);
+        delegate.onSpotReleased(spot);
+    }
+
+    /**
+     * O(1) after the first lookup of each floor; floors added later are found on their first miss.
+     */
+    private ParkingFloor floorOf(List<ParkingFloor> floors, ParkingSpot spot) {
+        ParkingFloor floor = floorsById.get(spot.getFloorId());
+        if (floor != null) {
+            return floor;
+        }
+        for (ParkingFloor candidate : floors) {
+            floorsById.putIfAbsent(candidate.getFloorId(), candidate);
+        }
+        floor = floorsById.get(spot.getFloorId());
+        if (floor == null) {
+            throw new IllegalStateException("Spot " + spot.getId() + " is not on any floor");
+        }
+        return floor;
+    }
+}
@@ -0,0 +1,13 @@
+package com.parkinglot.strategy;
+
+import com.parkinglot.model.ParkingSpot;
+
+/**
+ * Walking/driving distance from an entry gate to a spot.
+ * Supplied by the garage layout (CAD export, survey, ...) and evaluated once per
+ * (gate, spot) pair when NearestToGateStrategy builds its indexes.
+ */
+@FunctionalInterface
+public interface SpotDistanceModel {
+    double distance(String entryGateId, ParkingSpot spot);
+}
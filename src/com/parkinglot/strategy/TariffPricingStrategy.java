@@ -0,0 +1,221 @@
+package com.parkinglot.strategy;
+
+import com.parkinglot.enums.VehicleType;
+import com.parkinglot.model.Ticket;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.zone.ZoneRules;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Prices tickets from a TariffTable compiled into one fee function per VehicleType.
+ *
+ * COMPILATION (once, in the constructor):
+ * - Paint every band onto a minute-of-week grid (later rules win), then collapse
+ *   runs of equal rate into segments
+ * - For each segment start, precompute the fee accrued since Monday 00:00
+ *   -> accrued(t) = cumulative[i] + rate[i] * (t - start[i]), i by binary search
+ * - Capped fee of every FULL day of the week, plus prefix sums over two weeks
+ *
+ * PRICING A STAY [entry, exit):
+ * - first partial day + last partial day: two lookups each, capped per day
+ * - full days in between: whole weeks * weekly total + a prefix-sum difference
+ * -> O(log segments) regardless of how long the car stayed, no if/else chains
+ *
+ * Local time is taken from the zone offset at entry and applied to the whole stay.
+ */
+public class TariffPricingStrategy implements PricingStrategy {
+    private static final long MINUTE = 60_000L;
+    private static final long DAY = 24 * 60 * MINUTE;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+    private static final int PARALLEL_BATCH_THRESHOLD = 10_000;
+
+    private final Map<VehicleType, FeeFunction> functions;
+    private final long billingIncrementMillis;
+    private final long graceMillis;
+    private final ZoneRules zoneRules;
+
+    public TariffPricingStrategy(TariffTable table) {
+        this.functions = new EnumMap<>(VehicleType.class);
+        for (VehicleType type : VehicleType.values()) {
+            functions.put(type, compile(table.getBands(type), table.getCaps(type)));
+        }
+        this.billingIncrementMillis = table.getBillingIncrement().toMillis();
+        this.graceMillis = table.getGracePeriod().toMillis();
+        this.zoneRules = table.getZone().getRules();
+    }
+
+    @Override
+    public double calculatePrice(Ticket ticket, long exitTime) {
+        return calculatePrice(ticket.getVehicleType(), ticket.getEntryTime(), exitTime);
+    }
+
+    public double calculatePrice(VehicleType type, long entryTime, long exitTime) {
+        long stay = exitTime - entryTime;
+        if (stay < graceMillis) {
+            return 0;
+        }
+        long increments = Math.max(1, (stay + billingIncrementMillis - 1) / billingIncrementMillis);
+        long localEntry = entryTime + zoneRules.getOffset(Instant.ofEpochMilli(entryTime)).getTotalSeconds() * 1000L;
+        FeeFunction function = functions.get(type);
+        if (function == null) {
+            throw new IllegalArgumentException("Ticket has no vehicle type");
+        }
+        return function.fee(localEntry, localEntry + increments * billingIncrementMillis);
+    }
+
+    /**
+     * Price many stays at once (nightly revenue reports, tariff what-ifs).
+     * Large batches are spread over the common fork-join pool.
+     */
+    public double[] calculatePrices(List<Ticket> tickets, long[] exitTimes) {
+        if (tickets.size() != exitTimes.length) {
+            throw new IllegalArgumentException("Need exactly one exit time per ticket");
+        }
+        double[] fees = new double[exitTimes.length];
+        IntStream indexes = IntStream.range(0, fees.length);
+        if (fees.length >= PARALLEL_BATCH_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(i -> fees[i] = calculatePrice(tickets.get(i), exitTimes[i]));
+        return fees;
+    }
+
+    /**
+     * Re-price paid tickets at their recorded exit times, totalled per vehicle type.
+     */
+    public Map<VehicleType, Double> revenueByVehicleType(List<Ticket> paidTickets) {
+        long[] exitTimes = new long[paidTickets.size()];
+        for (int i = 0; i < exitTimes.length; i++) {
+            exitTimes[i] = paidTickets.get(i).getExitTime();
+        }
+        double[] fees = calculatePrices(paidTickets, exitTimes);
+
+        Map<VehicleType, Double> revenue = new EnumMap<>(VehicleType.class);
+        for (int i = 0; i < fees.length; i++) {
+            revenue.merge(paidTickets.get(i).getVehicleType(), fees[i], Double::sum);
+        }
+        return revenue;
+    }
+
+    // ============ COMPILATION ============
+
+    private static FeeFunction compile(List<TariffTable.RateBand> bands, List<TariffTable.DailyCap> caps) {
+        // 1. Hourly rate for every minute of the week (Monday 00:00 = minute 0)
+        double[] grid = new double[MINUTES_PER_WEEK];
+        for (TariffTable.RateBand band : bands) {
+            int from = band.getFrom().toSecondOfDay() / 60;
+            int to = band.getTo().toSecondOfDay() / 60;
+            int length = to > from ? to - from : to - from + MINUTES_PER_DAY;  // wraps past midnight
+            for (DayOfWeek day : band.getDays()) {
+                int start = (day.getValue() - 1) * MINUTES_PER_DAY + from;
+                for (int m = 0; m < length; m++) {
+                    grid[(start + m) % MINUTES_PER_WEEK] = band.getHourlyRate();
+                }
+            }
+        }
+
+        // 2. Collapse equal-rate runs into segments with cumulative fee at each start
+        List<Integer> starts = new ArrayList<>();
+        for (int m = 0; m < MINUTES_PER_WEEK; m++) {
+            if (m == 0 || grid[m] != grid[m - 1]) {
+                starts.add(m);
+            }
+        }
+        int n = starts.size();
+        long[] startMillis = new long[n];
+        double[] ratePerMilli = new double[n];
+        double[] cumulative = new double[n];
+        double accrued = 0;
+        for (int i = 0; i < n; i++) {
+            int startMinute = starts.get(i);
+            int endMinute = i + 1 < n ? starts.get(i + 1) : MINUTES_PER_WEEK;
+            startMillis[i] = startMinute * MINUTE;
+            ratePerMilli[i] = grid[startMinute] / (60 * MINUTE);
+            cumulative[i] = accrued;
+            accrued += grid[startMinute] * (endMinute - startMinute) / 60.0;
+        }
+
+        // 3. Daily caps (later rules win; no rule = uncapped)
+        double[] dayCap = new double[7];
+        Arrays.fill(dayCap, Double.POSITIVE_INFINITY);
+        for (TariffTable.DailyCap cap : caps) {
+            for (DayOfWeek day : cap.getDays()) {
+                dayCap[day.getValue() - 1] = cap.getCap();
+            }
+        }
+        return new FeeFunction(startMillis, ratePerMilli, cumulative, dayCap);
+    }
+
+    /**
+     * Piecewise-linear fee over one week, with per-day caps.
+     */
+    private static class FeeFunction {
+        private final long[] startMillis;
+        private final double[] ratePerMilli;
+        private final double[] cumulative;
+        private final double[] dayCap;
+        // fullDayPrefix[d] = capped fees of days 0..d-1, over two weeks so ranges never wrap
+        private final double[] fullDayPrefix = new double[15];
+        private final double weekTotal;
+
+        FeeFunction(long[] startMillis, double[] ratePerMilli, double[] cumulative, double[] dayCap) {
+            this.startMillis = startMillis;
+            this.ratePerMilli = ratePerMilli;
+            this.cumulative = cumulative;
+            this.dayCap = dayCap;
+            for (int d = 0; d < 14; d++) {
+                int dow = d % 7;
+                double full = Math.min(dayCap[dow], accrued((dow + 1) * DAY) - accrued(dow * DAY));
+                fullDayPrefix[d + 1] = fullDayPrefix[d] + full;
+            }
+            this.weekTotal = fullDayPrefix[7];
+        }
+
+        /**
+         * Fee from local time 'from' to local time 'to' (epoch millis shifted to the zone).
+         */
+        double fee(long from, long to) {
+            long firstDay = Math.floorDiv(from, DAY);
+            long lastDay = Math.floorDiv(to, DAY);
+            if (firstDay == lastDay) {
+                return withinDay(firstDay, from, to);
+            }
+            double fee = withinDay(firstDay, from, (firstDay + 1) * DAY);
+            long fullDays = lastDay - firstDay - 1;
+            if (fullDays > 0) {
+                int startDow = dayOfWeek(firstDay + 1);
+                int rest = (int) (fullDays % 7);
+                fee += (fullDays / 7) * weekTotal + fullDayPrefix[startDow + rest] - fullDayPrefix[startDow];
+            }
+            return fee + withinDay(lastDay, lastDay * DAY, to);
+        }
+
+        private double withinDay(long day, long from, long to) {
+            int dow = dayOfWeek(day);
+            long weekFrom = dow * DAY + (from - day * DAY);
+            double charge = accrued(weekFrom + (to - from)) - accrued(weekFrom);
+            return Math.min(dayCap[dow], charge);
+        }
+
+        /**
+         * Fee accrued from Monday 00:00 to 'weekMillis' (0 to one week, inclusive).
+         */
+        private double accrued(long weekMillis) {
+            int i = Arrays.binarySearch(startMillis, weekMillis);
+            if (i < 0) {
+                i = -i - 2;  // Segment containing weekMillis
+            }
+            return cumulative[i] + ratePerMilli[i] * (weekMillis - startMillis[i]);
+        }
+
+        /**
+         * 0 = Monday. Epoch day 0 (1970-01-01) was a Thursday.
+         */
+        private static int dayOfWeek(long epochDay) {
+            return (int) Math.floorMod(epochDay + 3, 7L);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.parkinglot.strategy;
+
+import com.parkinglot.enums.VehicleType;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * TariffTable - declarative parking tariff, compiled by TariffPricingStrategy.
+ *
+ * A tariff is a list of rules per VehicleType:
+ * - rate bands:  "CAR pays 3.0/h on weekdays 08:00-18:00"   (later rules override earlier ones)
+ * - daily caps:  "CAR pays at most 20.0 per calendar day"   (optionally only on some days)
+ * plus billing settings shared by all vehicles (increment, grace period, time zone).
+ *
+ * Example usage:
+ *   TariffTable table = new TariffTable.Builder()
+ *       .rate(1.0)                                                    // everyone, all week
+ *       .rate(VehicleType.CAR, TariffTable.WEEKDAYS, LocalTime.of(8, 0), LocalTime.of(18, 0), 3.0)
+ *       .rate(VehicleType.CAR, TariffTable.WEEKEND, LocalTime.MIDNIGHT, LocalTime.MIDNIGHT, 1.5)
+ *       .dailyCap(VehicleType.CAR, 20.0)
+ *       .build();
+ *
+ * A band with to <= from wraps past midnight into the next day (22:00-06:00).
+ * from == to covers the whole day. Times not covered by any band are free.
+ */
+public class TariffTable {
+    public static final Set<DayOfWeek> ALL_DAYS = Collections.unmodifiableSet(EnumSet.allOf(DayOfWeek.class));
+    public static final Set<DayOfWeek> WEEKDAYS = Collections.unmodifiableSet(
+        EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY));
+    public static final Set<DayOfWeek> WEEKEND = Collections.unmodifiableSet(
+        EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY));
+
+    private final Map<VehicleType, List<RateBand>> bands;
+    private final Map<VehicleType, List<DailyCap>> caps;
+    private final Duration billingIncrement;
+    private final Duration gracePeriod;
+    private final ZoneId zone;
+
+    private TariffTable(Builder builder) {
+        this.bands = builder.bands;
+        this.caps = builder.caps;
+        this.billingIncrement = builder.billingIncrement;
+        this.gracePeriod = builder.gracePeriod;
+        this.zone = builder.zone;
+    }
+
+    public List<RateBand> getBands(VehicleType type) { return bands.get(type); }
+    public List<DailyCap> getCaps(VehicleType type) { return caps.get(type); }
+    public Duration getBillingIncrement() { return billingIncrement; }
+    public Duration getGracePeriod() { return gracePeriod; }
+    public ZoneId getZone() { return zone; }
+
+    /**
+     * One rate band: 'hourlyRate' applies from 'from' to 'to' on each of 'days'.
+     */
+    public static class RateBand {
+        private final Set<DayOfWeek> days;
+        private final LocalTime from;
+        private final LocalTime to;
+        private final double hourlyRate;
+
+        RateBand(Set<DayOfWeek> days, LocalTime from, LocalTime to, double hourlyRate) {
+            this.days = EnumSet.copyOf(days);
+            this.from = from;
+            this.to = to;
+            this.hourlyRate = hourlyRate;
+        }
+
+        public Set<DayOfWeek> getDays() { return days; }
+        public LocalTime getFrom() { return from; }
+        public LocalTime getTo() { return to; }
+        public double getHourlyRate() { return hourlyRate; }
+    }
+
+    /**
+     * Maximum charge for one calendar day (local time) on each of 'days'.
+     */
+    public static class DailyCap {
+        private final Set<DayOfWeek> days;
+        private final double cap;
+
+        DailyCap(Set<DayOfWeek> days, double cap) {
+            this.days = EnumSet.copyOf(days);
+            this.cap = cap;
+        }
+
+        public Set<DayOfWeek> getDays() { return days; }
+        public double getCap() { return cap; }
+    }
+
+    /**
+     * Builder for fluent TariffTable creation.
+     */
+    public static class Builder {
+        private final Map<VehicleType, List<RateBand>> bands = new EnumMap<>(VehicleType.class);
+        private final Map<VehicleType, List<DailyCap>> caps = new EnumMap<>(VehicleType.class);
+        private Duration billingIncrement = Duration.ofHours(1);
+        private Duration gracePeriod = Duration.ZERO;
+        private ZoneId zone = ZoneId.systemDefault();
+
+        public Builder() {
+            for (VehicleType type : VehicleType.values()) {
+                bands.put(type, new ArrayList<>());
+                caps.put(type, new ArrayList<>());
+            }
+        }
+
+        /**
+         * Flat hourly rate for every vehicle type, all week.
+         */
+        public Builder rate(double hourlyRate) {
+            for (VehicleType type : VehicleType.values()) {
+                rate(type, ALL_DAYS, LocalTime.MIDNIGHT, LocalTime.MIDNIGHT, hourlyRate);
+            }
+            return this;
+        }
+
+        public Builder rate(VehicleType type, double hourlyRate) {
+            return rate(type, ALL_DAYS, LocalTime.MIDNIGHT, LocalTime.MIDNIGHT, hourlyRate);
+        }
+
+        public Builder rate(VehicleType type, Set<DayOfWeek> days, LocalTime from, LocalTime to, double hourlyRate) {
+            if (hourlyRate < 0) {
+                throw new IllegalArgumentException("Hourly rate must not be negative: " + hourlyRate);
+            }
+            bands.get(type).add(new RateBand(days, from, to, hourlyRate));
+            return this;
+        }
+
+        public Builder dailyCap(VehicleType type, double cap) {
+            return dailyCap(type, ALL_DAYS, cap);
+        }
+
+        public Builder dailyCap(VehicleType type, Set<DayOfWeek> days, double cap) {
+            if (cap < 0) {
+                throw new IllegalArgumentException("Daily cap must not be negative: " + cap);
+            }
+            caps.get(type).add(new DailyCap(days, cap));
+            return this;
+        }
+
+        /**
+         * Stays are billed in whole increments, rounded up (minimum one increment).
+         */
+        public Builder billingIncrement(Duration increment) {
+            if (increment.isNegative() || increment.isZero()) {
+                throw new IllegalArgumentException("Billing increment must be positive");
+            }
+            this.billingIncrement = increment;
+            return this;
+        }
+
+        /**
+         * Stays shorter than this are free.
+         */
+        public Builder gracePeriod(Duration grace) {
+            this.gracePeriod = grace;
+            return this;
+        }
+
+        public Builder zone(ZoneId zone) {
+            this.zone = zone;
+            return this;
+        }
+
+        public TariffTable build() {
+            for (VehicleType type : VehicleType.values()) {
+                if (bands.get(type).isEmpty()) {
+                    throw new IllegalStateException("No rate defined for vehicle type " + type);
+                }
+            }
+            return new TariffTable(this);
+        }
+    }
+}
@@ -1,15 +1,24 @@
 package com.splitwise;
 
+import com.splitwise.currency.CachingFxRateProvider;
+import com.splitwise.currency.FileFxRateProvider;
 import com.splitwise.model.*;
 import com.splitwise.service.SplitwiseService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
 
 /**
  * SplitwiseDemo demonstrates all features of the Splitwise system.
+ * The EventBus runs in synchronous mode, so each expense/settlement is logged
+ * before the next line of the demo prints.
  */
 public class SplitwiseDemo {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException, IOException {
         SplitwiseService service = SplitwiseService.getInstance();
+        service.getEventBus().setSynchronous(true);  // log events in line with the demo output
         
         // ============ 1. CREATE USERS ============
         System.out.println("=== Creating Users ===");
@@ -79,6 +88,15 @@ public class SplitwiseDemo {
         service.printBalances("u1");
         service.printBalances("u2");
         
+        // ============ 7b. GROUP NET BALANCES (materialized view) ============
+        System.out.println("\n=== Beach Trip Net Balances ===");
+        // Settle inside the group so the group's view is updated as well
+        service.settleUp(trip.getId(), bob, carol, 40.0);  // Bob pays Carol $40
+        for (User member : trip.getMembers()) {
+            System.out.println(member.getName() + ": " + String.format("%.2f", trip.getNetBalance(member.getId())));
+        }
+        System.out.println("View consistent with history: " + service.verifyGroupBalances(trip.getId()));
+        
         // ============ 8. PARTIAL SPLIT (5 users, only 2 in expense) ============
         System.out.println("\n=== Adding 2 More Users ===");
         User dave = new User("u4", "Dave", "dave@email.com");
@@ -116,5 +134,26 @@ public class SplitwiseDemo {
         System.out.println("\n=== Balances After Personal Expense ===");
         service.printBalances("u1");
         service.printBalances("u2");
+        
+        // ============ 10. MULTI-CURRENCY EXPENSE ============
+        System.out.println("\n=== Adding Expense in EUR ===");
+        // Local stand-in for a rate service, fronted by a 5 minute cache
+        Path rates = Files.createTempFile("fx_rates", ".txt");
+        Files.write(rates, Arrays.asList("EUR/USD=1.10", "USD/INR=83.0"));
+        try {
+            service.setFxRateProvider(new CachingFxRateProvider(new FileFxRateProvider(rates), Duration.ofMinutes(5)));
+        
+            // Carol pays EUR 60 for museum tickets, split with Alice
+            Map<String, Double> euroSplit = new HashMap<>();
+            euroSplit.put("u1", 0.0);
+            euroSplit.put("u3", 0.0);
+            service.addExpense(trip.getId(), carol, 60.0, Currency.getInstance("EUR"), "Museum",
+                               SplitType.EQUAL, euroSplit);
+        
+            System.out.println("Alice's EUR ledger: " + service.getBalances("u1", Currency.getInstance("EUR")));
+            service.printBalances("u1");  // Base (USD) ledger includes the converted EUR 30 = $33.00
+        } finally {
+            Files.deleteIfExists(rates);
+        }
     }
 }
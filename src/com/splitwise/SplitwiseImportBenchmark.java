@@ -0,0 +1,147 @@
+package com.splitwise;
+
+import com.splitwise.model.*;
+import com.splitwise.service.ExpenseImporter;
+import com.splitwise.service.SplitwiseService;
+import java.io.*;
+import java.util.*;
+
+/**
+ * SplitwiseImportBenchmark compares the bulk import pipeline with calling
+ * addExpense() once per expense, and verifies both end with exactly the same
+ * balances (base and USD ledgers, compared bit for bit).
+ *
+ * The generated history ends with a few expenses between two extra users that leave
+ * their balance within a cent of zero between steps, where User.updateBalance clears it.
+ *
+ * The service is a singleton, so the two runs use disjoint user id prefixes
+ * ("seq-" and "imp-") generated from the same random seed.
+ *
+ * Usage: java com.splitwise.SplitwiseImportBenchmark [expenses] [users]
+ */
+public class SplitwiseImportBenchmark {
+    private static final long SEED = 42;
+
+    public static void main(String[] args) throws IOException {
+        int expenseCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int userCount = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        SplitwiseService service = SplitwiseService.getInstance();
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));  // silence addUser/addExpense logging
+        for (int i = 0; i < userCount + 2; i++) {  // +2: the near-zero pair
+            service.addUser(new User("seq-u" + i, "Seq " + i, "seq" + i + "@email.com"));
+            service.addUser(new User("imp-u" + i, "Imp " + i, "imp" + i + "@email.com"));
+        }
+        System.setOut(console);
+
+        String csv = generateCsv(expenseCount, userCount);
+        console.println("=== Generated " + expenseCount + " expenses across " + userCount + " users ===");
+
+        // ============ 1. ONE-AT-A-TIME PATH ============
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        long start = System.nanoTime();
+        int sequential = 0;
+        try (BufferedReader reader = new BufferedReader(new StringReader(csv.replace("imp-", "seq-")))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                addExpenseFromLine(service, line);
+                sequential++;
+            }
+        }
+        long sequentialNanos = System.nanoTime() - start;
+        flushEvents(service);  // async ExpenseAdded logging still targets the silenced stream
+        System.setOut(console);
+        console.printf("addExpense loop: %d expenses in %.1f ms - %.0f expenses/sec%n",
+            sequential, sequentialNanos / 1_000_000.0, sequential * 1_000_000_000.0 / sequentialNanos);
+
+        // ============ 2. BULK IMPORT PATH ============
+        ExpenseImporter importer = new ExpenseImporter(service);
+        ExpenseImporter.Result result = importer.importFrom(new StringReader(csv));
+        console.println("Bulk import:     " + result);
+
+        // ============ 3. VERIFY IDENTICAL BALANCES ============
+        int mismatches = 0;
+        for (int i = 0; i < userCount + 2; i++) {
+            User seq = service.getUser("seq-u" + i);
+            User imp = service.getUser("imp-u" + i);
+            if (!renamed(seq.getBalances()).equals(imp.getBalances())
+                    || !renamed(seq.getBalances(User.BASE_CURRENCY)).equals(imp.getBalances(User.BASE_CURRENCY))) {
+                mismatches++;
+            }
+        }
+        console.println(mismatches == 0
+            ? "✓ Final balances identical for all " + (userCount + 2) + " users"
+            : "✗ " + mismatches + " users' balances differ");
+    }
+
+    /**
+     * A "seq-" user's ledger keyed by the matching "imp-" user ids.
+     */
+    private static Map<String, Double> renamed(Map<String, Double> ledger) {
+        Map<String, Double> renamed = new HashMap<>();
+        for (Map.Entry<String, Double> entry : ledger.entrySet()) {
+            renamed.put(entry.getKey().replace("seq-", "imp-"), entry.getValue());
+        }
+        return renamed;
+    }
+
+    private static String generateCsv(int expenseCount, int userCount) {
+        Random random = new Random(SEED);
+        StringBuilder sb = new StringBuilder();
+        SplitType[] types = SplitType.values();
+        for (int i = 0; i < expenseCount; i++) {
+            int payer = random.nextInt(userCount);
+            int participants = 2 + random.nextInt(3);
+            Set<Integer> chosen = new LinkedHashSet<>();
+            chosen.add(payer);
+            while (chosen.size() < participants) {
+                chosen.add(random.nextInt(userCount));
+            }
+            SplitType type = types[random.nextInt(types.length)];
+            int amount = 10 * participants * (1 + random.nextInt(20));
+
+            StringJoiner shares = new StringJoiner(";");
+            for (int user : chosen) {
+                double share;
+                switch (type) {
+                    case EXACT: share = amount / (double) participants; break;
+                    case PERCENTAGE: share = 100.0 / participants; break;
+                    default: share = 0.0;
+                }
+                shares.add("imp-u" + user + ":" + share);
+            }
+            sb.append(',').append("imp-u").append(payer).append(',').append(amount).append(',')
+              .append(type).append(',').append(shares).append(",Expense ").append(i).append('\n');
+        }
+        // x owes y 5.00, then y owes x 4.995: half a cent left, cleared on the spot. Three rounds
+        // end settled one expense at a time; netted across the batch the pair would owe 0.015.
+        String x = "imp-u" + userCount, y = "imp-u" + (userCount + 1);
+        for (int i = 0; i < 3; i++) {
+            sb.append(',').append(y).append(",10.0,EXACT,").append(y).append(":5.0;").append(x)
+              .append(":5.0,Near zero A").append(i).append('\n');
+            sb.append(',').append(x).append(",9.99,EXACT,").append(x).append(":4.995;").append(y)
+              .append(":4.995,Near zero B").append(i).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static void flushEvents(SplitwiseService service) {
+        try {
+            service.getEventBus().flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void addExpenseFromLine(SplitwiseService service, String line) {
+        String[] fields = line.split(",", 6);
+        Map<String, Double> shares = new LinkedHashMap<>();
+        for (String entry : fields[4].split(";")) {
+            String[] kv = entry.split(":", 2);
+            shares.put(kv[0], Double.parseDouble(kv[1]));
+        }
+        service.addPersonalExpense(service.getUser(fields[1]), Double.parseDouble(fields[2]),
+            fields[5], SplitType.valueOf(fields[3]), shares);
+    }
+}
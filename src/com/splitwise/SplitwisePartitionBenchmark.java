@@ -0,0 +1,124 @@
+package com.splitwise;
+
+import com.splitwise.model.*;
+import com.splitwise.service.PartitionedSplitwiseService;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SplitwisePartitionBenchmark measures expense throughput as the shard count grows.
+ *
+ * Each writer thread adds expenses among 2-4 users. With probability
+ * crossShardRatio the participants are drawn from the whole user base
+ * (usually a cross-shard two-phase write); otherwise they share the payer's shard.
+ *
+ * Each shard's console listener is replaced by a counting one: printing would serialize
+ * every shard's event thread on System.out and the benchmark would measure the console.
+ * Shards can only add throughput with cores to run them: compare runs on machines with
+ * different core counts (the core count is printed).
+ *
+ * Usage: java com.splitwise.SplitwisePartitionBenchmark [threads] [expensesPerThread] [crossShardRatio]
+ */
+public class SplitwisePartitionBenchmark {
+    private static final int USERS = 10_000;
+    private static final int[] SHARD_COUNTS = {1, 2, 4, 8};
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int perThread = args.length > 1 ? Integer.parseInt(args[1]) : 50_000;
+        double crossShardRatio = args.length > 2 ? Double.parseDouble(args[2]) : 0.1;
+
+        PrintStream console = System.out;
+        console.printf("=== %d writer threads, %d expenses each, %.0f%% cross-shard, %d core(s) ===%n",
+            threads, perThread, crossShardRatio * 100, Runtime.getRuntime().availableProcessors());
+
+        for (int shardCount : SHARD_COUNTS) {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));  // silence setup logging
+            PartitionedSplitwiseService service = new PartitionedSplitwiseService(shardCount);
+            LongAdder delivered = new LongAdder();
+            for (int s = 0; s < shardCount; s++) {
+                service.getShard(s).getEventBus().unsubscribeAll();
+                service.getShard(s).getEventBus().subscribe(event -> delivered.increment());
+            }
+            List<List<String>> usersByShard = new ArrayList<>();
+            for (int s = 0; s < shardCount; s++) {
+                usersByShard.add(new ArrayList<>());
+            }
+            for (int i = 0; i < USERS; i++) {
+                User user = new User("u" + i, "User " + i, "user" + i + "@email.com");
+                service.addUser(user);
+                usersByShard.get(service.shardOf(user.getId())).add(user.getId());
+            }
+
+            long elapsed = run(service, usersByShard, threads, perThread, crossShardRatio);
+            service.flushEvents();
+            System.setOut(console);
+
+            long total = (long) threads * perThread;
+            console.printf("%d shard(s): %,d expenses in %.1f ms - %,.0f expenses/sec  (events %,d, balances symmetric: %b)%n",
+                shardCount, total, elapsed / 1_000_000.0, total * 1_000_000_000.0 / elapsed,
+                delivered.sum(), balancesSymmetric(service));
+        }
+    }
+
+    /**
+     * Every pair agrees: what u owes v is what v is owed by u (within a cent).
+     */
+    private static boolean balancesSymmetric(PartitionedSplitwiseService service) {
+        for (int i = 0; i < USERS; i++) {
+            String userId = "u" + i;
+            for (Map.Entry<String, Double> entry : service.getBalances(userId).entrySet()) {
+                double mirror = service.getBalances(entry.getKey()).getOrDefault(userId, 0.0);
+                if (Math.abs(entry.getValue() + mirror) > 0.01) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static long run(PartitionedSplitwiseService service, List<List<String>> usersByShard,
+                            int threads, int perThread, double crossShardRatio) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            final long seed = t;
+            futures.add(pool.submit(() -> {
+                Random random = new Random(seed);
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    List<String> home = usersByShard.get(random.nextInt(usersByShard.size()));
+                    String payer = home.get(random.nextInt(home.size()));
+                    boolean cross = random.nextDouble() < crossShardRatio;
+
+                    Map<String, Double> shares = new HashMap<>();
+                    shares.put(payer, 0.0);
+                    int participants = 2 + random.nextInt(3);
+                    while (shares.size() < participants) {
+                        String other = cross
+                            ? "u" + random.nextInt(USERS)
+                            : home.get(random.nextInt(home.size()));
+                        shares.put(other, 0.0);
+                    }
+                    service.addExpense(null, service.getUser(payer), 10.0 * participants,
+                                       "Expense " + i, SplitType.EQUAL, shares);
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+        return elapsed;
+    }
+}
@@ -0,0 +1,62 @@
+package com.splitwise.currency;
+
+import java.time.Duration;
+import java.util.Currency;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CachingFxRateProvider fronts a slow provider with a time-bounded cache (Decorator Pattern).
+ * 
+ * - Each currency pair is cached for 'ttl', then refreshed on the next lookup
+ * - compute() ensures only one thread refreshes a given pair at a time
+ * - Rates are only needed at expense time, never on the balance read path
+ */
+public class CachingFxRateProvider implements FxRateProvider {
+    private final FxRateProvider delegate;
+    private final long ttlNanos;
+    private final Map<String, CachedRate> cache;
+    
+    public CachingFxRateProvider(FxRateProvider delegate, Duration ttl) {
+        this.delegate = delegate;
+        this.ttlNanos = ttl.toNanos();
+        this.cache = new ConcurrentHashMap<>();
+    }
+    
+    @Override
+    public double getRate(Currency from, Currency to) {
+        if (from.equals(to)) return 1.0;
+        
+        String key = from.getCurrencyCode() + "/" + to.getCurrencyCode();
+        long now = System.nanoTime();
+        
+        CachedRate cached = cache.get(key);
+        if (cached != null && now < cached.expiresAt) {
+            return cached.rate;  // Fast path: no locking
+        }
+        
+        return cache.compute(key, (k, existing) -> {
+            if (existing != null && now < existing.expiresAt) {
+                return existing;  // Another thread refreshed it while we waited
+            }
+            return new CachedRate(delegate.getRate(from, to), now + ttlNanos);
+        }).rate;
+    }
+    
+    /**
+     * Drop all cached rates, e.g. after a known rate change.
+     */
+    public void invalidate() {
+        cache.clear();
+    }
+    
+    private static class CachedRate {
+        final double rate;
+        final long expiresAt;
+        
+        CachedRate(double rate, long expiresAt) {
+            this.rate = rate;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.splitwise.currency;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Currency;
+import java.util.List;
+
+/**
+ * FileFxRateProvider is a local stand-in for a remote rate service.
+ * 
+ * It re-reads the file on every lookup (like a network call would hit the
+ * remote API), so updating the file changes rates without a restart.
+ * 
+ * File format - one pair per line, '#' starts a comment:
+ *   USD/EUR=0.92
+ *   USD/INR=83.1
+ * The inverse pair is derived when only one direction is listed.
+ */
+public class FileFxRateProvider implements FxRateProvider {
+    private final Path file;
+    
+    public FileFxRateProvider(Path file) {
+        this.file = file;
+    }
+    
+    @Override
+    public double getRate(Currency from, Currency to) {
+        if (from.equals(to)) return 1.0;
+        
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read FX rates from " + file, e);
+        }
+        
+        String direct = from.getCurrencyCode() + "/" + to.getCurrencyCode();
+        String inverse = to.getCurrencyCode() + "/" + from.getCurrencyCode();
+        for (String line : lines) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            
+            String[] kv = line.split("=", 2);
+            if (kv.length != 2) continue;
+            String pair = kv[0].trim();
+            if (pair.equals(direct)) {
+                return Double.parseDouble(kv[1].trim());
+            }
+            if (pair.equals(inverse)) {
+                return 1.0 / Double.parseDouble(kv[1].trim());
+            }
+        }
+        throw new IllegalArgumentException("No FX rate for " + direct);
+    }
+}
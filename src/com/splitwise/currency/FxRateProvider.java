@@ -0,0 +1,17 @@
+package com.splitwise.currency;
+
+import java.util.Currency;
+
+/**
+ * FxRateProvider supplies conversion rates between currencies.
+ * Implementations may be slow (remote API, file) - wrap them in
+ * CachingFxRateProvider before handing them to SplitwiseService.
+ */
+public interface FxRateProvider {
+    
+    /**
+     * @return how many units of 'to' one unit of 'from' buys
+     * @throws IllegalArgumentException if the pair is unknown
+     */
+    double getRate(Currency from, Currency to);
+}
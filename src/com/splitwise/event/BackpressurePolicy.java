@@ -0,0 +1,11 @@
+package com.splitwise.event;
+
+/**
+ * What EventBus.publish does when the ring buffer is full.
+ */
+public enum BackpressurePolicy {
+    BLOCK,        // Wait for space (no event is lost, publisher may stall)
+    DROP_NEWEST,  // Discard the event being published
+    DROP_OLDEST,  // Discard the oldest queued event to make room
+    CALLER_RUNS   // Publisher delivers the oldest queued events itself until its own fits
+}
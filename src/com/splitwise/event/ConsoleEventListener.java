@@ -0,0 +1,13 @@
+package com.splitwise.event;
+
+/**
+ * ConsoleEventListener prints every event - the logging that used to happen
+ * inside addExpense/settleUp while holding the service lock.
+ */
+public class ConsoleEventListener implements EventListener {
+    
+    @Override
+    public void onEvent(SplitwiseEvent event) {
+        System.out.println(event);
+    }
+}
@@ -0,0 +1,256 @@
+package com.splitwise.event;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * EventBus decouples notifications/audit from the SplitwiseService write path.
+ *
+ * DESIGN:
+ * - Bounded ring buffer (ArrayBlockingQueue) between publishers and ONE consumer thread
+ * - Listeners are called one event at a time, in buffer order
+ * - When the buffer is full, the configured BackpressurePolicy decides what happens
+ *
+ * ORDERING: every delivery from the buffer happens under deliveryLock, taking the event
+ * and calling the listeners as one step. The consumer holds it; a CALLER_RUNS publisher
+ * facing a full buffer only helps when it can get it, so events never overtake each other.
+ *
+ * SHUTDOWN: publish() runs under the read side of a lifecycle lock and shutdown() flips
+ * 'running' under the write side, so an event is either queued before the consumer starts
+ * draining (and delivered) or rejected - never left behind for a consumer that has exited.
+ *
+ * SYNCHRONOUS MODE (demos, tests): setSynchronous(true) delivers each event on the
+ * publishing thread before publish() returns, still one event at a time.
+ *
+ * A listener that throws is logged and skipped, so one bad listener
+ * cannot kill the consumer thread.
+ */
+public class EventBus {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final BlockingQueue<SplitwiseEvent> buffer;
+    private final List<EventListener> listeners;
+    private final Thread consumer;
+    private volatile BackpressurePolicy policy;
+    private volatile boolean running;
+    private volatile boolean synchronous;
+
+    private final ReentrantLock deliveryLock = new ReentrantLock();
+    private final Object synchronousDelivery = new Object();
+    private final ReadWriteLock lifecycle = new ReentrantReadWriteLock();
+
+    // Bookkeeping for flush() and monitoring
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Object idleMonitor = new Object();
+
+    public EventBus() {
+        this(DEFAULT_CAPACITY, BackpressurePolicy.BLOCK);
+    }
+
+    public EventBus(int capacity, BackpressurePolicy policy) {
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.policy = policy;
+        this.running = true;
+        this.consumer = new Thread(this::consumeLoop, "splitwise-event-bus");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    public void subscribe(EventListener listener) {
+        listeners.add(listener);
+    }
+
+    public void unsubscribe(EventListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Remove every listener, including the ConsoleEventListener a service subscribes by default.
+     */
+    public void unsubscribeAll() {
+        listeners.clear();
+    }
+
+    public void setBackpressurePolicy(BackpressurePolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Deliver on the publishing thread (true) or through the consumer thread (false).
+     * Switch while no writes are in flight: events already queued are delivered first.
+     */
+    public void setSynchronous(boolean synchronous) throws InterruptedException {
+        flush();
+        this.synchronous = synchronous;
+    }
+
+    /**
+     * Publish an event. Must be called AFTER the write has committed
+     * and outside any service lock. Rejected (counted as dropped) once shutdown() started.
+     */
+    public void publish(SplitwiseEvent event) {
+        lifecycle.readLock().lock();
+        try {
+            if (!running) {
+                dropped.incrementAndGet();
+                return;
+            }
+            if (synchronous) {
+                synchronized (synchronousDelivery) {
+                    dispatch(event);
+                }
+                return;
+            }
+            enqueue(event);
+        } finally {
+            lifecycle.readLock().unlock();
+        }
+    }
+
+    private void enqueue(SplitwiseEvent event) {
+        switch (policy) {
+            case BLOCK:
+                try {
+                    enqueued.incrementAndGet();
+                    buffer.put(event);
+                } catch (InterruptedException e) {
+                    markCompleted();
+                    dropped.incrementAndGet();
+                    Thread.currentThread().interrupt();
+                }
+                break;
+
+            case DROP_NEWEST:
+                enqueued.incrementAndGet();
+                if (!buffer.offer(event)) {
+                    markCompleted();
+                    dropped.incrementAndGet();
+                }
+                break;
+
+            case DROP_OLDEST:
+                enqueued.incrementAndGet();
+                while (!buffer.offer(event)) {
+                    if (buffer.poll() != null) {
+                        markCompleted();
+                        dropped.incrementAndGet();
+                    }
+                }
+                break;
+
+            case CALLER_RUNS:
+                // Full: deliver the OLDEST queued event ourselves to make room - never our
+                // own out of turn. If the consumer is busy delivering, it makes room anyway.
+                enqueued.incrementAndGet();
+                while (!buffer.offer(event)) {
+                    if (!deliverOne()) {
+                        Thread.yield();
+                    }
+                }
+                break;
+        }
+    }
+
+    /**
+     * Deliver the head of the buffer on this thread, if the consumer is not delivering.
+     * @return false if someone else holds the delivery lock
+     */
+    private boolean deliverOne() {
+        if (!deliveryLock.tryLock()) {
+            return false;
+        }
+        SplitwiseEvent head;
+        try {
+            head = buffer.poll();
+            if (head != null) {
+                dispatch(head);
+            }
+        } finally {
+            deliveryLock.unlock();
+        }
+        if (head != null) {
+            markCompleted();
+        }
+        return true;
+    }
+
+    /**
+     * Wait until every event queued so far has been delivered (or dropped).
+     * Useful for demos/tests that want log output in order.
+     */
+    public void flush() throws InterruptedException {
+        long target = enqueued.get();
+        synchronized (idleMonitor) {
+            while (completed.get() < target) {
+                idleMonitor.wait();
+            }
+        }
+    }
+
+    /**
+     * Stop accepting events, deliver what is already buffered, then stop the consumer.
+     */
+    public void shutdown() throws InterruptedException {
+        lifecycle.writeLock().lock();
+        try {
+            running = false;  // No publish() is between its check and its enqueue now
+        } finally {
+            lifecycle.writeLock().unlock();
+        }
+        consumer.interrupt();
+        consumer.join();
+    }
+
+    public long getDroppedCount() { return dropped.get(); }
+    public int getQueuedCount() { return buffer.size(); }
+
+    // Holds deliveryLock while waiting on an empty buffer: CALLER_RUNS publishers only
+    // try for it when the buffer is full, so they never wait for an idle consumer
+    private void consumeLoop() {
+        while (true) {
+            SplitwiseEvent event;
+            deliveryLock.lock();
+            try {
+                event = running ? buffer.take() : buffer.poll();
+                if (event != null) {
+                    dispatch(event);
+                }
+            } catch (InterruptedException e) {
+                // shutdown(): loop again and drain the remainder
+                continue;
+            } finally {
+                deliveryLock.unlock();
+            }
+            if (event == null) {
+                return;  // Shut down and drained
+            }
+            markCompleted();
+        }
+    }
+
+    private void dispatch(SplitwiseEvent event) {
+        for (EventListener listener : listeners) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException e) {
+                System.err.println("Event listener failed on " + event + ": " + e);
+            }
+        }
+    }
+
+    private void markCompleted() {
+        completed.incrementAndGet();
+        synchronized (idleMonitor) {
+            idleMonitor.notifyAll();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.splitwise.event;
+
+/**
+ * EventListener receives events one at a time, in buffer order (Observer Pattern) - on the
+ * EventBus consumer thread, or on a publisher under CALLER_RUNS / synchronous mode.
+ * Slow listeners delay other listeners, but never the SplitwiseService lock.
+ */
+public interface EventListener {
+    void onEvent(SplitwiseEvent event);
+}
@@ -0,0 +1,25 @@
+package com.splitwise.event;
+
+import com.splitwise.model.Expense;
+
+/**
+ * Published after an expense's balances have been applied.
+ * groupId is null for personal expenses.
+ */
+public class ExpenseAddedEvent extends SplitwiseEvent {
+    private final String groupId;
+    private final Expense expense;
+    
+    public ExpenseAddedEvent(String groupId, Expense expense) {
+        this.groupId = groupId;
+        this.expense = expense;
+    }
+    
+    public String getGroupId() { return groupId; }
+    public Expense getExpense() { return expense; }
+    
+    @Override
+    public String toString() {
+        return "Added expense: " + expense;
+    }
+}
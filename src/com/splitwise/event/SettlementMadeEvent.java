@@ -0,0 +1,25 @@
+package com.splitwise.event;
+
+import com.splitwise.model.Transaction;
+
+/**
+ * Published after a settlement's balances have been applied.
+ * groupId is null for settlements made outside a group.
+ */
+public class SettlementMadeEvent extends SplitwiseEvent {
+    private final String groupId;
+    private final Transaction transaction;
+    
+    public SettlementMadeEvent(String groupId, Transaction transaction) {
+        this.groupId = groupId;
+        this.transaction = transaction;
+    }
+    
+    public String getGroupId() { return groupId; }
+    public Transaction getTransaction() { return transaction; }
+    
+    @Override
+    public String toString() {
+        return "Settlement: " + transaction;
+    }
+}
@@ -0,0 +1,18 @@
+package com.splitwise.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * SplitwiseEvent is published by SplitwiseService AFTER a write has committed.
+ * Listeners (console log, audit, email...) run on the EventBus consumer thread,
+ * never inside the service lock.
+ */
+public abstract class SplitwiseEvent {
+    private final LocalDateTime timestamp;
+    
+    protected SplitwiseEvent() {
+        this.timestamp = LocalDateTime.now();
+    }
+    
+    public LocalDateTime getTimestamp() { return timestamp; }
+}
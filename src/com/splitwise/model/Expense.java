@@ -1,6 +1,8 @@
 package com.splitwise.model;
 
+import java.util.Currency;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 /**
@@ -10,6 +12,10 @@ import java.util.UUID;
  * - paidBy = Alice
  * - amount = 100
  * - splits = [Alice owes $33.33, Bob owes $33.33, Carol owes $33.33]
+ * 
+ * Amounts and splits are in 'currency'. fxRate is the rate to
+ * User.BASE_CURRENCY captured at expense time, so history can always be
+ * replayed with the same conversion.
  */
 public class Expense {
     private String id;
@@ -18,15 +24,25 @@ public class Expense {
     private User paidBy;
     private List<Split> splits;
     private SplitType splitType;
+    private Currency currency;
+    private double fxRate;
     
     public Expense(double amount, String description, User paidBy, 
                    List<Split> splits, SplitType splitType) {
+        this(amount, description, paidBy, splits, splitType, User.BASE_CURRENCY, 1.0);
+    }
+    
+    public Expense(double amount, String description, User paidBy, 
+                   List<Split> splits, SplitType splitType,
+                   Currency currency, double fxRate) {
         this.id = UUID.randomUUID().toString();
         this.amount = amount;
         this.description = description;
         this.paidBy = paidBy;
         this.splits = splits;
         this.splitType = splitType;
+        this.currency = currency;
+        this.fxRate = fxRate;
     }
     
     public String getId() { return id; }
@@ -35,9 +51,12 @@ public class Expense {
     public User getPaidBy() { return paidBy; }
     public List<Split> getSplits() { return splits; }
     public SplitType getSplitType() { return splitType; }
+    public Currency getCurrency() { return currency; }
+    public double getFxRate() { return fxRate; }
+    public double getBaseAmount() { return amount * fxRate; }
     
     @Override
     public String toString() {
-        return paidBy.getName() + " paid $" + String.format("%.2f", amount) + " for " + description;
+        return paidBy.getName() + " paid " + currency.getSymbol(Locale.US) + String.format("%.2f", amount) + " for " + description;
     }
 }
@@ -1,24 +1,41 @@
 package com.splitwise.model;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Group represents a collection of users who share expenses.
  * Uses CopyOnWriteArrayList for thread-safe iteration.
+ *
+ * MATERIALIZED VIEW: netBalances is updated incrementally on every expense
+ * and settlement, so "what is each member's net in this group" is an O(1)
+ * read instead of a replay of the whole expense history.
+ * - Positive = the group owes this member
+ * - Negative = this member owes the group
+ * Amounts are in User.BASE_CURRENCY, using the rate captured on each expense.
  */
 public class Group {
     private String id;
     private String name;
     private List<User> members;
     private List<Expense> expenses;
+    private List<Transaction> settlements;
+    private Map<String, Double> netBalances;
     
     public Group(String name) {
         this.id = UUID.randomUUID().toString();
         this.name = name;
         this.members = new CopyOnWriteArrayList<>();
         this.expenses = new CopyOnWriteArrayList<>();
+        this.settlements = new CopyOnWriteArrayList<>();
+        this.netBalances = new ConcurrentHashMap<>();
     }
     
     public void addMember(User user) {
@@ -31,14 +48,91 @@ public class Group {
         members.remove(user);
     }
     
-    public void addExpense(Expense expense) {
+    /**
+     * Record an expense and fold it into the net balance view.
+     * Synchronized so history and view never disagree for the checker.
+     */
+    public synchronized void addExpense(Expense expense) {
         expenses.add(expense);
+        applyExpense(netBalances, expense);
+    }
+    
+    /**
+     * Record a settlement made between two members of this group.
+     */
+    public synchronized void addSettlement(Transaction settlement) {
+        settlements.add(settlement);
+        applySettlement(netBalances, settlement);
+    }
+    
+    /**
+     * O(1) read of a member's net position in this group.
+     */
+    public double getNetBalance(String userId) {
+        return netBalances.getOrDefault(userId, 0.0);
+    }
+    
+    public Map<String, Double> getNetBalances() {
+        return Collections.unmodifiableMap(netBalances);
+    }
+    
+    // ============ CONSISTENCY CHECK ============
+    
+    /**
+     * Rebuild net balances from scratch by replaying expense and settlement history.
+     */
+    public synchronized Map<String, Double> recomputeNetBalances() {
+        Map<String, Double> replayed = new HashMap<>();
+        for (Expense expense : expenses) {
+            applyExpense(replayed, expense);
+        }
+        for (Transaction settlement : settlements) {
+            applySettlement(replayed, settlement);
+        }
+        return replayed;
+    }
+    
+    /**
+     * Verify the incremental view against a full replay.
+     * @return true if every member's net matches within a cent
+     */
+    public synchronized boolean isBalanceViewConsistent() {
+        Map<String, Double> replayed = recomputeNetBalances();
+        // Check both key sets: removed members may still carry a balance
+        Set<String> userIds = new HashSet<>(replayed.keySet());
+        userIds.addAll(netBalances.keySet());
+        for (String userId : userIds) {
+            if (Math.abs(replayed.getOrDefault(userId, 0.0) - getNetBalance(userId)) >= 0.01) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static void applyExpense(Map<String, Double> balances, Expense expense) {
+        String payerId = expense.getPaidBy().getId();
+        for (Split split : expense.getSplits()) {
+            String debtorId = split.getUser().getId();
+            if (debtorId.equals(payerId)) {
+                continue;
+            }
+            double baseAmount = split.getAmount() * expense.getFxRate();
+            balances.merge(payerId, baseAmount, Double::sum);
+            balances.merge(debtorId, -baseAmount, Double::sum);
+        }
+    }
+    
+    private static void applySettlement(Map<String, Double> balances, Transaction settlement) {
+        // 'from' paid 'to': from owes the group less, to is owed less
+        balances.merge(settlement.getFrom().getId(), settlement.getBaseAmount(), Double::sum);
+        balances.merge(settlement.getTo().getId(), -settlement.getBaseAmount(), Double::sum);
     }
     
     public String getId() { return id; }
     public String getName() { return name; }
     public List<User> getMembers() { return members; }
     public List<Expense> getExpenses() { return expenses; }
+    public List<Transaction> getSettlements() { return settlements; }
     
     @Override
     public String toString() {
@@ -1,6 +1,8 @@
 package com.splitwise.model;
 
 import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.Locale;
 import java.util.UUID;
 
 /**
@@ -19,9 +21,17 @@ public class Transaction {
     private TransactionType type;
     private LocalDateTime timestamp;
     private String description;
+    private Currency currency;
+    private double fxRate;
     
     public Transaction(User from, User to, double amount, 
                        TransactionType type, String description) {
+        this(from, to, amount, type, description, User.BASE_CURRENCY, 1.0);
+    }
+    
+    public Transaction(User from, User to, double amount, 
+                       TransactionType type, String description,
+                       Currency currency, double fxRate) {
         this.id = UUID.randomUUID().toString();
         this.from = from;
         this.to = to;
@@ -29,6 +39,8 @@ public class Transaction {
         this.type = type;
         this.description = description;
         this.timestamp = LocalDateTime.now();
+        this.currency = currency;
+        this.fxRate = fxRate;
     }
     
     public String getId() { return id; }
@@ -38,10 +50,13 @@ public class Transaction {
     public TransactionType getType() { return type; }
     public LocalDateTime getTimestamp() { return timestamp; }
     public String getDescription() { return description; }
+    public Currency getCurrency() { return currency; }
+    public double getFxRate() { return fxRate; }
+    public double getBaseAmount() { return amount * fxRate; }
     
     @Override
     public String toString() {
-        return String.format("[%s] %s -> %s: $%.2f (%s)", 
-            type, from.getName(), to.getName(), amount, description);
+        return String.format("[%s] %s -> %s: %s%.2f (%s)", 
+            type, from.getName(), to.getName(), currency.getSymbol(Locale.US), amount, description);
     }
 }
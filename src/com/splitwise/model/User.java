@@ -1,6 +1,8 @@
 package com.splitwise.model;
 
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.Collections;
+import java.util.Currency;
 import java.util.Map;
 
 /**
@@ -11,20 +13,29 @@ import java.util.Map;
  * - Value: how much that user owes ME
  *   - Positive = they owe me
  *   - Negative = I owe them
+ * 
+ * MULTI-CURRENCY:
+ * - balances is always in BASE_CURRENCY (converted at expense time)
+ * - currencyBalances keeps one ledger per original currency, BASE_CURRENCY included,
+ *   so "how many EUR (or USD) does Bob owe me" needs no conversion either
  */
 public class User {
+    public static final Currency BASE_CURRENCY = Currency.getInstance("USD");
+    
     private String id;
     private String name;
     private String email;
     
     // Thread-safe map for concurrent access
     private Map<String, Double> balances;
+    private Map<Currency, Map<String, Double>> currencyBalances;
     
     public User(String id, String name, String email) {
         this.id = id;
         this.name = name;
         this.email = email;
         this.balances = new ConcurrentHashMap<>();
+        this.currencyBalances = new ConcurrentHashMap<>();
     }
     
     /**
@@ -36,21 +47,42 @@ public class User {
     }
     
     /**
-     * Update the balance with another user.
+     * Update the balance with another user by an amount in BASE_CURRENCY.
      * This is synchronized to prevent race conditions.
      */
     public synchronized void updateBalance(String userId, double amount) {
-        double current = balances.getOrDefault(userId, 0.0);
-        double newBalance = current + amount;
+        updateBalance(userId, amount, BASE_CURRENCY, amount);
+    }
+    
+    /**
+     * Update the balance with another user for an amount originally in 'currency'.
+     * The base ledger receives baseAmount; the per-currency ledger receives amount.
+     */
+    public synchronized void updateBalance(String userId, double amount,
+                                           Currency currency, double baseAmount) {
+        add(balances, userId, baseAmount);
+        add(currencyBalances.computeIfAbsent(currency, c -> new ConcurrentHashMap<>()), userId, amount);
+    }
+    
+    private static void add(Map<String, Double> ledger, String userId, double amount) {
+        double newBalance = ledger.getOrDefault(userId, 0.0) + amount;
         
         // Clean up zero balances
         if (Math.abs(newBalance) < 0.01) {
-            balances.remove(userId);
+            ledger.remove(userId);
         } else {
-            balances.put(userId, newBalance);
+            ledger.put(userId, newBalance);
         }
     }
     
+    /**
+     * Balances for amounts originally expressed in 'currency' (no conversion).
+     * For BASE_CURRENCY these are only the amounts entered in it; getBalances() has everything.
+     */
+    public Map<String, Double> getBalances(Currency currency) {
+        return currencyBalances.getOrDefault(currency, Collections.emptyMap());
+    }
+    
     public String getId() { return id; }
     public String getName() { return name; }
     public String getEmail() { return email; }
@@ -0,0 +1,179 @@
+package com.splitwise.service;
+
+import com.splitwise.model.*;
+import com.splitwise.strategy.SplitStrategy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+/**
+ * ExpenseImporter bulk-loads expense history (e.g. a customer migration).
+ *
+ * WHY NOT JUST CALL addExpense() IN A LOOP?
+ * - addExpense takes the service-wide lock and publishes an event for every expense
+ * - Parsing, validation and splitting run one expense at a time on the caller's thread
+ *
+ * PIPELINE (per batch of lines):
+ * 1. Parse + validate + split in parallel (strategies are stateless)
+ * 2. Apply the whole batch under ONE lock acquisition, expense by expense in file order
+ *
+ * Balances are updated per expense, not netted per user pair, because User.updateBalance
+ * clears near-zero balances after every step. Final balances are therefore exactly
+ * those of the one-at-a-time path, bit for bit.
+ *
+ * LINE FORMAT (description last so it may contain commas):
+ *   groupId,paidByUserId,amount,splitType,userId:share;userId:share,description
+ * groupId may be empty for a personal expense. Blank lines and lines starting
+ * with '#' are ignored.
+ */
+public class ExpenseImporter {
+    public static final int DEFAULT_BATCH_SIZE = 10_000;
+
+    private final SplitwiseService service;
+    private final int batchSize;
+
+    public ExpenseImporter(SplitwiseService service) {
+        this(service, DEFAULT_BATCH_SIZE);
+    }
+
+    public ExpenseImporter(SplitwiseService service, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.service = service;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Import every expense in the stream. Invalid lines are counted and skipped,
+     * so one bad row does not abort a migration.
+     */
+    public Result importFrom(Reader source) throws IOException {
+        long start = System.nanoTime();
+        int imported = 0;
+        int rejected = 0;
+
+        BufferedReader reader = source instanceof BufferedReader
+            ? (BufferedReader) source : new BufferedReader(source);
+        List<String> batch = new ArrayList<>(batchSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            batch.add(line);
+            if (batch.size() == batchSize) {
+                int ok = importBatch(batch);
+                imported += ok;
+                rejected += batch.size() - ok;
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            int ok = importBatch(batch);
+            imported += ok;
+            rejected += batch.size() - ok;
+        }
+
+        return new Result(imported, rejected, System.nanoTime() - start);
+    }
+
+    /**
+     * @return number of lines successfully imported
+     */
+    private int importBatch(List<String> lines) {
+        Map<String, User> users = service.getUsers();
+
+        // 1. Parse + split in parallel. Order is preserved so group history stays in file order.
+        List<ParsedExpense> parsed = lines.parallelStream()
+            .map(line -> parse(line, users))
+            .toList();
+
+        // 2. One lock acquisition for the whole batch, in file order
+        List<Expense> expenses = new ArrayList<>(parsed.size());
+        List<String> groupIds = new ArrayList<>(parsed.size());
+        for (ParsedExpense p : parsed) {
+            if (p == null) continue;
+            expenses.add(p.expense);
+            groupIds.add(p.groupId);
+        }
+        service.applyImportBatch(expenses, groupIds);
+        return expenses.size();
+    }
+
+    /**
+     * Parse and split one line. Returns null for any malformed or invalid line.
+     */
+    private ParsedExpense parse(String line, Map<String, User> users) {
+        String[] fields = line.split(",", 6);
+        if (fields.length < 5) return null;
+
+        try {
+            String groupId = fields[0].trim().isEmpty() ? null : fields[0].trim();
+            User paidBy = users.get(fields[1].trim());
+            double amount = Double.parseDouble(fields[2].trim());
+            SplitType splitType = SplitType.valueOf(fields[3].trim());
+            String description = fields.length == 6 ? fields[5].trim() : "";
+            if (paidBy == null) return null;
+
+            // LinkedHashMap keeps participant order identical to the file
+            Map<String, Double> shares = new LinkedHashMap<>();
+            for (String entry : fields[4].split(";")) {
+                String[] kv = entry.split(":", 2);
+                String userId = kv[0].trim();
+                if (!users.containsKey(userId)) return null;
+                shares.put(userId, kv.length == 2 ? Double.parseDouble(kv[1].trim()) : 0.0);
+            }
+
+            SplitStrategy strategy = service.getStrategy(splitType);
+            if (!strategy.validate(amount, shares)) return null;
+
+            List<Split> splits = strategy.split(amount, shares, users);
+            return new ParsedExpense(groupId,
+                new Expense(amount, description, paidBy, splits, splitType));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException or unknown SplitType
+            return null;
+        }
+    }
+
+    private static class ParsedExpense {
+        final String groupId;
+        final Expense expense;
+
+        ParsedExpense(String groupId, Expense expense) {
+            this.groupId = groupId;
+            this.expense = expense;
+        }
+    }
+
+    /**
+     * Outcome of one import run.
+     */
+    public static class Result {
+        private final int imported;
+        private final int rejected;
+        private final long elapsedNanos;
+
+        Result(int imported, int rejected, long elapsedNanos) {
+            this.imported = imported;
+            this.rejected = rejected;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getImported() { return imported; }
+        public int getRejected() { return rejected; }
+        public long getElapsedNanos() { return elapsedNanos; }
+
+        public double getExpensesPerSecond() {
+            return elapsedNanos == 0 ? 0 : imported * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Imported %d expenses (%d rejected) in %.1f ms - %.0f expenses/sec",
+                imported, rejected, elapsedNanos / 1_000_000.0, getExpensesPerSecond());
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.splitwise.service;
+
+import com.splitwise.currency.FxRateProvider;
+import com.splitwise.event.ExpenseAddedEvent;
+import com.splitwise.event.SettlementMadeEvent;
+import com.splitwise.model.*;
+import com.splitwise.strategy.SplitStrategy;
+import java.util.*;
+
+/**
+ * PartitionedSplitwiseService spreads users and groups over several
+ * SplitwiseService shards, each with its OWN lock and storage.
+ *
+ * ROUTING:
+ * - User  -> shard = hash(userId)  % shardCount
+ * - Group -> shard = hash(groupId) % shardCount
+ *
+ * WRITE PATHS:
+ * - All participants (and the group) on one shard -> plain shard.addExpense(), one lock
+ * - Otherwise -> two-phase local protocol:
+ *     0. lock every involved shard, in ascending shard order (so writers never deadlock)
+ *     1. prepare() on each - it validates and stages its part
+ *     2. all voted yes -> commit() everywhere; any vote no -> abort() everywhere
+ *     3. unlock
+ *   The locks are held from the first prepare to the last commit, and shard reads
+ *   (balances, group balances) take their shard's lock: a reader sees a cross-shard
+ *   write on all of its shards or on none.
+ *
+ * Events are published on the payer's shard EventBus after commit.
+ */
+public class PartitionedSplitwiseService {
+    private final SplitwiseService[] shards;
+
+    public PartitionedSplitwiseService(int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("shardCount must be positive");
+        }
+        this.shards = new SplitwiseService[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new SplitwiseService();
+        }
+    }
+
+    // ============ ROUTING ============
+
+    public int shardOf(String id) {
+        return Math.floorMod(id.hashCode(), shards.length);
+    }
+
+    public SplitwiseService getShard(int index) {
+        return shards[index];
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    // ============ USER / GROUP MANAGEMENT ============
+
+    public void addUser(User user) {
+        shards[shardOf(user.getId())].addUser(user);
+    }
+
+    public User getUser(String userId) {
+        return shards[shardOf(userId)].getUser(userId);
+    }
+
+    public Group createGroup(String name, List<User> members) {
+        Group group = new Group(name);
+        for (User user : members) {
+            group.addMember(user);
+        }
+        shards[shardOf(group.getId())].registerGroup(group);
+        System.out.println("Created group: " + group);
+        return group;
+    }
+
+    public Group getGroup(String groupId) {
+        return shards[shardOf(groupId)].getGroup(groupId);
+    }
+
+    public void setFxRateProvider(FxRateProvider fxRateProvider) {
+        for (SplitwiseService shard : shards) {
+            shard.setFxRateProvider(fxRateProvider);
+        }
+    }
+
+    // ============ EXPENSE MANAGEMENT ============
+
+    public Expense addExpense(String groupId, User paidBy, double amount,
+                              String description, SplitType splitType,
+                              Map<String, Double> participantShares) {
+        return addExpense(groupId, paidBy, amount, User.BASE_CURRENCY, description,
+                          splitType, participantShares);
+    }
+
+    public Expense addExpense(String groupId, User paidBy, double amount, Currency currency,
+                              String description, SplitType splitType,
+                              Map<String, Double> participantShares) {
+        SplitwiseService home = shards[shardOf(paidBy.getId())];
+
+        // Fast path: everything lives on the payer's shard
+        SortedSet<Integer> involved = new TreeSet<>();
+        involved.add(shardOf(paidBy.getId()));
+        for (String userId : participantShares.keySet()) {
+            involved.add(shardOf(userId));
+        }
+        if (groupId != null) {
+            involved.add(shardOf(groupId));
+        }
+        if (involved.size() == 1) {
+            return home.addExpense(groupId, paidBy, amount, currency, description,
+                                   splitType, participantShares);
+        }
+
+        // 1. Validate + split outside any lock
+        SplitStrategy strategy = home.getStrategy(splitType);
+        if (!strategy.validate(amount, participantShares)) {
+            throw new IllegalArgumentException("Invalid split: amounts don't match for " + splitType);
+        }
+        Map<String, User> participants = new HashMap<>();
+        for (String userId : participantShares.keySet()) {
+            User user = getUser(userId);
+            if (user == null) {
+                throw new IllegalArgumentException("Unknown user: " + userId);
+            }
+            participants.put(userId, user);
+        }
+        List<Split> splits = strategy.split(amount, participantShares, participants);
+        Expense expense = new Expense(amount, description, paidBy, splits, splitType,
+                                      currency, home.rateToBase(currency));
+
+        // 2. Stage each shard's part
+        Map<Integer, PreparedWrite> writes = new TreeMap<>();
+        for (Split split : splits) {
+            User debtor = split.getUser();
+            if (debtor.getId().equals(paidBy.getId())) {
+                continue;
+            }
+            double baseAmount = split.getAmount() * expense.getFxRate();
+            writeFor(writes, paidBy.getId())
+                .addDelta(paidBy, debtor.getId(), split.getAmount(), currency, baseAmount);
+            writeFor(writes, debtor.getId())
+                .addDelta(debtor, paidBy.getId(), -split.getAmount(), currency, -baseAmount);
+        }
+        if (groupId != null) {
+            writeFor(writes, groupId).setGroupExpense(groupId, expense);
+        }
+
+        // 3. Two-phase apply
+        runTwoPhase(writes, "expense " + expense.getId());
+        home.getEventBus().publish(new ExpenseAddedEvent(groupId, expense));
+        return expense;
+    }
+
+    // ============ SETTLEMENT ============
+
+    public Transaction settleUp(String groupId, User from, User to, double amount) {
+        return settleUp(groupId, from, to, amount, User.BASE_CURRENCY);
+    }
+
+    public Transaction settleUp(String groupId, User from, User to, double amount, Currency currency) {
+        int fromShard = shardOf(from.getId());
+        int toShard = shardOf(to.getId());
+        if (fromShard == toShard && (groupId == null || shardOf(groupId) == fromShard)) {
+            return shards[fromShard].settleUp(groupId, from, to, amount, currency);
+        }
+
+        SplitwiseService home = shards[fromShard];
+        Transaction transaction = new Transaction(from, to, amount,
+            TransactionType.SETTLEMENT, "Settlement", currency, home.rateToBase(currency));
+        double baseAmount = transaction.getBaseAmount();
+
+        Map<Integer, PreparedWrite> writes = new TreeMap<>();
+        PreparedWrite fromWrite = writeFor(writes, from.getId());
+        fromWrite.addDelta(from, to.getId(), amount, currency, baseAmount);
+        fromWrite.setHistoryTransaction(transaction);
+        PreparedWrite toWrite = writeFor(writes, to.getId());
+        toWrite.addDelta(to, from.getId(), -amount, currency, -baseAmount);
+        toWrite.setHistoryTransaction(transaction);
+        if (groupId != null) {
+            writeFor(writes, groupId).setGroupSettlement(groupId, transaction);
+        }
+
+        runTwoPhase(writes, "settlement " + transaction.getId());
+        home.getEventBus().publish(new SettlementMadeEvent(groupId, transaction));
+        return transaction;
+    }
+
+    // ============ REPORTING ============
+
+    public Map<String, Double> getBalances(String userId) {
+        return shards[shardOf(userId)].getBalances(userId);
+    }
+
+    public Map<String, Double> getBalances(String userId, Currency currency) {
+        return shards[shardOf(userId)].getBalances(userId, currency);
+    }
+
+    public List<Transaction> getTransactionHistory(String userId) {
+        return shards[shardOf(userId)].getTransactionHistory(userId);
+    }
+
+    public Map<String, Double> getGroupBalances(String groupId) {
+        return shards[shardOf(groupId)].getGroupBalances(groupId);
+    }
+
+    public boolean verifyGroupBalances(String groupId) {
+        return shards[shardOf(groupId)].verifyGroupBalances(groupId);
+    }
+
+    /**
+     * Wait until every shard has delivered its queued events.
+     */
+    public void flushEvents() throws InterruptedException {
+        for (SplitwiseService shard : shards) {
+            shard.getEventBus().flush();
+        }
+    }
+
+    // ============ TWO-PHASE HELPERS ============
+
+    private PreparedWrite writeFor(Map<Integer, PreparedWrite> writes, String id) {
+        return writes.computeIfAbsent(shardOf(id), k -> new PreparedWrite());
+    }
+
+    /**
+     * Lock the involved shards (writes is sorted by shard), then prepare every shard;
+     * commit if all vote yes, otherwise abort the ones that already prepared.
+     */
+    private void runTwoPhase(Map<Integer, PreparedWrite> writes, String what) {
+        int[] order = new int[writes.size()];
+        int i = 0;
+        for (int shard : writes.keySet()) {
+            order[i++] = shard;
+        }
+        lockAndRun(order, 0, () -> prepareAndCommit(writes, what));
+    }
+
+    // Nested monitors: shard order[0] is taken first and released last
+    private void lockAndRun(int[] order, int index, Runnable body) {
+        if (index == order.length) {
+            body.run();
+            return;
+        }
+        synchronized (shards[order[index]]) {
+            lockAndRun(order, index + 1, body);
+        }
+    }
+
+    private void prepareAndCommit(Map<Integer, PreparedWrite> writes, String what) {
+        String writeId = UUID.randomUUID().toString();
+        List<Integer> prepared = new ArrayList<>();
+
+        for (Map.Entry<Integer, PreparedWrite> entry : writes.entrySet()) {
+            if (!shards[entry.getKey()].prepare(writeId, entry.getValue())) {
+                for (int shard : prepared) {
+                    shards[shard].abort(writeId);
+                }
+                throw new IllegalArgumentException("Shard " + entry.getKey() + " rejected " + what);
+            }
+            prepared.add(entry.getKey());
+        }
+
+        for (int shard : prepared) {
+            shards[shard].commit(writeId);
+        }
+    }
+}
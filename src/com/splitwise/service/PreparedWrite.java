@@ -0,0 +1,67 @@
+package com.splitwise.service;
+
+import com.splitwise.model.Expense;
+import com.splitwise.model.Transaction;
+import com.splitwise.model.User;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+
+/**
+ * PreparedWrite is ONE shard's part of a cross-shard expense or settlement.
+ * 
+ * - deltas: balance changes for users this shard owns
+ * - groupId + groupExpense/groupSettlement: set only on the shard that owns the group
+ * - historyTransaction: settlement recorded in the history of each party's shard
+ */
+class PreparedWrite {
+    private final List<BalanceDelta> deltas = new ArrayList<>();
+    private String groupId;
+    private Expense groupExpense;
+    private Transaction groupSettlement;
+    private Transaction historyTransaction;
+    
+    void addDelta(User user, String counterpartyId, double amount, Currency currency, double baseAmount) {
+        deltas.add(new BalanceDelta(user, counterpartyId, amount, currency, baseAmount));
+    }
+    
+    void setGroupExpense(String groupId, Expense expense) {
+        this.groupId = groupId;
+        this.groupExpense = expense;
+    }
+    
+    void setGroupSettlement(String groupId, Transaction settlement) {
+        this.groupId = groupId;
+        this.groupSettlement = settlement;
+    }
+    
+    void setHistoryTransaction(Transaction transaction) { this.historyTransaction = transaction; }
+    
+    List<BalanceDelta> getDeltas() { return deltas; }
+    String getGroupId() { return groupId; }
+    Expense getGroupExpense() { return groupExpense; }
+    Transaction getGroupSettlement() { return groupSettlement; }
+    Transaction getHistoryTransaction() { return historyTransaction; }
+    
+    static class BalanceDelta {
+        private final User user;
+        private final String counterpartyId;
+        private final double amount;
+        private final Currency currency;
+        private final double baseAmount;
+        
+        BalanceDelta(User user, String counterpartyId, double amount, Currency currency, double baseAmount) {
+            this.user = user;
+            this.counterpartyId = counterpartyId;
+            this.amount = amount;
+            this.currency = currency;
+            this.baseAmount = baseAmount;
+        }
+        
+        User getUser() { return user; }
+        String getCounterpartyId() { return counterpartyId; }
+        double getAmount() { return amount; }
+        Currency getCurrency() { return currency; }
+        double getBaseAmount() { return baseAmount; }
+    }
+}
@@ -1,5 +1,7 @@
 package com.splitwise.service;
 
+import com.splitwise.currency.FxRateProvider;
+import com.splitwise.event.*;
 import com.splitwise.model.*;
 import com.splitwise.strategy.*;
 import java.util.*;
@@ -13,6 +15,10 @@ import java.util.concurrent.CopyOnWriteArrayList;
  * - One central place to manage all users, groups, and balances
  * - Ensures data consistency across the application
  * - In production, this would be a stateless service with data in a database
+ * 
+ * For more users than one lock domain can handle, PartitionedSplitwiseService
+ * creates several independent instances (shards) through the package-private
+ * constructor and coordinates cross-shard writes with prepare/commit.
  */
 public class SplitwiseService {
     private static SplitwiseService instance;
@@ -25,16 +31,29 @@ public class SplitwiseService {
     // Strategy instances (reusable, stateless)
     private Map<SplitType, SplitStrategy> strategies;
     
-    private SplitwiseService() {
+    // Async notifications/audit - published to AFTER the lock is released
+    private EventBus eventBus;
+    
+    // Only consulted at write time for non-base currencies (wrap in CachingFxRateProvider)
+    private volatile FxRateProvider fxRateProvider;
+    
+    // Cross-shard writes staged by prepare(), applied by commit()
+    private Map<String, PreparedWrite> preparedWrites;
+    
+    SplitwiseService() {
         this.users = new ConcurrentHashMap<>();
         this.groups = new ConcurrentHashMap<>();
         this.transactions = new CopyOnWriteArrayList<>();
+        this.preparedWrites = new ConcurrentHashMap<>();
         
         // Initialize strategies (Factory Pattern)
         this.strategies = new HashMap<>();
         strategies.put(SplitType.EQUAL, new EqualSplitStrategy());
         strategies.put(SplitType.EXACT, new ExactSplitStrategy());
         strategies.put(SplitType.PERCENTAGE, new PercentageSplitStrategy());
+        
+        this.eventBus = new EventBus();
+        eventBus.subscribe(new ConsoleEventListener());
     }
     
     public static synchronized SplitwiseService getInstance() {
@@ -76,6 +95,10 @@ public class SplitwiseService {
     /**
      * Add an expense and update balances.
      * 
+     * Only the balance mutation holds the service lock. Validation and split
+     * calculation happen before it; logging/notification happens after it,
+     * asynchronously via the EventBus.
+     * 
      * @param groupId Group where expense was made
      * @param paidBy User who paid
      * @param amount Total amount
@@ -83,9 +106,23 @@ public class SplitwiseService {
      * @param splitType How to split (EQUAL, EXACT, PERCENTAGE)
      * @param participantShares Map of userId -> share value (interpretation depends on splitType)
      */
-    public synchronized Expense addExpense(String groupId, User paidBy, double amount,
-                                           String description, SplitType splitType,
-                                           Map<String, Double> participantShares) {
+    public Expense addExpense(String groupId, User paidBy, double amount,
+                              String description, SplitType splitType,
+                              Map<String, Double> participantShares) {
+        return addExpense(groupId, paidBy, amount, User.BASE_CURRENCY, description,
+                          splitType, participantShares);
+    }
+    
+    /**
+     * Add an expense in any currency.
+     * 
+     * The rate to User.BASE_CURRENCY is looked up ONCE here, stored on the expense,
+     * and applied to both the base and the per-currency ledgers. getBalances()
+     * therefore never converts.
+     */
+    public Expense addExpense(String groupId, User paidBy, double amount, Currency currency,
+                              String description, SplitType splitType,
+                              Map<String, Double> participantShares) {
         // 1. Get the strategy
         SplitStrategy strategy = strategies.get(splitType);
         
@@ -97,21 +134,24 @@ public class SplitwiseService {
         // 3. Calculate splits
         List<Split> splits = strategy.split(amount, participantShares, users);
         
-        // 4. Create expense
-        Expense expense = new Expense(amount, description, paidBy, splits, splitType);
+        // 4. Create expense (FX lookup stays outside the lock)
+        double fxRate = rateToBase(currency);
+        Expense expense = new Expense(amount, description, paidBy, splits, splitType, currency, fxRate);
         
-        // 5. Update balances
-        updateBalances(paidBy, splits);
-        
-        // 6. Add to group (if groupId is provided)
-        if (groupId != null) {
-            Group group = groups.get(groupId);
-            if (group != null) {
-                group.addExpense(expense);
+        // 5. Critical section: update balances and add to group (if groupId is provided)
+        synchronized (this) {
+            updateBalances(expense);
+            
+            if (groupId != null) {
+                Group group = groups.get(groupId);
+                if (group != null) {
+                    group.addExpense(expense);
+                }
             }
         }
         
-        System.out.println("Added expense: " + expense);
+        // 6. Notify after commit
+        eventBus.publish(new ExpenseAddedEvent(groupId, expense));
         return expense;
     }
     
@@ -120,9 +160,9 @@ public class SplitwiseService {
      * 
      * Example: Alice and Bob split a $50 coffee, not in any group.
      */
-    public synchronized Expense addPersonalExpense(User paidBy, double amount,
-                                                   String description, SplitType splitType,
-                                                   Map<String, Double> participantShares) {
+    public Expense addPersonalExpense(User paidBy, double amount,
+                                      String description, SplitType splitType,
+                                      Map<String, Double> participantShares) {
         // Call the main method with null groupId
         return addExpense(null, paidBy, amount, description, splitType, participantShares);
     }
@@ -134,10 +174,12 @@ public class SplitwiseService {
      * - For each split, the debtor owes the payer
      * - We update both sides of the balance
      */
-    private void updateBalances(User payer, List<Split> splits) {
-        for (Split split : splits) {
+    private void updateBalances(Expense expense) {
+        User payer = expense.getPaidBy();
+        for (Split split : expense.getSplits()) {
             User debtor = split.getUser();
             double amount = split.getAmount();
+            double baseAmount = amount * expense.getFxRate();
             
             // Skip if the debtor is the payer (they don't owe themselves)
             if (debtor.getId().equals(payer.getId())) {
@@ -145,11 +187,123 @@ public class SplitwiseService {
             }
             
             // Payer is owed money by debtor
-            payer.updateBalance(debtor.getId(), amount);
+            payer.updateBalance(debtor.getId(), amount, expense.getCurrency(), baseAmount);
             
             // Debtor owes money to payer (negative from their perspective)
-            debtor.updateBalance(payer.getId(), -amount);
+            debtor.updateBalance(payer.getId(), -amount, expense.getCurrency(), -baseAmount);
+        }
+    }
+    
+    // ============ CURRENCY ============
+    
+    public void setFxRateProvider(FxRateProvider fxRateProvider) {
+        this.fxRateProvider = fxRateProvider;
+    }
+    
+    double rateToBase(Currency currency) {
+        if (currency.equals(User.BASE_CURRENCY)) {
+            return 1.0;
+        }
+        FxRateProvider provider = fxRateProvider;
+        if (provider == null) {
+            throw new IllegalStateException("No FX rate provider configured for " + currency);
+        }
+        return provider.getRate(currency, User.BASE_CURRENCY);
+    }
+    
+    // ============ EVENTS ============
+    
+    /**
+     * Subscribe listeners or change the backpressure policy here.
+     */
+    public EventBus getEventBus() {
+        return eventBus;
+    }
+    
+    // ============ BULK IMPORT SUPPORT ============
+    
+    /**
+     * Strategy lookup for callers that compute splits outside the lock
+     * (see ExpenseImporter). Strategies are stateless, so sharing is safe.
+     */
+    SplitStrategy getStrategy(SplitType splitType) {
+        return strategies.get(splitType);
+    }
+    
+    Map<String, User> getUsers() {
+        return users;
+    }
+    
+    /**
+     * Apply a batch of already-split expenses in one critical section.
+     * 
+     * Each expense goes through updateBalances() in file order, exactly as addExpense
+     * would apply it: User.updateBalance clears balances under 0.01 after every step,
+     * so netting a pair across the batch first could end on a different balance.
+     */
+    synchronized void applyImportBatch(List<Expense> expenses, List<String> groupIds) {
+        for (int i = 0; i < expenses.size(); i++) {
+            Expense expense = expenses.get(i);
+            updateBalances(expense);
+            
+            String groupId = groupIds.get(i);
+            if (groupId != null) {
+                Group group = groups.get(groupId);
+                if (group != null) {
+                    group.addExpense(expense);
+                }
+            }
+        }
+    }
+    
+    // ============ CROSS-SHARD (TWO-PHASE) SUPPORT ============
+    
+    /**
+     * Phase 1: validate this shard's part of a cross-shard write and stage it.
+     * Nothing is visible to readers until commit().
+     * 
+     * @return false (vote abort) if any user or group this shard should own is missing
+     */
+    synchronized boolean prepare(String writeId, PreparedWrite write) {
+        for (PreparedWrite.BalanceDelta delta : write.getDeltas()) {
+            if (!users.containsKey(delta.getUser().getId())) {
+                return false;
+            }
+        }
+        if (write.getGroupId() != null && !groups.containsKey(write.getGroupId())) {
+            return false;
+        }
+        preparedWrites.put(writeId, write);
+        return true;
+    }
+    
+    /**
+     * Phase 2: apply a staged write. Cannot fail once prepare() voted yes.
+     */
+    synchronized void commit(String writeId) {
+        PreparedWrite write = preparedWrites.remove(writeId);
+        if (write == null) return;
+        
+        for (PreparedWrite.BalanceDelta delta : write.getDeltas()) {
+            delta.getUser().updateBalance(delta.getCounterpartyId(), delta.getAmount(),
+                                          delta.getCurrency(), delta.getBaseAmount());
         }
+        if (write.getGroupId() != null) {
+            Group group = groups.get(write.getGroupId());
+            if (write.getGroupExpense() != null) group.addExpense(write.getGroupExpense());
+            if (write.getGroupSettlement() != null) group.addSettlement(write.getGroupSettlement());
+        }
+        if (write.getHistoryTransaction() != null) {
+            transactions.add(write.getHistoryTransaction());
+        }
+    }
+    
+    synchronized void abort(String writeId) {
+        preparedWrites.remove(writeId);
+    }
+    
+    void registerGroup(Group group) {
+        groups.put(group.getId(), group);
     }
     
     // ============ SETTLEMENT ============
@@ -157,30 +311,82 @@ public class SplitwiseService {
     /**
      * Settle up: One user pays another to clear their debt.
      */
-    public synchronized Transaction settleUp(User from, User to, double amount) {
+    public Transaction settleUp(User from, User to, double amount) {
+        return settleUp(null, from, to, amount);
+    }
+    
+    /**
+     * Settle up inside a group, so the group's net balance view reflects it too.
+     */
+    public Transaction settleUp(String groupId, User from, User to, double amount) {
+        return settleUp(groupId, from, to, amount, User.BASE_CURRENCY);
+    }
+    
+    /**
+     * Settle up in any currency, e.g. Bob repays Alice in EUR for a EUR expense.
+     */
+    public Transaction settleUp(String groupId, User from, User to, double amount, Currency currency) {
         // Create transaction record
         Transaction transaction = new Transaction(from, to, amount, 
-            TransactionType.SETTLEMENT, "Settlement");
-        transactions.add(transaction);
+            TransactionType.SETTLEMENT, "Settlement", currency, rateToBase(currency));
+        double baseAmount = transaction.getBaseAmount();
         
-        // Update balances (reverse of expense)
-        // 'from' paid 'to', so 'from' now owes less to 'to'
-        from.updateBalance(to.getId(), amount);  // from is owed more by to
-        to.updateBalance(from.getId(), -amount); // to owes less to from
+        synchronized (this) {
+            transactions.add(transaction);
+            
+            if (groupId != null) {
+                Group group = groups.get(groupId);
+                if (group != null) {
+                    group.addSettlement(transaction);
+                }
+            }
+            
+            // Update balances (reverse of expense)
+            // 'from' paid 'to', so 'from' now owes less to 'to'
+            from.updateBalance(to.getId(), amount, currency, baseAmount);  // from is owed more by to
+            to.updateBalance(from.getId(), -amount, currency, -baseAmount); // to owes less to from
+        }
         
-        System.out.println("Settlement: " + transaction);
+        eventBus.publish(new SettlementMadeEvent(groupId, transaction));
         return transaction;
     }
     
     // ============ REPORTING ============
     
     /**
-     * Get all balances for a user.
+     * Get all balances for a user (in User.BASE_CURRENCY).
+     * A copy taken under the service lock: never shows half of a write.
+     */
+    public synchronized Map<String, Double> getBalances(String userId) {
+        User user = users.get(userId);
+        if (user == null) return Collections.emptyMap();
+        return new HashMap<>(user.getBalances());
+    }
+    
+    /**
+     * Get balances for amounts originally in one currency (no conversion). Copy, as above.
      */
-    public Map<String, Double> getBalances(String userId) {
+    public synchronized Map<String, Double> getBalances(String userId, Currency currency) {
         User user = users.get(userId);
         if (user == null) return Collections.emptyMap();
-        return user.getBalances();
+        return new HashMap<>(user.getBalances(currency));
+    }
+    
+    /**
+     * Get each member's net position in a group: a copy of the group's materialized view.
+     */
+    public synchronized Map<String, Double> getGroupBalances(String groupId) {
+        Group group = groups.get(groupId);
+        if (group == null) return Collections.emptyMap();
+        return new HashMap<>(group.getNetBalances());
+    }
+    
+    /**
+     * Consistency check: recompute a group's balances from its history and compare.
+     */
+    public boolean verifyGroupBalances(String groupId) {
+        Group group = groups.get(groupId);
+        return group == null || group.isBalanceViewConsistent();
     }
     
     /**